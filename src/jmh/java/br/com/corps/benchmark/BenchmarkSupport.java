@@ -0,0 +1,148 @@
+package br.com.corps.benchmark;
+
+import br.com.corps.Configuration;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.config.StoreConfig;
+import br.com.corps.config.SyntheticConfig;
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginContainer;
+import br.com.corps.service.S3ResourceService;
+import br.com.corps.service.SDUIPluginService;
+import br.com.corps.service.TranslationService;
+import br.com.corps.snapshot.ContentSnapshot;
+import br.com.corps.store.ClasspathResourceStore;
+import br.com.corps.store.FileSystemResourceStore;
+import br.com.corps.store.ResourceStore;
+import br.com.corps.synthetic.SyntheticCatalogGenerator;
+import br.com.corps.synthetic.SyntheticContent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micronaut.core.io.ResourceResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Services and catalogs shared by the benchmarks, wired by hand so no application context is started
+ */
+final class BenchmarkSupport {
+
+    /**
+     * Catalog read from the bundled {@code sdui-plugins.json}, with the bundled translations and card benefits
+     */
+    static final String BUNDLED = "bundled";
+
+    /**
+     * Prefix of generated content, followed by the number of top-level plugins of its catalogs
+     */
+    static final String SYNTHETIC = "synthetic-";
+
+    static final String CARD_TYPE = "black";
+
+    private static final Map<String, Path> GENERATED = new ConcurrentHashMap<>();
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * @return an object mapper configured like the application one
+     */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    static TranslationService translationService(ObjectMapper mapper, String catalog) {
+        return new TranslationService(languageConfig(mapper, catalog), mapper, new CacheConfig(), ContentSnapshot.empty());
+    }
+
+    static S3ResourceService s3ResourceService(ObjectMapper mapper, String catalog) {
+        ResourceStore store = BUNDLED.equals(catalog)
+                ? new ClasspathResourceStore(new ResourceResolver(), new StoreConfig())
+                : new FileSystemResourceStore(generated(mapper, catalog));
+        return new S3ResourceService(mapper, store, languageConfig(mapper, catalog), new CacheConfig(),
+                ContentSnapshot.empty());
+    }
+
+    /**
+     * Create a plugin service serving a catalog through its regular load path
+     *
+     * @param mapper the object mapper
+     * @param catalog the catalog name
+     * @return the loaded plugin service
+     */
+    static SDUIPluginService pluginService(ObjectMapper mapper, String catalog) {
+        Configuration config = new Configuration();
+        config.setJsonPath(BUNDLED.equals(catalog)
+                ? "classpath:" + SyntheticContent.CATALOG_FILE
+                : "file:" + generated(mapper, catalog).resolve(SyntheticContent.CATALOG_FILE));
+        SDUIPluginService service = new SDUIPluginService(mapper, new ResourceResolver(), config,
+                translationService(mapper, catalog), new CacheConfig(), ContentSnapshot.empty());
+        service.reload();
+        return service;
+    }
+
+    /**
+     * Parse a catalog into its top-level plugins
+     *
+     * @param mapper the object mapper
+     * @param catalog the catalog name
+     * @return the top-level plugins
+     */
+    static List<Plugin> plugins(ObjectMapper mapper, String catalog) {
+        try {
+            if (BUNDLED.equals(catalog)) {
+                try (InputStream in = BenchmarkSupport.class.getClassLoader().getResourceAsStream(SyntheticContent.CATALOG_FILE)) {
+                    if (in == null) {
+                        throw new IOException(SyntheticContent.CATALOG_FILE + " not found");
+                    }
+                    return mapper.readValue(in, PluginContainer.class).getChildren();
+                }
+            }
+            Path file = generated(mapper, catalog).resolve(SyntheticContent.CATALOG_FILE);
+            return mapper.readValue(file.toFile(), PluginContainer.class).getChildren();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LanguageConfig languageConfig(ObjectMapper mapper, String catalog) {
+        LanguageConfig languageConfig = new LanguageConfig();
+        if (!BUNDLED.equals(catalog)) {
+            languageConfig.setBundlePath("file:" + generated(mapper, catalog).resolve(SyntheticContent.BUNDLE_DIR));
+        }
+        return languageConfig;
+    }
+
+    /**
+     * Generate the content of a synthetic catalog name once per JVM: plugins with two children each,
+     * and the generator defaults for everything else
+     */
+    private static Path generated(ObjectMapper mapper, String catalog) {
+        if (!catalog.startsWith(SYNTHETIC)) {
+            throw new IllegalArgumentException("Unknown catalog: " + catalog);
+        }
+        return GENERATED.computeIfAbsent(catalog, name -> {
+            SyntheticConfig config = new SyntheticConfig();
+            config.setPlugins(Integer.parseInt(name.substring(SYNTHETIC.length())));
+            config.setDepth(1);
+            config.setChildrenPerPlugin(2);
+            try {
+                Path root = Files.createTempDirectory("sdui-benchmark");
+                new SyntheticCatalogGenerator(config).generate().writeTo(root, mapper);
+                return root;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
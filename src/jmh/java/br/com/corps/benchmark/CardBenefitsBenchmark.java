@@ -0,0 +1,58 @@
+package br.com.corps.benchmark;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.service.S3ResourceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card benefit loads from the content store, served from the cache or read and parsed again
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardBenefitsBenchmark {
+
+    @Param({BenchmarkSupport.BUNDLED, BenchmarkSupport.SYNTHETIC + "500"})
+    public String catalog;
+
+    @Param({"black", "gold", "platinum"})
+    public String profile;
+
+    @Param({"pt-BR", "en-US"})
+    public String language;
+
+    private S3ResourceService resourceService;
+
+    @Setup
+    public void setUp() {
+        resourceService = BenchmarkSupport.s3ResourceService(BenchmarkSupport.objectMapper(), catalog);
+        resourceService.loadCardBenefits(profile, language);
+    }
+
+    @Benchmark
+    public List<Plugin> loadCached() {
+        return resourceService.loadCardBenefits(profile, language);
+    }
+
+    @Benchmark
+    public List<Plugin> loadCold() {
+        resourceService.invalidateCardBenefits(profile, language);
+        return resourceService.loadCardBenefits(profile, language);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.corps.benchmark;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.service.CatalogSnapshot;
+import br.com.corps.service.FeatureMask;
+import br.com.corps.service.SDUIPluginService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.corps.synthetic.SyntheticCatalogGenerator.FEATURE_PREFIX;
+
+/**
+ * Feature selection as done per request: compiling the requested features against the current
+ * catalog, then selecting and translating the matching plugins
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureSelectionBenchmark {
+
+    @Param({BenchmarkSupport.BUNDLED, BenchmarkSupport.SYNTHETIC + "500"})
+    public String catalog;
+
+    private SDUIPluginService pluginService;
+    private List<String> features;
+
+    @Setup
+    public void setUp() {
+        pluginService = BenchmarkSupport.pluginService(BenchmarkSupport.objectMapper(), catalog);
+        features = BenchmarkSupport.BUNDLED.equals(catalog)
+                ? List.of("mastercard-benefits", "loyalty-points")
+                : List.of(FEATURE_PREFIX + 1, FEATURE_PREFIX + 250, FEATURE_PREFIX + 499, "unknown");
+    }
+
+    @Benchmark
+    public FeatureMask compileFeatures() {
+        return pluginService.getSnapshot().compile(features);
+    }
+
+    @Benchmark
+    public List<Plugin> getPluginsByFeature() {
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+        return pluginService.getPluginsByFeature(snapshot.compile(features), "pt-BR");
+    }
+}
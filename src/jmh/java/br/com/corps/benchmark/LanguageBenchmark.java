@@ -0,0 +1,43 @@
+package br.com.corps.benchmark;
+
+import br.com.corps.config.LanguageConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Language normalization for exact, prefix, mixed case and unsupported codes
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LanguageBenchmark {
+
+    @Param({"pt-BR", "en", "PT-br", "fr-FR"})
+    public String language;
+
+    private LanguageConfig languageConfig;
+
+    @Setup
+    public void setUp() {
+        languageConfig = new LanguageConfig();
+    }
+
+    @Benchmark
+    public String normalizeLanguage() {
+        return languageConfig.normalizeLanguage(language);
+    }
+}
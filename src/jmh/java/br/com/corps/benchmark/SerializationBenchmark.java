@@ -0,0 +1,62 @@
+package br.com.corps.benchmark;
+
+import br.com.corps.model.ApiResponse;
+import br.com.corps.model.Plugin;
+import br.com.corps.service.TranslationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of translated plugin lists wrapped in the API response, streamed from the
+ * source tree as the service returns them and, for comparison, from the built translated tree
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({BenchmarkSupport.BUNDLED, BenchmarkSupport.SYNTHETIC + "500"})
+    public String catalog;
+
+    private ObjectMapper mapper;
+    private ApiResponse<List<Plugin>> response;
+    private ApiResponse<List<Plugin>> builtResponse;
+
+    @Setup
+    public void setUp() {
+        mapper = BenchmarkSupport.objectMapper();
+        TranslationService translationService = BenchmarkSupport.translationService(mapper, catalog);
+        List<Plugin> plugins = translationService.translatePlugins(
+                BenchmarkSupport.plugins(mapper, catalog), BenchmarkSupport.CARD_TYPE, "pt-BR");
+        response = ApiResponse.success(plugins, "pt-BR");
+        builtResponse = ApiResponse.success(new ArrayList<>(plugins), "pt-BR");
+    }
+
+    @Benchmark
+    public byte[] writeApiResponse() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeBuiltTree() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(builtResponse);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.corps.benchmark;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.service.TranslationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translation of plugin trees, both for a list seen before and for a list translated for the first time
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslationBenchmark {
+
+    @Param({BenchmarkSupport.BUNDLED, BenchmarkSupport.SYNTHETIC + "500"})
+    public String catalog;
+
+    @Param({"pt-BR", "en-US"})
+    public String language;
+
+    private TranslationService translationService;
+    private List<Plugin> plugins;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = BenchmarkSupport.objectMapper();
+        translationService = BenchmarkSupport.translationService(mapper, catalog);
+        plugins = BenchmarkSupport.plugins(mapper, catalog);
+        translationService.translatePlugins(plugins, BenchmarkSupport.CARD_TYPE, language);
+    }
+
+    @Benchmark
+    public List<Plugin> translateCompiled() {
+        return translationService.translatePlugins(plugins, BenchmarkSupport.CARD_TYPE, language);
+    }
+
+    /**
+     * A fresh list is not matched by the template cache, so every call compiles the tree again
+     */
+    @Benchmark
+    public List<Plugin> translateUncompiled() {
+        return translationService.translatePlugins(new ArrayList<>(plugins), BenchmarkSupport.CARD_TYPE, language);
+    }
+}
@@ -7,4 +7,14 @@ import lombok.Data;
 @ConfigurationProperties("sdui")
 public class Configuration {
     private String jsonPath;
+
+    /**
+     * Whether feature lookups also return plugins nested in the {@code children} of other plugins
+     */
+    private boolean includeNestedFeatures;
+
+    /**
+     * Whether the catalog is indexed without binding its plugins, which are then bound on first read
+     */
+    private boolean lazyParsing;
 }
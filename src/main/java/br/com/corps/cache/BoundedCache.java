@@ -0,0 +1,278 @@
+package br.com.corps.cache;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, thread-safe in-memory cache.
+ * <p>
+ * Reads are a single {@link ConcurrentHashMap} lookup. When the number of entries exceeds
+ * {@code maxSize}, the oldest inserted entries are evicted first. Entries are linked in insertion
+ * order, and every write updates the map and the order together under one lock, so the two never
+ * disagree and removing an entry takes constant time. Values loaded through
+ * {@link #get(Object, Function)} while {@link #invalidateAll()} runs are dropped instead of
+ * cached, so a load racing a content reload never outlives the invalidation; loads completing
+ * later, such as asynchronous ones, get the same guarantee from {@link #generation()} and
+ * {@link #putIfCurrent(Object, Object, long)}.
+ *
+ * @param <K> type of the cache keys
+ * @param <V> type of the cached values
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    /**
+     * Sentinel of the insertion order list: {@code head.next} is the oldest entry, {@code head.previous} the newest
+     */
+    private final Node<K, V> head = new Node<>(null, null);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile long generation;
+
+    /**
+     * Create a new cache
+     *
+     * @param name name of the cache, used for logging and metrics
+     * @param maxSize maximum number of entries kept in the cache
+     */
+    public BoundedCache(String name, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache " + name + " must have a positive max size");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        head.previous = head;
+        head.next = head;
+    }
+
+    /**
+     * Get a cached value
+     *
+     * @param key the cache key
+     * @return the cached value, or null if not present
+     */
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            hits.increment();
+            return node.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Get a cached value without counting a hit or a miss, to check again a lookup already counted
+     *
+     * @param key the cache key
+     * @return the cached value, or null if not present
+     */
+    public V peek(K key) {
+        Node<K, V> node = entries.get(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Get a cached value, loading and caching it on a miss
+     *
+     * @param key the cache key
+     * @param loader function that loads the value for the key
+     * @return the cached or freshly loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        return value != null ? value : load(key, loader);
+    }
+
+    /**
+     * Load and cache the value of a key after a miss already counted by {@link #get(Object)}
+     *
+     * @param key the cache key
+     * @param loader function that loads the value for the key
+     * @return the freshly loaded value, not cached if the cache was invalidated meanwhile
+     */
+    public V load(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration = generation;
+        V value = loader.apply(key);
+        if (value != null) {
+            putIfCurrent(key, value, loadGeneration);
+        }
+        return value;
+    }
+
+    /**
+     * @return the current generation, read before loading a value to store it with
+     *         {@link #putIfCurrent(Object, Object, long)}
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Store a loaded value, unless the cache was invalidated since its load started
+     *
+     * @param key the cache key
+     * @param value the value to cache
+     * @param loadGeneration the {@link #generation()} read before the value was loaded
+     * @return true if the value was stored
+     */
+    public boolean putIfCurrent(K key, V value, long loadGeneration) {
+        Objects.requireNonNull(value, "Cached values must not be null");
+        synchronized (lock) {
+            if (loadGeneration != generation) {
+                return false;
+            }
+            store(key, value);
+            return true;
+        }
+    }
+
+    /**
+     * Store a value in the cache, evicting the oldest entries if the cache is full
+     *
+     * @param key the cache key
+     * @param value the value to cache
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(value, "Cached values must not be null");
+        synchronized (lock) {
+            store(key, value);
+        }
+    }
+
+    /**
+     * Replace the value of an entry, only if the entry is still cached
+     *
+     * @param key the cache key
+     * @param value the new value
+     * @return true if the value was replaced
+     */
+    public boolean replace(K key, V value) {
+        Objects.requireNonNull(value, "Cached values must not be null");
+        synchronized (lock) {
+            Node<K, V> node = entries.get(key);
+            if (node == null) {
+                return false;
+            }
+            node.value = value;
+            return true;
+        }
+    }
+
+    /**
+     * Remove a single entry from the cache
+     *
+     * @param key the cache key
+     */
+    public void invalidate(K key) {
+        synchronized (lock) {
+            Node<K, V> node = entries.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        }
+    }
+
+    /**
+     * Keep every entry but drop the values of the loads in flight, which are not stored by
+     * {@link #putIfCurrent(Object, Object, long)} once they complete
+     */
+    public void invalidateLoads() {
+        synchronized (lock) {
+            generation++;
+        }
+    }
+
+    /**
+     * Remove every entry from the cache, along with the values of the loads in flight
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation++;
+            entries.clear();
+            head.previous = head;
+            head.next = head;
+        }
+    }
+
+    /**
+     * @return a copy of the keys currently cached
+     */
+    public Set<K> keys() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    /**
+     * @return the current number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the name of the cache
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a snapshot of the cache counters
+     */
+    public CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    /**
+     * Store a value, replacing the one of a cached key in place; called with the lock held
+     */
+    private void store(K key, V value) {
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            node.value = value;
+            return;
+        }
+        node = new Node<>(key, value);
+        entries.put(key, node);
+        node.previous = head.previous;
+        node.next = head;
+        head.previous.next = node;
+        head.previous = node;
+        while (entries.size() > maxSize) {
+            Node<K, V> eldest = head.next;
+            entries.remove(eldest.key);
+            unlink(eldest);
+            evictions.increment();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * A cached value and its place in the insertion order, which is only read and written with the lock held
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+        private volatile V value;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
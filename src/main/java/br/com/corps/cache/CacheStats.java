@@ -0,0 +1,22 @@
+package br.com.corps.cache;
+
+/**
+ * Point-in-time counters of a {@link BoundedCache}
+ *
+ * @param name name of the cache
+ * @param hits number of lookups that found a value
+ * @param misses number of lookups that did not find a value
+ * @param evictions number of entries removed to respect the size bound
+ * @param size current number of entries
+ * @param maxSize maximum number of entries
+ */
+public record CacheStats(String name, long hits, long misses, long evictions, int size, int maxSize) {
+
+    /**
+     * @return ratio of hits over all lookups, or 0 when the cache was never read
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
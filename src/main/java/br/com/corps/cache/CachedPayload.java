@@ -0,0 +1,76 @@
+package br.com.corps.cache;
+
+import io.micronaut.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A fully serialized response body, ready to be written to the client as-is
+ *
+ * @param body the serialized bytes; must never be modified once cached
+ * @param contentType the media type the body was serialized to
+ * @param etag strong entity tag derived from the body content, already quoted
+ * @param gzipBody gzip compressed copy of the body, or null when the payload is not precompressed
+ * @param gzipEtag strong entity tag of the compressed body, already quoted, or null
+ */
+public record CachedPayload(byte[] body, MediaType contentType, String etag, byte[] gzipBody, String gzipEtag) {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int ETAG_BYTES = 16;
+
+    /**
+     * Create a payload, computing its content hash ETag once
+     *
+     * @param body the serialized bytes
+     * @param contentType the media type the body was serialized to
+     * @return the payload
+     */
+    public static CachedPayload of(byte[] body, MediaType contentType) {
+        return new CachedPayload(body, contentType, etagOf(body), null, null);
+    }
+
+    /**
+     * Compress the body once, so clients accepting gzip are sent the compressed copy as-is
+     *
+     * @return this payload with a gzip compressed copy of its body
+     */
+    public CachedPayload withGzip() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Every representation gets its own strong entity tag
+        return new CachedPayload(body, contentType, etag, out.toByteArray(),
+                etag.substring(0, etag.length() - 1) + "-gzip\"");
+    }
+
+    /**
+     * Compute a strong ETag from the SHA-256 hash of the content
+     *
+     * @param content the content to hash
+     * @return the quoted entity tag
+     */
+    public static String etagOf(byte[] content) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        char[] etag = new char[ETAG_BYTES * 2 + 2];
+        etag[0] = '"';
+        for (int i = 0; i < ETAG_BYTES; i++) {
+            etag[1 + i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            etag[2 + i * 2] = HEX[hash[i] & 0xF];
+        }
+        etag[etag.length - 1] = '"';
+        return new String(etag);
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.corps.cache;
+
+import br.com.corps.config.CacheConfig;
+import br.com.corps.jfr.SerializeEvent;
+import br.com.corps.metrics.ServerTiming;
+import br.com.corps.service.ContentReloadedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.http.MediaType;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialized response payloads shared by the controllers.
+ * <p>
+ * On a hit the cached bytes are written straight to the response, skipping translation
+ * and JSON serialization entirely. Each payload carries its ETag, computed once when the
+ * payload is rendered. Payloads are serialized in the {@link ResponseFormat} named by the content
+ * type of their key, by copies of the application mapper sharing its modules and settings.
+ * <p>
+ * Precomputed payloads are kept apart from the bounded cache, so they are never evicted. They are
+ * replaced as a whole by their owner, see {@link #setPrecomputed(Map)}.
+ */
+@Singleton
+public class ResponseCache {
+
+    private final BoundedCache<ResponseKey, CachedPayload> payloads;
+    private final Map<ResponseFormat, ObjectWriter> writers = new EnumMap<>(ResponseFormat.class);
+    private volatile Map<ResponseKey, CachedPayload> precomputed = Map.of();
+
+    public ResponseCache(CacheConfig cacheConfig, ObjectMapper objectMapper) {
+        this.payloads = new BoundedCache<>("responses", cacheConfig.getResponseMaxSize());
+        writers.put(ResponseFormat.JSON, objectMapper.writer());
+        writers.put(ResponseFormat.COMPACT_JSON, objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT));
+        writers.put(ResponseFormat.SMILE, binary(objectMapper.copyWith(new SmileFactory())));
+        writers.put(ResponseFormat.CBOR, binary(objectMapper.copyWith(new CBORFactory())));
+        writers.put(ResponseFormat.MESSAGE_PACK, binary(objectMapper.copyWith(new MessagePackFactory())));
+    }
+
+    /**
+     * Get a cached payload
+     *
+     * @param key the response key
+     * @return the cached payload, or null if not present
+     */
+    public CachedPayload get(ResponseKey key) {
+        CachedPayload payload = precomputed.get(key);
+        return payload != null ? payload : payloads.get(key);
+    }
+
+    /**
+     * Get a cached payload, rendering and caching it on a miss
+     *
+     * @param key the response key
+     * @param source supplies the object to serialize, or null when there is nothing to render
+     * @return the cached or freshly rendered payload, or null if the source had nothing to render
+     */
+    public CachedPayload getOrRender(ResponseKey key, Supplier<?> source) {
+        return getOrRender(key, source, ServerTiming.DISABLED);
+    }
+
+    /**
+     * Get a cached payload, rendering and caching it on a miss.
+     * <p>
+     * The serialization is timed as {@link ServerTiming.Phase#SERIALIZE} and the rest of the lookup,
+     * minus the phases timed by the source, as {@link ServerTiming.Phase#CACHE}.
+     *
+     * @param key the response key
+     * @param source supplies the object to serialize, or null when there is nothing to render
+     * @param timing the timings of the current request
+     * @return the cached or freshly rendered payload, or null if the source had nothing to render
+     */
+    public CachedPayload getOrRender(ResponseKey key, Supplier<?> source, ServerTiming timing) {
+        long start = timing.start();
+        long recordedAtStart = timing.recorded();
+        CachedPayload payload = precomputed.get(key);
+        if (payload == null) {
+            payload = payloads.get(key, k -> {
+                Object body = source.get();
+                return body != null ? render(k, body, timing) : null;
+            });
+        }
+        timing.stopExclusive(ServerTiming.Phase.CACHE, start, recordedAtStart);
+        return payload;
+    }
+
+    /**
+     * Get a cached payload, rendering and caching it once its source completes on a miss.
+     * <p>
+     * Used when the source has to wait for a store: a hit completes at once, and on a miss the
+     * payload is rendered on the thread completing the source. A payload whose source started
+     * before {@link #invalidateAll()} is returned but not cached, as its content may predate the
+     * reload. The lookup is timed as {@link ServerTiming.Phase#CACHE} and the serialization as
+     * {@link ServerTiming.Phase#SERIALIZE}.
+     *
+     * @param key the response key
+     * @param source starts the load of the object to serialize, completing with null when there is nothing to render
+     * @param timing the timings of the current request
+     * @return future of the cached or freshly rendered payload, or null if the source had nothing to render
+     */
+    public CompletableFuture<CachedPayload> getOrRenderAsync(ResponseKey key, Supplier<? extends CompletableFuture<?>> source,
+                                                             ServerTiming timing) {
+        long start = timing.start();
+        CachedPayload payload = precomputed.get(key);
+        if (payload == null) {
+            payload = payloads.get(key);
+        }
+        timing.stop(ServerTiming.Phase.CACHE, start);
+        if (payload != null) {
+            return CompletableFuture.completedFuture(payload);
+        }
+        // Read before the source, which may read content an invalidation running meanwhile replaces
+        long generation = payloads.generation();
+        return source.get().thenApply(body -> {
+            if (body == null) {
+                return null;
+            }
+            CachedPayload rendered = render(key, body, timing);
+            payloads.putIfCurrent(key, rendered, generation);
+            return rendered;
+        });
+    }
+
+    /**
+     * Render a payload without caching it
+     *
+     * @param key the response key
+     * @param source supplies the object to serialize, or null when there is nothing to render
+     * @return the rendered payload, or null if the source had nothing to render
+     */
+    public CachedPayload render(ResponseKey key, Supplier<?> source) {
+        Object body = source.get();
+        return body != null ? render(key, body, ServerTiming.DISABLED) : null;
+    }
+
+    /**
+     * Replace every precomputed payload.
+     * <p>
+     * Precomputed payloads are served before the bounded cache is looked up and are not dropped by
+     * {@link #invalidateAll()}; their owner replaces them when the content changes.
+     *
+     * @param payloads the precomputed payloads, empty to drop them all
+     */
+    public void setPrecomputed(Map<ResponseKey, CachedPayload> payloads) {
+        this.precomputed = Map.copyOf(payloads);
+    }
+
+    /**
+     * @return number of precomputed payloads
+     */
+    public int precomputedCount() {
+        return precomputed.size();
+    }
+
+    /**
+     * Store a serialized payload
+     *
+     * @param key the response key
+     * @param payload the serialized payload
+     * @return the stored payload
+     */
+    public CachedPayload put(ResponseKey key, CachedPayload payload) {
+        payloads.put(key, payload);
+        return payload;
+    }
+
+    /**
+     * Drop every cached payload, precomputed payloads excepted
+     */
+    public void invalidateAll() {
+        payloads.invalidateAll();
+    }
+
+    @EventListener
+    void onContentReloaded(ContentReloadedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * @return hit, miss and size counters of the response cache
+     */
+    public CacheStats stats() {
+        return payloads.stats();
+    }
+
+    private CachedPayload render(ResponseKey key, Object body, ServerTiming timing) {
+        ResponseFormat format = ResponseFormat.of(key.contentType());
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported response content type " + key.contentType());
+        }
+        SerializeEvent event = new SerializeEvent();
+        event.begin();
+        long start = timing.start();
+        byte[] bytes;
+        try {
+            bytes = writers.get(format).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        timing.stop(ServerTiming.Phase.SERIALIZE, start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.resource = key.resource();
+            event.variant = String.valueOf(key.variant());
+            event.language = key.language();
+            event.contentType = key.contentType();
+            event.bytes = bytes.length;
+            event.commit();
+        }
+        return CachedPayload.of(bytes, MediaType.of(format.getMediaType()));
+    }
+
+    private static ObjectWriter binary(ObjectMapper mapper) {
+        // Binary generators have no use for a pretty printer
+        return mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.corps.cache;
+
+import io.micronaut.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serialization formats a response can be rendered in, each cached separately.
+ * <p>
+ * {@link #JSON} keeps the application mapper settings, such as indentation; the other formats are
+ * written without indentation. The binary formats encode the same tree as the JSON, so clients
+ * read them with the Jackson model they already use.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    COMPACT_JSON(ResponseFormat.COMPACT_JSON_TYPE),
+    SMILE(ResponseFormat.SMILE_TYPE),
+    CBOR(ResponseFormat.CBOR_TYPE),
+    MESSAGE_PACK(ResponseFormat.MESSAGE_PACK_TYPE, "application/x-msgpack", "application/vnd.msgpack");
+
+    /**
+     * JSON without indentation
+     */
+    public static final String COMPACT_JSON_TYPE = "application/vnd.sdui.compact+json";
+
+    public static final String SMILE_TYPE = "application/x-jackson-smile";
+
+    public static final String CBOR_TYPE = "application/cbor";
+
+    public static final String MESSAGE_PACK_TYPE = "application/msgpack";
+
+    private final String mediaType;
+    private final List<String> aliases;
+
+    ResponseFormat(String mediaType, String... aliases) {
+        this.mediaType = mediaType;
+        this.aliases = List.of(aliases);
+    }
+
+    /**
+     * @return the media type the format is served as
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Select the format of a response from an Accept header (RFC 9110, section 12.5.1).
+     * <p>
+     * The supported format with the highest quality wins, the first listed one on ties. Wildcards
+     * and headers naming no supported format select {@link #JSON}.
+     *
+     * @param accept the header value, may be null
+     * @return the format to render the response in
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return JSON;
+        }
+        ResponseFormat best = null;
+        double bestQuality = 0;
+        for (String element : accept.split(",")) {
+            int parameters = element.indexOf(';');
+            String type = (parameters < 0 ? element : element.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+            ResponseFormat format = of(type);
+            if (format == null) {
+                continue;
+            }
+            double quality = parameters < 0 ? 1 : quality(element.substring(parameters + 1));
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best != null ? best : JSON;
+    }
+
+    /**
+     * @param mediaType a media type without parameters, in lower case
+     * @return the format served as that media type, or null if none is
+     */
+    public static ResponseFormat of(String mediaType) {
+        for (ResponseFormat format : values()) {
+            if (format.mediaType.equals(mediaType) || format.aliases.contains(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            parameter = parameter.trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
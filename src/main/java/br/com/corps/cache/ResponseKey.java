@@ -0,0 +1,12 @@
+package br.com.corps.cache;
+
+/**
+ * Key of a cached response payload
+ *
+ * @param resource logical resource the payload was rendered for (e.g. "cards", "sdui-all")
+ * @param variant resource specific selector, such as the card profile
+ * @param language normalized language the payload was translated to
+ * @param contentType media type of the serialized payload
+ */
+public record ResponseKey(String resource, Object variant, String language, String contentType) {
+}
@@ -0,0 +1,136 @@
+package br.com.corps.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key.
+ * <p>
+ * The first caller of a key runs the loader while every concurrent caller of that key waits
+ * for its result instead of loading it again. The in-flight call is forgotten as soon as it
+ * completes, so a failed load is retried by the next caller instead of being cached.
+ * <p>
+ * Loaders that publish their result into a cache must do so before returning, so the value is
+ * always reachable either through the cache or through the in-flight call.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the loaded values
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Create a new single-flight loader
+     *
+     * @param name name of the loader, used for logging and metrics
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Load the value of a key, or wait for the load already running for it
+     *
+     * @param key the key to load
+     * @param loader function that loads the value for the key
+     * @return the loaded value
+     */
+    public V load(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.apply(key);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Load the value of a key without blocking, or join the load already running for it.
+     * <p>
+     * The loader returns a future instead of waiting for the value, so no thread is held while
+     * the value is fetched. Concurrent callers of the key share the future of the first one.
+     *
+     * @param key the key to load
+     * @param loader function that starts the load of the key
+     * @return future of the loaded value, failed with the exception of the loader
+     */
+    public CompletableFuture<V> loadAsync(K key, Function<? super K, ? extends CompletableFuture<? extends V>> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+
+        loads.increment();
+        CompletableFuture<? extends V> loading;
+        try {
+            loading = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        loading.whenComplete((value, error) -> {
+            // Forgotten before completing, so callers woken by the result never join a finished call
+            inFlight.remove(key, call);
+            if (error != null) {
+                failures.increment();
+                call.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                call.complete(value);
+            }
+        });
+        return call;
+    }
+
+    /**
+     * @return the name of the loader
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a snapshot of the loader counters
+     */
+    public SingleFlightStats stats() {
+        return new SingleFlightStats(name, loads.sum(), coalesced.sum(), failures.sum(), inFlight.size());
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // Waiters see the exception thrown by the loader, not the future wrapper
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
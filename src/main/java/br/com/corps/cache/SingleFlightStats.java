@@ -0,0 +1,13 @@
+package br.com.corps.cache;
+
+/**
+ * Point-in-time counters of a {@link SingleFlight}
+ *
+ * @param name name of the loader
+ * @param loads number of loads actually executed
+ * @param coalesced number of callers that waited for a load started by another caller
+ * @param failures number of loads that threw an exception
+ * @param inFlight number of loads currently running
+ */
+public record SingleFlightStats(String name, long loads, long coalesced, long failures, int inFlight) {
+}
@@ -0,0 +1,44 @@
+package br.com.corps.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory content caches
+ */
+@Data
+@ConfigurationProperties("app.cache")
+public class CacheConfig {
+
+    /**
+     * Maximum number of parsed card benefit trees, one per (profile, language)
+     */
+    private int cardBenefitsMaxSize = 64;
+
+    /**
+     * Maximum number of serialized response payloads
+     */
+    private int responseMaxSize = 256;
+
+    /**
+     * Maximum number of translated plugin selections, one per (feature mask, language)
+     */
+    private int featureSelectionMaxSize = 1024;
+
+    /**
+     * Maximum number of compiled translation templates, one per source plugin list
+     */
+    private int translationTemplateMaxSize = 256;
+
+    /**
+     * Maximum number of Accept-Language headers memoized with the language they resolve to
+     */
+    private int acceptLanguageMaxSize = 512;
+
+    /**
+     * How long clients may reuse a response before revalidating it with its ETag
+     */
+    private Duration clientMaxAge = Duration.ofMinutes(1);
+}
@@ -2,8 +2,11 @@ package br.com.corps.config;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.Context;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +30,26 @@ public class LanguageConfig {
      */
     private List<String> supportedLanguages = Arrays.asList("pt-BR", "en-US", "es-ES");
 
+    /**
+     * Directory of the translation bundles, on the classpath or, prefixed with {@code file:}, on disk
+     */
+    @Setter
+    private String bundlePath = "i18n";
+
+    /**
+     * Supported languages compiled for matching, rebuilt if the list is replaced
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile LanguageMatcher matcher;
+
+    /**
+     * Compile the supported languages once the configuration is bound
+     */
+    @PostConstruct
+    void compile() {
+        matcher = LanguageMatcher.compile(supportedLanguages);
+    }
+
     /**
      * Check if a language is supported
      *
@@ -34,7 +57,7 @@ public class LanguageConfig {
      * @return true if the language is supported, false otherwise
      */
     public boolean isSupported(String language) {
-        return language != null && supportedLanguages.contains(language);
+        return language != null && matcher().isSupported(language);
     }
 
     /**
@@ -48,19 +71,31 @@ public class LanguageConfig {
             return defaultLanguage;
         }
         
-        // Check if the language is already in the correct format
-        if (isSupported(language)) {
-            return language;
-        }
-        
-        // Try to match with supported languages
-        for (String supported : supportedLanguages) {
-            if (supported.toLowerCase().startsWith(language.toLowerCase())) {
-                return supported;
-            }
-        }
-        
+        String match = matchLanguage(language);
         // Return default language if no match found
-        return defaultLanguage;
+        return match != null ? match : defaultLanguage;
+    }
+
+    /**
+     * Match a language code against the supported languages, ignoring case.
+     * <p>
+     * An exact match wins; otherwise the first supported language starting with the code is
+     * returned, so {@code en} matches {@code en-US}. Matching walks a trie compiled from the
+     * supported languages and allocates nothing.
+     *
+     * @param language the language code to match
+     * @return the supported language, or null if none matches
+     */
+    public String matchLanguage(String language) {
+        return matcher().match(language);
+    }
+
+    private LanguageMatcher matcher() {
+        LanguageMatcher compiled = matcher;
+        if (compiled == null || !compiled.isCompiledFrom(supportedLanguages)) {
+            compiled = LanguageMatcher.compile(supportedLanguages);
+            matcher = compiled;
+        }
+        return compiled;
     }
 }
@@ -0,0 +1,138 @@
+package br.com.corps.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Supported languages compiled into a case-insensitive prefix trie.
+ * <p>
+ * Every node stores the language a prefix resolves to: the supported language spelled exactly by
+ * the prefix or, when there is none, the first supported language starting with it. Matching a code
+ * walks one node per character, so it costs the same whatever the number of supported languages
+ * and allocates nothing. Returned languages are the canonical, interned tags of the configuration.
+ */
+final class LanguageMatcher {
+
+    private final List<String> source;
+    private final Node root = new Node();
+
+    private LanguageMatcher(List<String> source) {
+        this.source = source;
+    }
+
+    /**
+     * Compile a list of supported languages
+     *
+     * @param supportedLanguages the supported languages, in order of preference
+     * @return the compiled matcher
+     */
+    static LanguageMatcher compile(List<String> supportedLanguages) {
+        LanguageMatcher matcher = new LanguageMatcher(supportedLanguages);
+        for (String language : supportedLanguages) {
+            if (language != null) {
+                matcher.add(language.intern());
+            }
+        }
+        return matcher;
+    }
+
+    /**
+     * @return true if this matcher was compiled from the given list instance
+     */
+    boolean isCompiledFrom(List<String> supportedLanguages) {
+        return source == supportedLanguages;
+    }
+
+    /**
+     * Check if a language code is one of the supported languages, respecting case
+     *
+     * @param language the language code
+     * @return true if the language is supported
+     */
+    boolean isSupported(String language) {
+        Node node = find(language);
+        return node != null && node.exact != null && node.exact.equals(language);
+    }
+
+    /**
+     * Match a language code, ignoring case
+     *
+     * @param language the language code
+     * @return the supported language spelled by the code or else the first one starting with it,
+     *         or null if none matches
+     */
+    String match(String language) {
+        Node node = find(language);
+        if (node == null) {
+            return null;
+        }
+        return node.exact != null ? node.exact : node.first;
+    }
+
+    private void add(String language) {
+        Node node = root;
+        if (node.first == null) {
+            node.first = language;
+        }
+        for (int i = 0; i < language.length(); i++) {
+            node = node.childOrCreate(lowerCase(language.charAt(i)));
+            if (node.first == null) {
+                node.first = language;
+            }
+        }
+        if (node.exact == null) {
+            node.exact = language;
+        }
+    }
+
+    private Node find(String language) {
+        Node node = root;
+        for (int i = 0; i < language.length() && node != null; i++) {
+            node = node.child(lowerCase(language.charAt(i)));
+        }
+        return node;
+    }
+
+    private static char lowerCase(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return c < 0x80 ? c : Character.toLowerCase(c);
+    }
+
+    /**
+     * Trie node; language tags only use letters, digits and hyphens, so nodes have few children
+     * and a linear scan of them is faster than hashing
+     */
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private String first;
+        private String exact;
+
+        private Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.corps.config;
+
+import br.com.corps.cache.ResponseFormat;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the responses rendered ahead of the first request
+ */
+@Data
+@ConfigurationProperties("app.precompute")
+public class PrecomputeConfig {
+
+    /**
+     * Whether the card benefits and whole catalog responses are rendered at startup and after every reload
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether a gzip compressed copy of every precomputed response is kept for clients accepting gzip
+     */
+    private boolean gzip = false;
+
+    /**
+     * Card profiles whose benefits are precomputed, in every supported language
+     */
+    private List<String> profiles = new ArrayList<>(List.of("black", "gold", "platinum"));
+
+    /**
+     * Formats every response is precomputed in
+     */
+    private List<ResponseFormat> formats = new ArrayList<>(List.of(ResponseFormat.JSON));
+}
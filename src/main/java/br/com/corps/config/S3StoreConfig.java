@@ -0,0 +1,54 @@
+package br.com.corps.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for an S3-compatible object store, used when {@code app.store.type} is s3
+ */
+@Data
+@ConfigurationProperties("app.store.s3")
+public class S3StoreConfig {
+
+    /**
+     * Base URL of the store, such as https://s3.us-east-1.amazonaws.com or http://localhost:9000
+     */
+    private String endpoint;
+
+    /**
+     * Bucket holding the content, addressed path-style
+     */
+    private String bucket;
+
+    /**
+     * Region used to sign requests
+     */
+    private String region = "us-east-1";
+
+    /**
+     * Access key, requests are sent unsigned when empty
+     */
+    private String accessKey;
+
+    /**
+     * Secret key paired with the access key
+     */
+    private String secretKey;
+
+    /**
+     * Maximum number of requests sent to the store at the same time
+     */
+    private int maxConcurrency = 16;
+
+    /**
+     * Maximum number of objects kept with their ETag for conditional requests, the oldest fetched are dropped first
+     */
+    private int maxCachedObjects = 256;
+
+    /**
+     * Timeout of a single request
+     */
+    private Duration requestTimeout = Duration.ofSeconds(5);
+}
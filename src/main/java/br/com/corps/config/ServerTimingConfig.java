@@ -0,0 +1,22 @@
+package br.com.corps.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the {@code Server-Timing} response header
+ */
+@Data
+@ConfigurationProperties("app.server-timing")
+public class ServerTimingConfig {
+
+    /**
+     * Whether every SDUI and card response carries the header
+     */
+    private boolean enabled = false;
+
+    /**
+     * Request header that turns the timings on for a single request, or null to ignore request headers
+     */
+    private String debugHeader;
+}
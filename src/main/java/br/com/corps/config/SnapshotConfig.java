@@ -0,0 +1,22 @@
+package br.com.corps.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the content snapshot compiled at build time
+ */
+@Data
+@ConfigurationProperties("sdui.snapshot")
+public class SnapshotConfig {
+
+    /**
+     * Whether packaged content is read from the snapshot instead of being parsed from JSON
+     */
+    private boolean enabled = true;
+
+    /**
+     * Location of the snapshot, ignored when it does not exist
+     */
+    private String path = "classpath:sdui-content.bin";
+}
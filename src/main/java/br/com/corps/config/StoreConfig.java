@@ -0,0 +1,27 @@
+package br.com.corps.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the content store
+ */
+@Data
+@ConfigurationProperties("app.store")
+public class StoreConfig {
+
+    /**
+     * Store implementation: classpath, filesystem or s3
+     */
+    private String type = "classpath";
+
+    /**
+     * Classpath directory holding the content when the type is classpath
+     */
+    private String classpathRoot = "s3/";
+
+    /**
+     * Local directory holding the content when the type is filesystem
+     */
+    private String fileSystemRoot;
+}
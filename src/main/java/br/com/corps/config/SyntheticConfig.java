@@ -0,0 +1,76 @@
+package br.com.corps.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the synthetic content generated for scale testing
+ */
+@Data
+@ConfigurationProperties("sdui.synthetic")
+public class SyntheticConfig {
+
+    /**
+     * Whether the application serves generated content instead of the configured catalog and bundles
+     */
+    private boolean enabled;
+
+    /**
+     * Directory the generated content is written to, a temporary directory when not set
+     */
+    private String outputDir;
+
+    /**
+     * Number of top-level plugins of every catalog
+     */
+    private int plugins = 1000;
+
+    /**
+     * Levels of {@code children} below every top-level plugin
+     */
+    private int depth = 2;
+
+    /**
+     * Number of children of every plugin above the last level
+     */
+    private int childrenPerPlugin = 2;
+
+    /**
+     * Number of benefit groups of every plugin
+     */
+    private int benefitGroups = 2;
+
+    /**
+     * Number of benefits of every benefit group
+     */
+    private int benefitsPerGroup = 5;
+
+    /**
+     * Share of benefit texts that are translation keys, from 0 to 1, the others are literals
+     */
+    private double keyDensity = 0.8;
+
+    /**
+     * Number of distinct translation keys of every bundle
+     */
+    private int keys = 200;
+
+    /**
+     * Number of languages to generate bundles for, taken in order from pt-BR, en-US, es-ES, fr-FR, de-DE,
+     * it-IT, ja-JP and zh-CN
+     */
+    private int languages = 3;
+
+    /**
+     * Card profiles to generate card benefits and translation bundles for
+     */
+    private List<String> profiles = new ArrayList<>(List.of("black", "gold", "platinum"));
+
+    /**
+     * Seed of the generator, the same configuration and seed always produce the same content
+     */
+    private long seed = 42;
+}
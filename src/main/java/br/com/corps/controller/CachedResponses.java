@@ -0,0 +1,160 @@
+package br.com.corps.controller;
+
+import br.com.corps.cache.CachedPayload;
+import br.com.corps.cache.ResponseFormat;
+import br.com.corps.config.CacheConfig;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+
+/**
+ * Builds HTTP responses from cached payloads, handling conditional GET requests
+ */
+@Singleton
+public class CachedResponses {
+
+    private static final String GZIP = "gzip";
+
+    private final String cacheControl;
+
+    public CachedResponses(CacheConfig cacheConfig) {
+        this.cacheControl = "public, max-age=" + cacheConfig.getClientMaxAge().toSeconds();
+    }
+
+    /**
+     * Select the format of the current request from its Accept header
+     *
+     * @return the negotiated format, {@link ResponseFormat#JSON} outside of a request
+     */
+    public ResponseFormat requestedFormat() {
+        return ResponseFormat.negotiate(ServerRequestContext.currentRequest()
+                .map(request -> request.getHeaders().get(HttpHeaders.ACCEPT))
+                .orElse(null));
+    }
+
+    /**
+     * Build the response for a cached payload.
+     * <p>
+     * When the client already holds the current representation, as told by its
+     * {@code If-None-Match} header, a {@code 304 Not Modified} without body is returned. Payloads
+     * with a precompressed body are sent compressed to requests accepting gzip.
+     *
+     * @param payload the cached payload
+     * @param ifNoneMatch value of the If-None-Match request header, may be null
+     * @param varyOnLanguage whether the representation was selected by the Accept-Language header
+     * @return the response
+     */
+    public MutableHttpResponse<?> respond(CachedPayload payload, String ifNoneMatch, boolean varyOnLanguage) {
+        boolean gzip = payload.gzipBody() != null && acceptsGzip(ServerRequestContext.currentRequest()
+                .map(request -> request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))
+                .orElse(null));
+        String etag = gzip ? payload.gzipEtag() : payload.etag();
+        MutableHttpResponse<?> response;
+        if (matches(ifNoneMatch, etag)) {
+            response = HttpResponse.notModified();
+        } else {
+            response = HttpResponse.ok(gzip ? payload.gzipBody() : payload.body()).contentType(payload.contentType());
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+        }
+        response.header(HttpHeaders.ETAG, etag);
+        response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.header(HttpHeaders.VARY, vary(varyOnLanguage, payload.gzipBody() != null));
+        return response;
+    }
+
+    /**
+     * @return the request headers a representation was selected by, the format always among them
+     */
+    private static String vary(boolean language, boolean encoding) {
+        String vary = HttpHeaders.ACCEPT;
+        if (language) {
+            vary += ", " + HttpHeaders.ACCEPT_LANGUAGE;
+        }
+        if (encoding) {
+            vary += ", " + HttpHeaders.ACCEPT_ENCODING;
+        }
+        return vary;
+    }
+
+    /**
+     * Whether an Accept-Encoding header accepts gzip (RFC 9110, section 12.5.3)
+     *
+     * @param acceptEncoding the header value, may be null
+     * @return true if gzip, x-gzip or any coding is listed with a non-zero quality
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean any = false;
+        for (String element : acceptEncoding.split(",")) {
+            int parameters = element.indexOf(';');
+            String coding = (parameters < 0 ? element : element.substring(0, parameters)).trim();
+            boolean accepted = parameters < 0 || quality(element.substring(parameters + 1)) > 0;
+            if (coding.equalsIgnoreCase(GZIP) || coding.equalsIgnoreCase("x-gzip")) {
+                // An explicit gzip entry takes precedence over the wildcard
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                any = accepted;
+            }
+        }
+        return any;
+    }
+
+    private static double quality(String parameter) {
+        parameter = parameter.trim();
+        if (!parameter.regionMatches(true, 0, "q=", 0, 2)) {
+            return 1;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against an entity tag (RFC 9110, section 13.1.2)
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param etag the quoted entity tag of the current representation
+     * @return true if any of the listed tags matches
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        int length = ifNoneMatch.length();
+        int i = 0;
+        while (i < length) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ' ' || c == '\t' || c == ',') {
+                i++;
+            } else if (c == '*') {
+                return true;
+            } else {
+                if (ifNoneMatch.startsWith("W/", i)) {
+                    i += 2;
+                }
+                int end = ifNoneMatch.indexOf(',', i);
+                if (end < 0) {
+                    end = length;
+                }
+                int tagEnd = end;
+                while (tagEnd > i && Character.isWhitespace(ifNoneMatch.charAt(tagEnd - 1))) {
+                    tagEnd--;
+                }
+                if (tagEnd - i == etag.length() && ifNoneMatch.regionMatches(i, etag, 0, etag.length())) {
+                    return true;
+                }
+                i = end;
+            }
+        }
+        return false;
+    }
+}
@@ -1,72 +1,156 @@
 package br.com.corps.controller;
 
-import br.com.corps.config.LanguageConfig;
+import br.com.corps.cache.CachedPayload;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.cache.ResponseFormat;
+import br.com.corps.cache.ResponseKey;
+import br.com.corps.metrics.ServerTiming;
+import br.com.corps.metrics.ServerTimings;
 import br.com.corps.model.Plugin;
+import br.com.corps.service.LanguageResolver;
 import br.com.corps.service.S3ResourceService;
 import br.com.corps.service.TranslationService;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Produces;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for card benefits endpoints
  */
 @Controller("/cards")
+@Produces({MediaType.APPLICATION_JSON, ResponseFormat.COMPACT_JSON_TYPE, ResponseFormat.SMILE_TYPE,
+        ResponseFormat.CBOR_TYPE, ResponseFormat.MESSAGE_PACK_TYPE})
 @Tag(name = "Card Benefits")
 @Slf4j
 public class CardBenefitsController {
 
+    private static final String CARDS_RESOURCE = "cards";
+
     private final S3ResourceService s3ResourceService;
-    private final LanguageConfig languageConfig;
+    private final LanguageResolver languageResolver;
     private final TranslationService translationService;
+    private final ResponseCache responseCache;
+    private final CachedResponses cachedResponses;
+    private final ServerTimings serverTimings;
 
     @Inject
     public CardBenefitsController(S3ResourceService s3ResourceService, 
-                                 LanguageConfig languageConfig,
-                                 TranslationService translationService) {
+                                 LanguageResolver languageResolver,
+                                 TranslationService translationService,
+                                 ResponseCache responseCache,
+                                 CachedResponses cachedResponses,
+                                 ServerTimings serverTimings) {
         this.s3ResourceService = s3ResourceService;
-        this.languageConfig = languageConfig;
+        this.languageResolver = languageResolver;
         this.translationService = translationService;
+        this.responseCache = responseCache;
+        this.cachedResponses = cachedResponses;
+        this.serverTimings = serverTimings;
     }
 
     /**
-     * Get benefits for a specific card profile
+     * Get benefits for a specific card profile.
+     * <p>
+     * The translated and serialized response is cached per (profile, language, content type), the
+     * content type being negotiated from the Accept header, so steady-state requests write the
+     * cached bytes without any translation or serialization work.
+     * Clients revalidating with the ETag of their copy get a {@code 304 Not Modified}. On a miss
+     * the response completes once the store answered, without holding the request thread.
      *
      * @param profile the card profile (black, gold, platinum)
      * @param acceptLanguage the preferred language from Accept-Language header
-     * @return the card benefits in the requested language
+     * @param ifNoneMatch the ETag of the representation already held by the client
+     * @return future of the serialized card benefits in the requested language
      */
     @Get("/{profile}/benefits")
     @Operation(summary = "Get benefits for a specific card profile")
-    public HttpResponse<br.com.corps.model.ApiResponse<List<Plugin>>> getCardBenefits(
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+        responseCode = "200",
+        description = "Benefits found and returned successfully",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = br.com.corps.model.ApiResponse.class))
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "The client copy is still current")
+    public CompletableFuture<HttpResponse<?>> getCardBenefits(
             @PathVariable @Parameter(description = "Card profile (black, gold, platinum)") String profile,
-            @Header(name = "Accept-Language", defaultValue = "pt-BR") String acceptLanguage) {
+            @Header(name = "Accept-Language", defaultValue = "pt-BR") String acceptLanguage,
+            @Header(name = HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         
         log.info("Requested benefits for profile: {} with language: {}", profile, acceptLanguage);
         
-        String normalizedLanguage = languageConfig.normalizeLanguage(acceptLanguage);
-        List<Plugin> plugins = s3ResourceService.loadCardBenefits(profile, normalizedLanguage);
-        
-        if (plugins.isEmpty()) {
+        ServerTiming timing = serverTimings.current();
+        long start = timing.start();
+        String normalizedLanguage = languageResolver.resolve(acceptLanguage);
+        timing.stop(ServerTiming.Phase.LANGUAGE, start);
+        // The response may be completed by the store thread, which gets the context of this request
+        PropagatedContext context = PropagatedContext.getOrEmpty();
+        return responseCache.getOrRenderAsync(key(profile, normalizedLanguage, cachedResponses.requestedFormat()),
+                () -> body(profile, normalizedLanguage, timing), timing)
+                .thenApply(payload -> {
+                    try (PropagatedContext.Scope ignored = context.propagate()) {
+                        return respond(profile, payload, ifNoneMatch);
+                    }
+                });
+    }
+
+    private HttpResponse<?> respond(String profile, CachedPayload payload, String ifNoneMatch) {
+        if (payload == null) {
             return HttpResponse.notFound(
                 br.com.corps.model.ApiResponse.error("No benefits found for profile: " + profile)
-            );
+            ).contentType(MediaType.APPLICATION_JSON_TYPE);
         }
         
-        // Apply translations using the key-based translation service
-        List<Plugin> translatedPlugins = translationService.translatePlugins(plugins, profile, normalizedLanguage);
-        
-        return HttpResponse.ok(
-            br.com.corps.model.ApiResponse.success(translatedPlugins, normalizedLanguage)
-        );
+        return cachedResponses.respond(payload, ifNoneMatch, true);
+    }
+
+    /**
+     * @param profile the card profile
+     * @param language normalized language
+     * @param format the format the response is serialized to
+     * @return the key of the cached benefits response
+     */
+    ResponseKey key(String profile, String language, ResponseFormat format) {
+        return new ResponseKey(CARDS_RESOURCE, profile.toLowerCase(Locale.ROOT), language, format.getMediaType());
+    }
+
+    /**
+     * Load and translate the benefits of a card profile
+     *
+     * @param profile the card profile
+     * @param language normalized language
+     * @param timing the timings of the current request
+     * @return future of the response body, completing with null if the profile has no benefits
+     */
+    CompletableFuture<Object> body(String profile, String language, ServerTiming timing) {
+        long loadStart = timing.start();
+        return s3ResourceService.loadCardBenefitsAsync(profile, language).thenApply(plugins -> {
+            timing.stop(ServerTiming.Phase.LOAD, loadStart);
+            if (plugins.isEmpty()) {
+                return null;
+            }
+
+            // Trees are the cached instances, language fallbacks included, so their compiled templates are reused
+            long translateStart = timing.start();
+            List<Plugin> translatedPlugins = translationService.translatePlugins(plugins, profile, language);
+            timing.stop(ServerTiming.Phase.TRANSLATE, translateStart);
+            return br.com.corps.model.ApiResponse.success(translatedPlugins, language);
+        });
     }
 }
@@ -0,0 +1,127 @@
+package br.com.corps.controller;
+
+import br.com.corps.cache.CachedPayload;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.cache.ResponseFormat;
+import br.com.corps.cache.ResponseKey;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.config.PrecomputeConfig;
+import br.com.corps.metrics.ServerTiming;
+import br.com.corps.model.Plugin;
+import br.com.corps.service.CatalogSnapshot;
+import br.com.corps.service.ContentReloadedEvent;
+import br.com.corps.service.SDUIPluginService;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Renders the card benefits of every configured profile and the whole catalog, in every supported
+ * language, before the first request asks for them.
+ * <p>
+ * The payloads are pinned in the {@link ResponseCache} at startup and replaced after every content
+ * reload, once the other listeners have dropped their derived caches, so none of these responses is
+ * ever rendered on the request path. Card benefits changed in the store are found by the reload
+ * poller, which revalidates the cached trees, and publish the same {@link ContentReloadedEvent}; a
+ * tree evicted from the card benefits cache is not revalidated, so every precomputed tree must fit.
+ */
+@Singleton
+@Slf4j
+@Requires(property = "app.precompute.enabled", value = "true")
+public class ResponsePrecomputer implements ApplicationEventListener<ContentReloadedEvent>, Ordered {
+
+    private final PrecomputeConfig config;
+    private final LanguageConfig languageConfig;
+    private final CacheConfig cacheConfig;
+    private final SDUIPluginService pluginService;
+    private final ResponseCache responseCache;
+    private final CardBenefitsController cardBenefitsController;
+    private final SDUIController sduiController;
+
+    public ResponsePrecomputer(PrecomputeConfig config, LanguageConfig languageConfig, CacheConfig cacheConfig,
+                               SDUIPluginService pluginService, ResponseCache responseCache,
+                               CardBenefitsController cardBenefitsController, SDUIController sduiController) {
+        this.config = config;
+        this.languageConfig = languageConfig;
+        this.cacheConfig = cacheConfig;
+        this.pluginService = pluginService;
+        this.responseCache = responseCache;
+        this.cardBenefitsController = cardBenefitsController;
+        this.sduiController = sduiController;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        int trees = config.getProfiles().size() * languageConfig.getSupportedLanguages().size();
+        if (trees > cacheConfig.getCardBenefitsMaxSize()) {
+            log.warn("{} card benefit trees are precomputed but app.cache.cardBenefitsMaxSize is {}: evicted trees "
+                    + "are not revalidated on reload and their precomputed responses can go stale",
+                    trees, cacheConfig.getCardBenefitsMaxSize());
+        }
+        precompute();
+    }
+
+    @Override
+    public void onApplicationEvent(ContentReloadedEvent event) {
+        precompute();
+    }
+
+    @Override
+    public int getOrder() {
+        // Run after the listeners dropping the translations of the previous content
+        return LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * Render every precomputed response and replace the pinned ones
+     *
+     * @return number of precomputed responses
+     */
+    public synchronized int precompute() {
+        long start = System.nanoTime();
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+        Map<ResponseKey, CachedPayload> payloads = new HashMap<>();
+        for (String language : languageConfig.getSupportedLanguages()) {
+            String normalized = languageConfig.normalizeLanguage(language);
+            for (ResponseFormat format : config.getFormats()) {
+                for (String profile : config.getProfiles()) {
+                    render(payloads, cardBenefitsController.key(profile, normalized, format),
+                            () -> cardBenefitsController.body(profile, normalized, ServerTiming.DISABLED).join());
+                }
+                render(payloads, sduiController.allPluginsKey(snapshot, normalized, format), () -> {
+                    List<Plugin> plugins = sduiController.allPlugins(snapshot, normalized);
+                    return plugins.isEmpty() ? null : plugins;
+                });
+            }
+        }
+        responseCache.setPrecomputed(payloads);
+        long bytes = payloads.values().stream()
+                .mapToLong(payload -> payload.body().length + (payload.gzipBody() != null ? payload.gzipBody().length : 0))
+                .sum();
+        log.info("Precomputed {} responses ({} bytes) for catalog version {} in {} ms",
+                payloads.size(), bytes, snapshot.getVersion(), (System.nanoTime() - start) / 1_000_000);
+        return payloads.size();
+    }
+
+    private void render(Map<ResponseKey, CachedPayload> payloads, ResponseKey key, Supplier<?> source) {
+        try {
+            CachedPayload payload = responseCache.render(key, source);
+            if (payload != null) {
+                payloads.put(key, config.isGzip() ? payload.withGzip() : payload);
+            }
+        } catch (RuntimeException e) {
+            // The response is rendered on demand instead, like without precomputation
+            log.warn("Could not precompute {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package br.com.corps.controller;
 
+import br.com.corps.cache.CachedPayload;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.cache.ResponseFormat;
+import br.com.corps.cache.ResponseKey;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.metrics.ServerTiming;
+import br.com.corps.metrics.ServerTimings;
 import br.com.corps.model.Plugin;
+import br.com.corps.service.CatalogSnapshot;
+import br.com.corps.service.FeatureMask;
 import br.com.corps.service.SDUIPluginService;
-import br.com.corps.service.TranslationService;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.QueryValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,14 +31,28 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Controller("/sdui")
+@Produces({MediaType.APPLICATION_JSON, ResponseFormat.COMPACT_JSON_TYPE, ResponseFormat.SMILE_TYPE,
+        ResponseFormat.CBOR_TYPE, ResponseFormat.MESSAGE_PACK_TYPE})
 @Tag(name = "SDUI", description = "Server-Driven UI API for multilingual plugin content")
 @RequiredArgsConstructor
 public class SDUIController {
 
+    private static final String FEATURES_RESOURCE = "sdui-features";
+    private static final String ALL_RESOURCE = "sdui-all";
+
+    /**
+     * Response header reporting the catalog version a response was built from
+     */
+    public static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+
     private final SDUIPluginService pluginService;
-    private final TranslationService translationService;
+    private final LanguageConfig languageConfig;
+    private final ResponseCache responseCache;
+    private final CachedResponses cachedResponses;
+    private final ServerTimings serverTimings;
 
     @Get("/plugins")
     @Operation(
@@ -37,25 +64,22 @@ public class SDUIController {
         description = "Plugins found and returned successfully",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = Plugin.class))
     )
+    @ApiResponse(responseCode = "304", description = "The client copy is still current")
     @ApiResponse(responseCode = "404", description = "No plugins found for the specified features")
-    public HttpResponse<List<Plugin>> getPlugins(
+    public HttpResponse<?> getPlugins(
             @Parameter(description = "List of feature names to filter plugins by") 
             @QueryValue List<String> feature,
             
             @Parameter(description = "Language code (e.g., pt-BR, en-US, es-ES) for content translation")
-            @QueryValue(defaultValue = "pt-BR") Optional<String> lang) {
-        
-        List<Plugin> plugins = pluginService.getPluginsByFeature(feature);
-        if (plugins.isEmpty()) {
-            return HttpResponse.notFound();
-        }
+            @QueryValue(defaultValue = "pt-BR") Optional<String> lang,
+
+            @Header(name = HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         
         // Apply translations if language is specified
-        if (lang.isPresent()) {
-            plugins = translationService.translatePlugins(plugins, "black", lang.get());
-        }
-        
-        return HttpResponse.ok(plugins);
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+        FeatureMask mask = snapshot.compile(feature);
+        return respond(snapshot, FEATURES_RESOURCE, mask, lang.orElse(null), ifNoneMatch,
+                language -> pluginService.getPluginsByFeature(mask, language));
     }
 
     @Get("/{lang}/plugins")
@@ -68,24 +92,23 @@ public class SDUIController {
         description = "Plugins found and returned successfully",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = Plugin.class))
     )
+    @ApiResponse(responseCode = "304", description = "The client copy is still current")
     @ApiResponse(responseCode = "404", description = "No plugins found for the specified features")
-    public HttpResponse<List<Plugin>> getPluginsWithPathLang(
+    public HttpResponse<?> getPluginsWithPathLang(
             @PathVariable 
             @Parameter(description = "Language code (e.g., pt-BR, en-US, es-ES) for content translation") 
             String lang,
             
             @Parameter(description = "List of feature names to filter plugins by") 
-            @QueryValue List<String> feature) {
-        
-        List<Plugin> plugins = pluginService.getPluginsByFeature(feature);
-        if (plugins.isEmpty()) {
-            return HttpResponse.notFound();
-        }
+            @QueryValue List<String> feature,
+
+            @Header(name = HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         
         // Apply translations based on the path language parameter
-        plugins = translationService.translatePlugins(plugins, "black", lang);
-        
-        return HttpResponse.ok(plugins);
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+        FeatureMask mask = snapshot.compile(feature);
+        return respond(snapshot, FEATURES_RESOURCE, mask, lang, ifNoneMatch,
+                language -> pluginService.getPluginsByFeature(mask, language));
     }
 
     @Get("/plugins/all")
@@ -98,22 +121,18 @@ public class SDUIController {
         description = "Plugins found and returned successfully",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = Plugin.class))
     )
+    @ApiResponse(responseCode = "304", description = "The client copy is still current")
     @ApiResponse(responseCode = "404", description = "No plugins found")
-    public HttpResponse<List<Plugin>> getAllPlugins(
+    public HttpResponse<?> getAllPlugins(
             @Parameter(description = "Language code (e.g., pt-BR, en-US, es-ES) for content translation")
-            @QueryValue(defaultValue = "pt-BR") Optional<String> lang) {
-        
-        List<Plugin> plugins = pluginService.getAllPlugins();
-        if (plugins.isEmpty()) {
-            return HttpResponse.notFound();
-        }
+            @QueryValue(defaultValue = "pt-BR") Optional<String> lang,
+
+            @Header(name = HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         
         // Apply translations if language is specified
-        if (lang.isPresent()) {
-            plugins = translationService.translatePlugins(plugins, "black", lang.get());
-        }
-        
-        return HttpResponse.ok(plugins);
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+        return respond(snapshot, ALL_RESOURCE, snapshot, lang.orElse(null), ifNoneMatch,
+                language -> allPlugins(snapshot, language));
     }
 
     @Get("/{lang}/plugins/all")
@@ -126,20 +145,72 @@ public class SDUIController {
         description = "Plugins found and returned successfully",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = Plugin.class))
     )
+    @ApiResponse(responseCode = "304", description = "The client copy is still current")
     @ApiResponse(responseCode = "404", description = "No plugins found")
-    public HttpResponse<List<Plugin>> getAllPluginsWithPathLang(
+    public HttpResponse<?> getAllPluginsWithPathLang(
             @PathVariable 
             @Parameter(description = "Language code (e.g., pt-BR, en-US, es-ES) for content translation") 
-            String lang) {
-        
-        List<Plugin> plugins = pluginService.getAllPlugins();
-        if (plugins.isEmpty()) {
-            return HttpResponse.notFound();
-        }
+            String lang,
+
+            @Header(name = HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
         
         // Apply translations based on the path language parameter
-        plugins = translationService.translatePlugins(plugins, "black", lang);
-        
-        return HttpResponse.ok(plugins);
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+        return respond(snapshot, ALL_RESOURCE, snapshot, lang, ifNoneMatch,
+                language -> allPlugins(snapshot, language));
+    }
+
+    /**
+     * @param snapshot the catalog snapshot
+     * @param language normalized language, or null for the untranslated plugins
+     * @param format the format the response is serialized to
+     * @return the key of the cached response holding every plugin of the snapshot
+     */
+    ResponseKey allPluginsKey(CatalogSnapshot snapshot, String language, ResponseFormat format) {
+        return new ResponseKey(ALL_RESOURCE, snapshot, language, format.getMediaType());
+    }
+
+    /**
+     * @param snapshot the catalog snapshot
+     * @param language normalized language, or null for the untranslated plugins
+     * @return every plugin of the snapshot translated to the language
+     */
+    List<Plugin> allPlugins(CatalogSnapshot snapshot, String language) {
+        return pluginService.getAllPlugins(snapshot, language);
+    }
+
+    /**
+     * Serve the plugins from the response cache, serializing them on a miss in the format
+     * negotiated from the Accept header
+     *
+     * @param snapshot the catalog snapshot the plugins are read from
+     * @param resource the cached resource name
+     * @param variant the resource selector within the snapshot, such as the compiled feature mask
+     * @param lang the requested language, or null to skip translation
+     * @param ifNoneMatch the ETag of the representation already held by the client
+     * @param source supplies the plugins translated to the normalized language
+     * @return the response, 404 if there are no plugins
+     */
+    private HttpResponse<?> respond(CatalogSnapshot snapshot, String resource, Object variant, String lang,
+                                    String ifNoneMatch, Function<String, List<Plugin>> source) {
+        ServerTiming timing = serverTimings.current();
+        long start = timing.start();
+        String language = lang != null ? languageConfig.normalizeLanguage(lang) : null;
+        timing.stop(ServerTiming.Phase.LANGUAGE, start);
+        ResponseKey key = new ResponseKey(resource, variant, language, cachedResponses.requestedFormat().getMediaType());
+
+        CachedPayload payload = responseCache.getOrRender(key, () -> {
+            // The catalog is already in memory, selecting the plugins is part of translating them
+            long translateStart = timing.start();
+            List<Plugin> plugins = source.apply(language);
+            timing.stop(ServerTiming.Phase.TRANSLATE, translateStart);
+            return plugins.isEmpty() ? null : plugins;
+        }, timing);
+
+        String version = Long.toString(snapshot.getVersion());
+        if (payload == null) {
+            return HttpResponse.notFound().header(CATALOG_VERSION_HEADER, version);
+        }
+        return cachedResponses.respond(payload, ifNoneMatch, false).header(CATALOG_VERSION_HEADER, version);
     }
 }
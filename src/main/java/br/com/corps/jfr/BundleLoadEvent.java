@@ -0,0 +1,39 @@
+package br.com.corps.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a single translation bundle file read and parsed
+ */
+@Name("br.com.corps.BundleLoad")
+@Label("Translation Bundle Load")
+@Description("Translation bundle file read and parsed")
+@Category({"SDUI", "Content"})
+@StackTrace(false)
+public class BundleLoadEvent extends jdk.jfr.Event {
+
+    @Label("Bundle")
+    @Description("Card type or shared bundle")
+    public String bundle;
+
+    @Label("Language")
+    public String language;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Keys")
+    public int keys;
+}
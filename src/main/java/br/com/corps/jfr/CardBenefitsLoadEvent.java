@@ -0,0 +1,39 @@
+package br.com.corps.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a card benefits resource read from the content store and parsed
+ */
+@Name("br.com.corps.CardBenefitsLoad")
+@Label("Card Benefits Load")
+@Description("Card benefits resource read from the content store and parsed")
+@Category({"SDUI", "Content"})
+@StackTrace(false)
+public class CardBenefitsLoadEvent extends jdk.jfr.Event {
+
+    @Label("Profile")
+    public String profile;
+
+    @Label("Language")
+    public String language;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Plugins")
+    @Description("Number of plugins in the parsed tree, nested ones included")
+    public int nodes;
+}
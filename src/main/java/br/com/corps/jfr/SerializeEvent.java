@@ -0,0 +1,36 @@
+package br.com.corps.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a response body serialized into a cached payload
+ */
+@Name("br.com.corps.Serialize")
+@Label("Serialize Response")
+@Description("Response body serialized into a cached payload")
+@Category({"SDUI", "Request"})
+@StackTrace(false)
+public class SerializeEvent extends jdk.jfr.Event {
+
+    @Label("Resource")
+    public String resource;
+
+    @Label("Variant")
+    @Description("Resource specific selector, such as the card profile")
+    public String variant;
+
+    @Label("Language")
+    public String language;
+
+    @Label("Content Type")
+    public String contentType;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,32 @@
+package br.com.corps.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a plugin tree translated to a language
+ */
+@Name("br.com.corps.Translate")
+@Label("Translate")
+@Description("Plugin tree translated to a language, bundle lookup included")
+@Category({"SDUI", "Request"})
+@StackTrace(false)
+public class TranslateEvent extends jdk.jfr.Event {
+
+    @Label("Card Type")
+    public String cardType;
+
+    @Label("Language")
+    public String language;
+
+    @Label("Plugins")
+    @Description("Number of plugins in the tree, nested ones included")
+    public int nodes;
+
+    @Label("Keys")
+    @Description("Number of distinct translation keys referenced by the tree")
+    public int keys;
+}
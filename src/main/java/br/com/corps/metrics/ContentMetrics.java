@@ -0,0 +1,119 @@
+package br.com.corps.metrics;
+
+import br.com.corps.cache.CacheStats;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.cache.SingleFlightStats;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.service.LanguageResolver;
+import br.com.corps.service.LoadStats;
+import br.com.corps.service.S3ResourceService;
+import br.com.corps.service.SDUIPluginService;
+import br.com.corps.service.TranslationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Publishes the counters the content caches, loaders and translations already keep as meters, so
+ * nothing is recorded twice on the request path
+ */
+@Singleton
+public class ContentMetrics implements MeterBinder {
+
+    private final ResponseCache responseCache;
+    private final SDUIPluginService pluginService;
+    private final S3ResourceService resourceService;
+    private final TranslationService translationService;
+    private final LanguageResolver languageResolver;
+    private final LanguageConfig languageConfig;
+
+    public ContentMetrics(ResponseCache responseCache, SDUIPluginService pluginService,
+                          S3ResourceService resourceService, TranslationService translationService,
+                          LanguageResolver languageResolver, LanguageConfig languageConfig) {
+        this.responseCache = responseCache;
+        this.pluginService = pluginService;
+        this.resourceService = resourceService;
+        this.translationService = translationService;
+        this.languageResolver = languageResolver;
+        this.languageConfig = languageConfig;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, responseCache, ResponseCache::stats);
+        bindCache(registry, pluginService, SDUIPluginService::getSelectionCacheStats);
+        bindCache(registry, resourceService, S3ResourceService::getCardBenefitsCacheStats);
+        bindCache(registry, translationService, TranslationService::getTranslationCacheStats);
+        bindCache(registry, translationService, TranslationService::getTemplateCacheStats);
+        bindCache(registry, languageResolver, LanguageResolver::stats);
+
+        bindLoads(registry, resourceService, S3ResourceService::getCardBenefitsReadStats);
+        bindLoads(registry, translationService, TranslationService::getTranslationReadStats);
+
+        bindSingleFlight(registry, resourceService, S3ResourceService::getCardBenefitsLoadStats);
+        bindSingleFlight(registry, translationService, TranslationService::getTranslationLoadStats);
+
+        for (String language : languageConfig.getSupportedLanguages()) {
+            FunctionCounter.builder("sdui.translations.missing.keys", translationService,
+                            service -> service.getMissingKeyCount(language))
+                    .tag("language", language)
+                    .description("Translation key lookups that found no translation")
+                    .register(registry);
+        }
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, T source, Function<T, CacheStats> stats) {
+        String cache = stats.apply(source).name();
+        FunctionCounter.builder("sdui.cache.gets", source, s -> stats.apply(s).hits())
+                .tags("cache", cache, "result", "hit")
+                .description("Cache lookups")
+                .register(registry);
+        FunctionCounter.builder("sdui.cache.gets", source, s -> stats.apply(s).misses())
+                .tags("cache", cache, "result", "miss")
+                .description("Cache lookups")
+                .register(registry);
+        FunctionCounter.builder("sdui.cache.evictions", source, s -> stats.apply(s).evictions())
+                .tag("cache", cache)
+                .description("Entries removed to respect the cache size bound")
+                .register(registry);
+        Gauge.builder("sdui.cache.size", source, s -> stats.apply(s).size())
+                .tag("cache", cache)
+                .description("Entries in the cache")
+                .register(registry);
+        Gauge.builder("sdui.cache.hit.ratio", source, s -> stats.apply(s).hitRatio())
+                .tag("cache", cache)
+                .description("Ratio of cache lookups that found a value")
+                .register(registry);
+    }
+
+    private static <T> void bindLoads(MeterRegistry registry, T source, Function<T, LoadStats> stats) {
+        String content = stats.apply(source).name();
+        FunctionTimer.builder("sdui.content.loads", source,
+                        s -> stats.apply(s).loads(), s -> stats.apply(s).totalTimeNanos(), TimeUnit.NANOSECONDS)
+                .tag("content", content)
+                .description("Reads and parses of content from its source")
+                .register(registry);
+        FunctionCounter.builder("sdui.content.load.failures", source, s -> stats.apply(s).failures())
+                .tag("content", content)
+                .description("Content reads that failed")
+                .register(registry);
+        FunctionCounter.builder("sdui.language.fallbacks", source, s -> stats.apply(s).fallbacks())
+                .tag("content", content)
+                .description("Times content of the default language was served instead of the requested one")
+                .register(registry);
+    }
+
+    private static <T> void bindSingleFlight(MeterRegistry registry, T source, Function<T, SingleFlightStats> stats) {
+        String loader = stats.apply(source).name();
+        FunctionCounter.builder("sdui.content.loads.coalesced", source, s -> stats.apply(s).coalesced())
+                .tag("content", loader)
+                .description("Callers that waited for a load started by another caller")
+                .register(registry);
+    }
+}
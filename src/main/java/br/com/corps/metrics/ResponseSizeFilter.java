@@ -0,0 +1,45 @@
+package br.com.corps.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.BasicHttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the body size of the SDUI and card responses per route. Latencies per route are recorded
+ * by the {@code http.server.requests} timers of the Micrometer web binder.
+ */
+@ServerFilter({"/sdui/**", "/cards/**"})
+@Requires(beans = MeterRegistry.class)
+public class ResponseSizeFilter {
+
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public ResponseSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ResponseFilter
+    public void recordSize(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        if (response.body() instanceof byte[] body) {
+            String uri = BasicHttpAttributes.getUriTemplate(request).orElse("UNKNOWN");
+            summaries.computeIfAbsent(uri, this::summary).record(body.length);
+        }
+    }
+
+    private DistributionSummary summary(String uri) {
+        return DistributionSummary.builder("sdui.response.size")
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .description("Size of the response bodies")
+                .register(registry);
+    }
+}
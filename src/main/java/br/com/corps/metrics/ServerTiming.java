@@ -0,0 +1,164 @@
+package br.com.corps.metrics;
+
+/**
+ * Durations of the phases of a single request, reported in the {@code Server-Timing} response header.
+ * <p>
+ * Phases are timed with {@link System#nanoTime()} and a phase that runs more than once accumulates
+ * its durations. Requests without timings share {@link #DISABLED}, whose methods do nothing, so
+ * timing code costs no clock reads and no allocation when the header is off.
+ * <p>
+ * Instances are not thread-safe; a request is handled by one thread at a time.
+ */
+public final class ServerTiming {
+
+    /**
+     * Phases of a request, in the order they are reported
+     */
+    public enum Phase {
+        LANGUAGE("lang"),
+        CACHE("cache"),
+        LOAD("load"),
+        TRANSLATE("translate"),
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * @return the metric name of the phase in the header
+         */
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    /**
+     * Timings of a request that is not timed
+     */
+    public static final ServerTiming DISABLED = new ServerTiming(false);
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final boolean enabled;
+    private final long[] durations;
+    private int recordedPhases;
+    private long recordedNanos;
+
+    private ServerTiming(boolean enabled) {
+        this.enabled = enabled;
+        this.durations = enabled ? new long[PHASES.length] : null;
+    }
+
+    /**
+     * @return new empty timings of a timed request
+     */
+    public static ServerTiming create() {
+        return new ServerTiming(true);
+    }
+
+    /**
+     * @return true if the phases of the request are timed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start timing a phase
+     *
+     * @return the start time to pass to {@link #stop}, 0 when not timed
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stop timing a phase, adding the time since it started to its duration
+     *
+     * @param phase the phase
+     * @param start the time returned by {@link #start()}
+     */
+    public void stop(Phase phase, long start) {
+        if (enabled) {
+            add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Stop timing a phase that encloses other timed phases, adding only the time not already
+     * recorded by the enclosed phases
+     *
+     * @param phase the phase
+     * @param start the time returned by {@link #start()}
+     * @param recordedAtStart the value of {@link #recorded()} when the phase started
+     */
+    public void stopExclusive(Phase phase, long start, long recordedAtStart) {
+        if (enabled) {
+            long nested = recordedNanos - recordedAtStart;
+            add(phase, Math.max(0, System.nanoTime() - start - nested));
+        }
+    }
+
+    /**
+     * @return total nanoseconds recorded so far over all phases, 0 when not timed
+     */
+    public long recorded() {
+        return recordedNanos;
+    }
+
+    /**
+     * Get the accumulated duration of a phase
+     *
+     * @param phase the phase
+     * @return the duration in nanoseconds, or -1 if the phase did not run
+     */
+    public long getDuration(Phase phase) {
+        return enabled && (recordedPhases & (1 << phase.ordinal())) != 0 ? durations[phase.ordinal()] : -1;
+    }
+
+    /**
+     * Format the phases that ran as a {@code Server-Timing} header value, durations in milliseconds
+     *
+     * @return the header value, empty if no phase ran
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : PHASES) {
+            long duration = getDuration(phase);
+            if (duration < 0) {
+                continue;
+            }
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(phase.getMetricName()).append(";dur=");
+            appendMillis(header, duration);
+        }
+        return header.toString();
+    }
+
+    private void add(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        recordedPhases |= 1 << phase.ordinal();
+        recordedNanos += nanos;
+    }
+
+    /**
+     * Append nanoseconds as milliseconds with microsecond precision
+     */
+    private static void appendMillis(StringBuilder out, long nanos) {
+        long micros = nanos / 1_000;
+        out.append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            out.append('0');
+        }
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+}
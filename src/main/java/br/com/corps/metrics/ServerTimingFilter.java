@@ -0,0 +1,46 @@
+package br.com.corps.metrics;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+/**
+ * Starts the {@link ServerTiming} of the timed SDUI and card requests and reports the phase
+ * durations in the {@code Server-Timing} response header
+ */
+@ServerFilter({"/sdui/**", "/cards/**"})
+public class ServerTimingFilter {
+
+    /**
+     * Response header carrying the phase durations
+     */
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final ServerTimings serverTimings;
+
+    public ServerTimingFilter(ServerTimings serverTimings) {
+        this.serverTimings = serverTimings;
+    }
+
+    @RequestFilter
+    public void startTiming(HttpRequest<?> request) {
+        if (serverTimings.isTimed(request)) {
+            request.setAttribute(ServerTimings.ATTRIBUTE, ServerTiming.create());
+        }
+    }
+
+    @ResponseFilter
+    public void writeTiming(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        if (!serverTimings.isActive()) {
+            return;
+        }
+        request.getAttribute(ServerTimings.ATTRIBUTE, ServerTiming.class).ifPresent(timing -> {
+            String value = timing.toHeaderValue();
+            if (!value.isEmpty()) {
+                response.header(SERVER_TIMING_HEADER, value);
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.corps.metrics;
+
+import br.com.corps.config.ServerTimingConfig;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+
+/**
+ * Decides which requests are timed and hands their {@link ServerTiming} to the code handling them.
+ * <p>
+ * Timings are kept in a request attribute set by {@link ServerTimingFilter}. When the header is
+ * disabled and no debug request header is configured, {@link #current()} returns
+ * {@link ServerTiming#DISABLED} without looking the request up.
+ */
+@Singleton
+public class ServerTimings {
+
+    /**
+     * Request attribute holding the timings of a timed request
+     */
+    public static final String ATTRIBUTE = "sdui.server-timing";
+
+    private final boolean alwaysEnabled;
+    private final String debugHeader;
+
+    public ServerTimings(ServerTimingConfig config) {
+        this.alwaysEnabled = config.isEnabled();
+        this.debugHeader = config.getDebugHeader() != null && !config.getDebugHeader().isBlank()
+                ? config.getDebugHeader()
+                : null;
+    }
+
+    /**
+     * @return true if any request may be timed
+     */
+    public boolean isActive() {
+        return alwaysEnabled || debugHeader != null;
+    }
+
+    /**
+     * Check if a request is timed
+     *
+     * @param request the request
+     * @return true if the header is enabled or the request carries the debug header
+     */
+    public boolean isTimed(HttpRequest<?> request) {
+        return alwaysEnabled || (debugHeader != null && request.getHeaders().contains(debugHeader));
+    }
+
+    /**
+     * Get the timings of the request being handled by the current thread
+     *
+     * @return the request timings, or {@link ServerTiming#DISABLED} if the request is not timed
+     */
+    public ServerTiming current() {
+        if (!isActive()) {
+            return ServerTiming.DISABLED;
+        }
+        return ServerRequestContext.currentRequest()
+                .flatMap(request -> request.getAttribute(ATTRIBUTE, ServerTiming.class))
+                .orElse(ServerTiming.DISABLED);
+    }
+}
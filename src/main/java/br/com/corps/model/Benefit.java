@@ -3,15 +3,15 @@ package br.com.corps.model;
 import io.micronaut.core.annotation.Introspected;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 @Introspected
-@Data
-@Builder
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @AllArgsConstructor
-@NoArgsConstructor
 public class Benefit {
-    private String text;
-    private String icon;
+    String text;
+    String icon;
 }
@@ -3,18 +3,18 @@ package br.com.corps.model;
 import io.micronaut.core.annotation.Introspected;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.List;
 
 @Introspected
-@Data
-@Builder
-@NoArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @AllArgsConstructor
 public class BenefitGroup {
 
-    private String profile;
-    private List<Benefit> benefits;
+    String profile;
+    List<Benefit> benefits;
 }
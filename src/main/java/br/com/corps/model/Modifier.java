@@ -3,17 +3,17 @@ package br.com.corps.model;
 import io.micronaut.core.annotation.Introspected;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 @Introspected
-@Data
+@Value
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
 public class Modifier {
 
-    private String padding;
-    private String margin;
-    private String alignment;
+    String padding;
+    String margin;
+    String alignment;
 }
@@ -3,24 +3,27 @@ package br.com.corps.model;
 import io.micronaut.core.annotation.Introspected;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.List;
 
+/**
+ * Immutable plugin node, shared as is between requests; changed copies are made with {@link #toBuilder()}
+ */
 @Introspected
-@Data
-@Builder
-@NoArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @AllArgsConstructor
 public class Plugin {
 
-    private String type;
-    private String feature;
-    private Modifier modifier;
-    private Style style;
-    private List<BenefitGroup> benefits;
-    private Points points;
-    private List<Plugin> children;
+    String type;
+    String feature;
+    Modifier modifier;
+    Style style;
+    List<BenefitGroup> benefits;
+    Points points;
+    List<Plugin> children;
 
 }
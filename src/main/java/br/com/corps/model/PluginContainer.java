@@ -1,16 +1,22 @@
 package br.com.corps.model;
 
 import io.micronaut.core.annotation.Introspected;
-import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.List;
 
 @Introspected
-@Data
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor
 public class PluginContainer {
 
-    private String type;
-    private String feature;
-    private List<Plugin> children;
+    String type;
+    String feature;
+    List<Plugin> children;
 
 }
@@ -0,0 +1,80 @@
+package br.com.corps.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for plugin trees that are shared between requests
+ */
+public final class PluginTrees {
+
+    private PluginTrees() {
+    }
+
+    /**
+     * Copy a plugin tree with every list unmodifiable.
+     * <p>
+     * Plugins are immutable, so frozen trees are safe to share between concurrent requests:
+     * callers can read them but any attempt to add or remove plugins, benefit groups or
+     * benefits fails fast, and nothing the caller of this method still holds is shared.
+     *
+     * @param plugins the plugins to freeze
+     * @return an unmodifiable list with the frozen plugins
+     */
+    public static List<Plugin> freeze(List<Plugin> plugins) {
+        if (plugins == null || plugins.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Plugin> frozen = new ArrayList<>(plugins.size());
+        for (Plugin plugin : plugins) {
+            frozen.add(freeze(plugin));
+        }
+        return Collections.unmodifiableList(frozen);
+    }
+
+    /**
+     * Count the plugins of a tree, nested ones included
+     *
+     * @param plugins the plugins to count
+     * @return the number of plugins in the tree
+     */
+    public static int count(List<Plugin> plugins) {
+        if (plugins == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Plugin plugin : plugins) {
+            if (plugin != null) {
+                count += 1 + count(plugin.getChildren());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copy a single plugin tree with every list unmodifiable
+     *
+     * @param plugin the plugin to freeze
+     * @return the frozen plugin, or null if the plugin is null
+     */
+    public static Plugin freeze(Plugin plugin) {
+        if (plugin == null || (plugin.getBenefits() == null && plugin.getChildren() == null)) {
+            return plugin;
+        }
+        List<BenefitGroup> groups = null;
+        if (plugin.getBenefits() != null) {
+            groups = new ArrayList<>(plugin.getBenefits().size());
+            for (BenefitGroup group : plugin.getBenefits()) {
+                groups.add(group != null && group.getBenefits() != null
+                        ? group.toBuilder().benefits(Collections.unmodifiableList(new ArrayList<>(group.getBenefits()))).build()
+                        : group);
+            }
+            groups = Collections.unmodifiableList(groups);
+        }
+        return plugin.toBuilder()
+                .benefits(groups)
+                .children(plugin.getChildren() != null ? freeze(plugin.getChildren()) : null)
+                .build();
+    }
+}
@@ -3,18 +3,18 @@ package br.com.corps.model;
 import io.micronaut.core.annotation.Introspected;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 @Introspected
-@Data
+@Value
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
 public class Points {
 
-    private Integer total;
-    private String lastUpdated;
-    private String currency;
+    Integer total;
+    String lastUpdated;
+    String currency;
 
 }
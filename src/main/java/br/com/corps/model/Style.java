@@ -3,21 +3,21 @@ package br.com.corps.model;
 import io.micronaut.core.annotation.Introspected;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 @Introspected
-@Data
+@Value
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
 public class Style {
 
-    private String backgroundColor;
-    private String borderRadius;
-    private String textColor;
-    private Boolean shadow;
-    private String fontFamily;
-    private String fontWeight;
+    String backgroundColor;
+    String borderRadius;
+    String textColor;
+    Boolean shadow;
+    String fontFamily;
+    String fontWeight;
 
 }
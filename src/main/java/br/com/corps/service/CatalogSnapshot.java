@@ -0,0 +1,148 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginTrees;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the plugin catalog.
+ * <p>
+ * A snapshot holds everything derived from one version of the catalog content: the frozen
+ * plugin trees, their feature index and their compiled translation template. Snapshots are
+ * published as a whole through a single atomic reference, so readers on any core see a
+ * consistent catalog without locks or defensive copies. Plugins are immutable and their lists
+ * unmodifiable, so they are shared by every reader as is.
+ * <p>
+ * Snapshots of a {@link PluginDocument} bind their plugins on first read and compile their
+ * translation template the first time it is requested.
+ * <p>
+ * Snapshots compare by identity, so they can be part of a cache key.
+ */
+@Getter
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, null, Collections.emptyList(), FeatureIndex.empty(), true);
+
+    /**
+     * Version of the catalog, incremented every time new content is published
+     */
+    private final long version;
+
+    /**
+     * Hex SHA-256 of the content the catalog was parsed from, or null for the empty catalog
+     */
+    private final String contentHash;
+
+    /**
+     * Top-level plugins, unmodifiable at every level
+     */
+    private final List<Plugin> plugins;
+
+    /**
+     * Feature index of the plugins
+     */
+    private final FeatureIndex featureIndex;
+
+    /**
+     * Translation template of the whole catalog, null until compiled
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile TranslationTemplate template;
+
+    private CatalogSnapshot(long version, String contentHash, List<Plugin> plugins, FeatureIndex featureIndex,
+                            boolean compileTemplate) {
+        this.version = version;
+        this.contentHash = contentHash;
+        this.plugins = plugins;
+        this.featureIndex = featureIndex;
+        this.template = compileTemplate ? TranslationTemplate.compile(plugins) : null;
+    }
+
+    /**
+     * @return the catalog without any plugin, at version 0
+     */
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a snapshot; the plugins are frozen and must not be modified afterwards
+     *
+     * @param version version of the catalog
+     * @param contentHash hash of the content the plugins were parsed from
+     * @param plugins top-level plugins of the catalog
+     * @param includeNestedFeatures whether plugins nested in {@code children} are indexed
+     * @return the snapshot
+     */
+    public static CatalogSnapshot build(long version, String contentHash, List<Plugin> plugins,
+                                        boolean includeNestedFeatures) {
+        List<Plugin> frozen = PluginTrees.freeze(plugins != null ? plugins : Collections.emptyList());
+        return new CatalogSnapshot(version, contentHash, frozen, FeatureIndex.build(frozen, includeNestedFeatures), true);
+    }
+
+    /**
+     * Build a snapshot of an indexed document, without binding any plugin
+     *
+     * @param version version of the catalog
+     * @param contentHash hash of the content the document was indexed from
+     * @param document the indexed catalog; nested plugins are indexed if the document indexed them
+     * @return the snapshot
+     */
+    public static CatalogSnapshot build(long version, String contentHash, PluginDocument document) {
+        return new CatalogSnapshot(version, contentHash, document.getPlugins(), FeatureIndex.build(document), false);
+    }
+
+    /**
+     * @return translation template of the whole catalog, compiled on first call
+     */
+    public TranslationTemplate getTemplate() {
+        TranslationTemplate compiled = template;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = template;
+                if (compiled == null) {
+                    compiled = TranslationTemplate.compile(plugins);
+                    template = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Hash catalog content the way {@link #getContentHash()} identifies it
+     *
+     * @param content the catalog JSON
+     * @return the hex SHA-256 of the content
+     */
+    public static String contentHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Compile a feature query against this catalog
+     *
+     * @param features the requested features
+     * @return the canonical feature mask
+     */
+    public FeatureMask compile(Collection<String> features) {
+        return featureIndex.compile(features);
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogSnapshot[version=" + version + ", plugins=" + plugins.size() + "]";
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.corps.service;
+
+/**
+ * Published after new content was loaded, so caches holding content derived from the
+ * previous version can be dropped
+ *
+ * @param catalogChanged whether a new plugin catalog was published
+ * @param translationsChanged whether any translation bundle changed
+ * @param cardBenefitsChanged whether any cached card benefit tree changed
+ */
+public record ContentReloadedEvent(boolean catalogChanged, boolean translationsChanged, boolean cardBenefitsChanged) {
+}
@@ -0,0 +1,60 @@
+package br.com.corps.service;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the plugin catalog, the translation bundles and the card benefits for changes.
+ * <p>
+ * New content is loaded and validated on the scheduler thread, never on the request path,
+ * and then published atomically by the owning service. When anything changed a
+ * {@link ContentReloadedEvent} is published so derived caches are dropped.
+ */
+@Singleton
+@Slf4j
+@Requires(property = "sdui.reload.enabled", value = "true")
+public class ContentReloader {
+
+    private final SDUIPluginService pluginService;
+    private final TranslationService translationService;
+    private final S3ResourceService resourceService;
+    private final ApplicationEventPublisher<ContentReloadedEvent> eventPublisher;
+
+    public ContentReloader(SDUIPluginService pluginService, TranslationService translationService,
+                           S3ResourceService resourceService,
+                           ApplicationEventPublisher<ContentReloadedEvent> eventPublisher) {
+        this.pluginService = pluginService;
+        this.translationService = translationService;
+        this.resourceService = resourceService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelay = "${sdui.reload.interval:10s}", initialDelay = "${sdui.reload.interval:10s}")
+    void poll() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Keep polling, the current content stays published
+            log.error("Content reload failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reload the plugin catalog, the translation bundles and the cached card benefits if they changed
+     *
+     * @return true if any content changed
+     */
+    public boolean reload() {
+        boolean catalogChanged = pluginService.reload();
+        boolean translationsChanged = translationService.reloadTranslations();
+        boolean cardBenefitsChanged = resourceService.reloadCardBenefits();
+        if (!catalogChanged && !translationsChanged && !cardBenefitsChanged) {
+            return false;
+        }
+        eventPublisher.publishEvent(new ContentReloadedEvent(catalogChanged, translationsChanged, cardBenefitsChanged));
+        return true;
+    }
+}
@@ -0,0 +1,236 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Plugin;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable index from feature name to the plugins declaring that feature.
+ * <p>
+ * Plugins are numbered in document (pre-order) order, so selections keep the order in which
+ * the plugins appear in the catalog no matter the order of the requested features. Every
+ * known feature gets a dense integer id, so feature queries can be compiled into a
+ * canonical {@link FeatureMask}. Selections are views over the indexed plugins, so plugins of a
+ * {@link PluginDocument} are only bound when a selection is read.
+ */
+public final class FeatureIndex {
+
+    private static final FeatureIndex EMPTY = new FeatureIndex(Collections.emptyList(), Collections.emptyMap());
+
+    private final List<Plugin> nodes;
+    private final Map<String, Integer> featureIds;
+    private final int[][] ordinalsById;
+    private final List<List<Plugin>> pluginsById;
+
+    private FeatureIndex(List<Plugin> nodes, Map<String, List<Integer>> ordinalsByFeature) {
+        this.nodes = nodes;
+        this.featureIds = new HashMap<>(ordinalsByFeature.size() * 2);
+        this.ordinalsById = new int[ordinalsByFeature.size()][];
+        this.pluginsById = new ArrayList<>(ordinalsByFeature.size());
+        ordinalsByFeature.forEach((feature, list) -> {
+            int id = featureIds.size();
+            int[] ordinals = list.stream().mapToInt(Integer::intValue).toArray();
+            featureIds.put(feature, id);
+            ordinalsById[id] = ordinals;
+            pluginsById.add(toPlugins(ordinals, ordinals.length));
+        });
+    }
+
+    /**
+     * @return an index without any feature
+     */
+    public static FeatureIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build the index of a plugin catalog
+     *
+     * @param roots the top-level plugins of the catalog
+     * @param includeNested whether plugins nested in {@code children} at any depth are indexed
+     * @return the feature index
+     */
+    public static FeatureIndex build(List<Plugin> roots, boolean includeNested) {
+        if (roots == null || roots.isEmpty()) {
+            return EMPTY;
+        }
+        List<Plugin> nodes = new ArrayList<>();
+        Map<String, List<Integer>> ordinals = new HashMap<>();
+        for (Plugin root : roots) {
+            collect(root, includeNested, nodes, ordinals);
+        }
+        return new FeatureIndex(Collections.unmodifiableList(nodes), ordinals);
+    }
+
+    /**
+     * Build the index of an indexed catalog document, without binding any plugin
+     *
+     * @param document the document; nested plugins are indexed if the document indexed them
+     * @return the feature index
+     */
+    public static FeatureIndex build(PluginDocument document) {
+        List<Plugin> nodes = document.getNodes();
+        if (nodes.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, List<Integer>> ordinals = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            String feature = document.featureOf(i);
+            if (feature != null) {
+                ordinals.computeIfAbsent(feature, k -> new ArrayList<>(1)).add(i);
+            }
+        }
+        return new FeatureIndex(nodes, ordinals);
+    }
+
+    private static void collect(Plugin plugin, boolean includeNested, List<Plugin> nodes,
+                                Map<String, List<Integer>> ordinals) {
+        if (plugin == null) {
+            return;
+        }
+        if (plugin.getFeature() != null) {
+            ordinals.computeIfAbsent(plugin.getFeature(), k -> new ArrayList<>(1)).add(nodes.size());
+        }
+        nodes.add(plugin);
+        if (includeNested && plugin.getChildren() != null) {
+            for (Plugin child : plugin.getChildren()) {
+                collect(child, true, nodes, ordinals);
+            }
+        }
+    }
+
+    /**
+     * Compile a feature query into its canonical mask
+     *
+     * @param features the requested features; unknown and duplicated features are ignored
+     * @return the mask of the known requested features
+     */
+    public FeatureMask compile(Collection<String> features) {
+        if (features == null || features.isEmpty() || featureIds.isEmpty()) {
+            return FeatureMask.EMPTY;
+        }
+        long[] words = new long[((ordinalsById.length - 1) >>> 6) + 1];
+        int lastWord = -1;
+        for (String feature : features) {
+            Integer id = feature != null ? featureIds.get(feature) : null;
+            if (id != null) {
+                words[id >>> 6] |= 1L << id;
+                lastWord = Math.max(lastWord, id >>> 6);
+            }
+        }
+        if (lastWord < 0) {
+            return FeatureMask.EMPTY;
+        }
+        // Trailing empty words are dropped so equal feature sets always compare equal
+        return new FeatureMask(this, lastWord + 1 == words.length ? words : Arrays.copyOf(words, lastWord + 1));
+    }
+
+    /**
+     * Select the plugins declaring any of the given features, in catalog order
+     *
+     * @param features the requested features; unknown and duplicated features are ignored
+     * @return unmodifiable list of matching plugins
+     */
+    public List<Plugin> select(Collection<String> features) {
+        if (features != null && features.size() == 1) {
+            return pluginsOf(features.iterator().next());
+        }
+        return select(compile(features));
+    }
+
+    /**
+     * Select the plugins declaring any of the features of a mask, in catalog order
+     *
+     * @param mask the compiled feature query, compiled by this index
+     * @return unmodifiable list of matching plugins
+     */
+    public List<Plugin> select(FeatureMask mask) {
+        if (mask.index() != this && !mask.isEmpty()) {
+            throw new IllegalArgumentException("Feature mask was compiled by another index");
+        }
+        int first = mask.nextId(0);
+        if (first < 0) {
+            return Collections.emptyList();
+        }
+        int second = mask.nextId(first + 1);
+        if (second < 0) {
+            return pluginsById.get(first);
+        }
+
+        int total = 0;
+        for (int id = first; id >= 0; id = mask.nextId(id + 1)) {
+            total += ordinalsById[id].length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (int id = first; id >= 0; id = mask.nextId(id + 1)) {
+            System.arraycopy(ordinalsById[id], 0, merged, offset, ordinalsById[id].length);
+            offset += ordinalsById[id].length;
+        }
+        Arrays.sort(merged);
+        int unique = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return toPlugins(merged, unique);
+    }
+
+    /**
+     * @param feature the feature name
+     * @return unmodifiable list of the plugins declaring the feature, in catalog order
+     */
+    public List<Plugin> pluginsOf(String feature) {
+        Integer id = feature != null ? featureIds.get(feature) : null;
+        return id != null ? pluginsById.get(id) : Collections.emptyList();
+    }
+
+    /**
+     * @return number of distinct indexed features
+     */
+    public int featureCount() {
+        return featureIds.size();
+    }
+
+    private List<Plugin> toPlugins(int[] ordinals, int length) {
+        return new Selection(nodes, ordinals, length);
+    }
+
+    /**
+     * Unmodifiable view of the indexed plugins at the given ordinals
+     */
+    private static final class Selection extends AbstractList<Plugin> implements RandomAccess {
+
+        private final List<Plugin> nodes;
+        private final int[] ordinals;
+        private final int length;
+
+        private Selection(List<Plugin> nodes, int[] ordinals, int length) {
+            this.nodes = nodes;
+            this.ordinals = ordinals;
+            this.length = length;
+        }
+
+        @Override
+        public Plugin get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return nodes.get(ordinals[index]);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+}
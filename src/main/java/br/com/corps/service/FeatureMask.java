@@ -0,0 +1,95 @@
+package br.com.corps.service;
+
+import java.util.Arrays;
+
+/**
+ * Canonical, immutable set of feature ids of a {@link FeatureIndex}.
+ * <p>
+ * Feature queries that name the same known features, in any order and with any duplicates
+ * or unknown features, compile to equal masks, so a mask can be used directly as a cache key.
+ * A mask is bound to the index that compiled it: masks of different indexes never compare
+ * equal, so cached selections of a replaced catalog are never served for the new one.
+ */
+public final class FeatureMask {
+
+    static final FeatureMask EMPTY = new FeatureMask(null, new long[0]);
+
+    private final FeatureIndex index;
+    private final long[] words;
+    private final int hash;
+
+    FeatureMask(FeatureIndex index, long[] words) {
+        this.index = index;
+        this.words = words;
+        this.hash = Arrays.hashCode(words);
+    }
+
+    /**
+     * @return the index that compiled the mask, or null for the empty mask
+     */
+    FeatureIndex index() {
+        return index;
+    }
+
+    /**
+     * @return true if the mask selects no feature
+     */
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * @return number of selected features
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @param fromId the first feature id to consider
+     * @return the first selected feature id greater than or equal to fromId, or -1 if there is none
+     */
+    int nextId(int fromId) {
+        int wordIndex = fromId >>> 6;
+        if (wordIndex >= words.length) {
+            return -1;
+        }
+        long word = words[wordIndex] & (-1L << fromId);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof FeatureMask other && hash == other.hash && index == other.index
+                && Arrays.equals(words, other.words));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FeatureMask[");
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            if (sb.length() > "FeatureMask[".length()) {
+                sb.append(',');
+            }
+            sb.append(id);
+        }
+        return sb.append(']').toString();
+    }
+}
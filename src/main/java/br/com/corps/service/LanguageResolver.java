@@ -0,0 +1,240 @@
+package br.com.corps.service;
+
+import br.com.corps.cache.BoundedCache;
+import br.com.corps.cache.CacheStats;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resolves {@code Accept-Language} headers to a supported language.
+ * <p>
+ * Language ranges are tried by decreasing quality value, ties in header order, following the
+ * lookup scheme of RFC 4647: a range that matches no supported language is retried without its
+ * last subtag, so {@code en-GB} falls back to {@code en} and then matches {@code en-US}. Ranges
+ * with {@code q=0} are skipped, {@code *} and headers without any match resolve to the default
+ * language, and malformed entries are ignored rather than failing the whole header.
+ * <p>
+ * Clients send a handful of distinct headers, so the result of every header is memoized in a
+ * bounded cache and resolving a header under load is a single map lookup.
+ */
+@Singleton
+public class LanguageResolver {
+
+    /**
+     * Headers longer than this are resolved without being cached
+     */
+    static final int MAX_CACHED_HEADER_LENGTH = 256;
+
+    private static final String WILDCARD = "*";
+    private static final Comparator<LanguageRange> BY_QUALITY =
+            Comparator.comparingInt(LanguageRange::quality).reversed();
+
+    private final LanguageConfig languageConfig;
+    private final BoundedCache<String, String> resolved;
+
+    public LanguageResolver(LanguageConfig languageConfig, CacheConfig cacheConfig) {
+        this.languageConfig = languageConfig;
+        this.resolved = new BoundedCache<>("accept-languages", cacheConfig.getAcceptLanguageMaxSize());
+    }
+
+    /**
+     * Resolve an Accept-Language header
+     *
+     * @param acceptLanguage the header value, may be null
+     * @return the best supported language, or the default language if none is acceptable
+     */
+    public String resolve(String acceptLanguage) {
+        if (acceptLanguage == null || acceptLanguage.isEmpty()) {
+            return languageConfig.getDefaultLanguage();
+        }
+        if (acceptLanguage.length() > MAX_CACHED_HEADER_LENGTH) {
+            return lookup(acceptLanguage);
+        }
+        return resolved.get(acceptLanguage, this::lookup);
+    }
+
+    /**
+     * @return hit, miss and size counters of the memoized headers
+     */
+    public CacheStats stats() {
+        return resolved.stats();
+    }
+
+    private String lookup(String acceptLanguage) {
+        for (LanguageRange range : parse(acceptLanguage)) {
+            if (range.tag().equals(WILDCARD)) {
+                break;
+            }
+            String tag = range.tag();
+            while (tag != null) {
+                String match = matchSubtags(tag);
+                if (match != null) {
+                    return match;
+                }
+                tag = truncate(tag);
+            }
+        }
+        return languageConfig.getDefaultLanguage();
+    }
+
+    /**
+     * Match a range against the supported languages on whole subtags only, so {@code en} matches
+     * {@code en-US} but never a language such as {@code eng}
+     *
+     * @return the matching supported language, or null if there is none
+     */
+    private String matchSubtags(String tag) {
+        String match = languageConfig.matchLanguage(tag);
+        if (match == null || isSubtagPrefix(tag, match)) {
+            return match;
+        }
+        // The first language by prefix ends inside a subtag; a later one may still match on a boundary
+        for (String language : languageConfig.getSupportedLanguages()) {
+            if (isSubtagPrefix(tag, language)) {
+                return language;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSubtagPrefix(String tag, String language) {
+        return language.regionMatches(true, 0, tag, 0, tag.length())
+                && (language.length() == tag.length() || language.charAt(tag.length()) == '-');
+    }
+
+    /**
+     * Parse the acceptable language ranges of a header, sorted by decreasing quality
+     *
+     * @param acceptLanguage the header value
+     * @return the ranges with a quality above zero
+     */
+    static List<LanguageRange> parse(String acceptLanguage) {
+        List<LanguageRange> ranges = new ArrayList<>();
+        int length = acceptLanguage.length();
+        int start = 0;
+        while (start < length) {
+            int end = acceptLanguage.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            LanguageRange range = parseRange(acceptLanguage, start, end);
+            if (range != null && range.quality() > 0) {
+                ranges.add(range);
+            }
+            start = end + 1;
+        }
+        // List.sort is stable, so ranges of the same quality keep the header order
+        ranges.sort(BY_QUALITY);
+        return ranges;
+    }
+
+    private static LanguageRange parseRange(String header, int start, int end) {
+        int separator = header.indexOf(';', start);
+        int tagEnd = separator >= 0 && separator < end ? separator : end;
+        String tag = header.substring(start, tagEnd).trim();
+        if (!isValidRange(tag)) {
+            return null;
+        }
+        int quality = 1000;
+        int param = tagEnd;
+        while (param < end) {
+            int paramEnd = header.indexOf(';', param + 1);
+            if (paramEnd < 0 || paramEnd > end) {
+                paramEnd = end;
+            }
+            String value = header.substring(param + 1, paramEnd).trim();
+            if (value.length() > 2 && (value.charAt(0) == 'q' || value.charAt(0) == 'Q') && value.charAt(1) == '=') {
+                quality = parseQuality(value.substring(2).trim());
+                if (quality < 0) {
+                    return null;
+                }
+            }
+            param = paramEnd;
+        }
+        return new LanguageRange(tag, quality);
+    }
+
+    /**
+     * Parse a quality value (RFC 9110, section 12.4.2) in thousandths
+     *
+     * @return the quality from 0 to 1000, or -1 if malformed
+     */
+    private static int parseQuality(String value) {
+        int length = value.length();
+        if (length == 0 || length > 5 || (value.charAt(0) != '0' && value.charAt(0) != '1')) {
+            return -1;
+        }
+        int quality = (value.charAt(0) - '0') * 1000;
+        if (length > 1) {
+            if (value.charAt(1) != '.') {
+                return -1;
+            }
+            int scale = 100;
+            for (int i = 2; i < length; i++, scale /= 10) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                quality += (c - '0') * scale;
+            }
+        }
+        return quality <= 1000 ? quality : -1;
+    }
+
+    /**
+     * Language ranges are {@code *} or a primary subtag of 2 to 8 letters followed by alphanumeric
+     * subtags of up to 8 characters, all separated by hyphens
+     */
+    private static boolean isValidRange(String tag) {
+        if (tag.equals(WILDCARD)) {
+            return true;
+        }
+        boolean primary = true;
+        int subtagLength = 0;
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (c == '-') {
+                if (subtagLength < (primary ? 2 : 1)) {
+                    return false;
+                }
+                primary = false;
+                subtagLength = 0;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (!primary && c >= '0' && c <= '9')) {
+                if (++subtagLength > 8) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return subtagLength >= (primary ? 2 : 1);
+    }
+
+    /**
+     * Remove the last subtag of a range, along with a single character subtag left before it
+     * (RFC 4647, section 3.4)
+     *
+     * @return the shorter range, or null if there is a single subtag
+     */
+    private static String truncate(String tag) {
+        int end = tag.lastIndexOf('-');
+        if (end > 1 && tag.charAt(end - 2) == '-') {
+            end -= 2;
+        }
+        return end > 0 ? tag.substring(0, end) : null;
+    }
+
+    /**
+     * A language range of an Accept-Language header
+     *
+     * @param tag the range, a language tag or {@code *}
+     * @param quality the quality value in thousandths
+     */
+    record LanguageRange(String tag, int quality) {
+    }
+}
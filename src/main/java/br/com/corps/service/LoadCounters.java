@@ -0,0 +1,39 @@
+package br.com.corps.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the {@link LoadStats} of a kind of content
+ */
+final class LoadCounters {
+
+    private final String name;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder totalTimeNanos = new LongAdder();
+
+    LoadCounters(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a read that started at the given {@link System#nanoTime()}
+     */
+    void loaded(long startNanos) {
+        totalTimeNanos.add(System.nanoTime() - startNanos);
+        loads.increment();
+    }
+
+    void failed() {
+        failures.increment();
+    }
+
+    void fellBack() {
+        fallbacks.increment();
+    }
+
+    LoadStats stats() {
+        return new LoadStats(name, loads.sum(), failures.sum(), fallbacks.sum(), totalTimeNanos.sum());
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.corps.service;
+
+/**
+ * Point-in-time counters of the reads of a kind of content from its source
+ *
+ * @param name name of the content
+ * @param loads number of reads, successful or not
+ * @param failures number of reads that failed
+ * @param fallbacks number of times content of the default language was served instead of the requested one
+ * @param totalTimeNanos time spent reading and parsing, in nanoseconds
+ */
+public record LoadStats(String name, long loads, long failures, long fallbacks, long totalTimeNanos) {
+}
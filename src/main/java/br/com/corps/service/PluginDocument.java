@@ -0,0 +1,230 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginTrees;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Plugin catalog document indexed without binding its plugins.
+ * <p>
+ * Indexing streams the tokens of the document once and keeps, for every plugin, its feature and
+ * the byte range of its JSON object. A plugin is bound from its own range the first time it is
+ * read, frozen and shared by every later reader, so plugins that are never requested are never
+ * built. Plugins are numbered in document (pre-order) order, like in {@link FeatureIndex}.
+ * <p>
+ * Indexing only checks the structure the catalog is validated against; a plugin whose fields do
+ * not bind fails when it is first read, with an {@link UncheckedIOException}.
+ */
+public final class PluginDocument {
+
+    private static final String CHILDREN = "children";
+    private static final String TYPE = "type";
+    private static final String FEATURE = "feature";
+
+    private final ObjectMapper mapper;
+    private final byte[] content;
+    private final int[] starts;
+    private final int[] ends;
+    private final String[] features;
+    private final AtomicReferenceArray<Plugin> bound;
+    private final List<Plugin> plugins;
+    private final List<Plugin> nodes;
+
+    private PluginDocument(ObjectMapper mapper, byte[] content, Scan scan) {
+        int size = scan.starts.size();
+        this.mapper = mapper;
+        this.content = content;
+        this.starts = new int[size];
+        this.ends = new int[size];
+        this.features = scan.features.toArray(new String[0]);
+        for (int i = 0; i < size; i++) {
+            starts[i] = scan.starts.get(i);
+            ends[i] = scan.ends.get(i);
+        }
+        this.bound = new AtomicReferenceArray<>(size);
+        int[] roots = scan.roots.stream().mapToInt(Integer::intValue).toArray();
+        this.nodes = new Nodes(null, size);
+        this.plugins = roots.length == size ? nodes : new Nodes(roots, roots.length);
+    }
+
+    /**
+     * Index a catalog document
+     *
+     * @param mapper mapper the plugins are bound with
+     * @param content the catalog, a JSON object with the top-level plugins in {@code children}
+     * @param includeNested whether plugins nested in {@code children} at any depth are indexed
+     * @return the indexed document
+     * @throws IOException if the content is not valid JSON
+     * @throws IllegalArgumentException if the catalog has no children or a top-level plugin has no type
+     */
+    public static PluginDocument index(ObjectMapper mapper, byte[] content, boolean includeNested) throws IOException {
+        Scan scan = new Scan(includeNested);
+        try (JsonParser parser = mapper.getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Plugin catalog has no children");
+            }
+            boolean children = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (CHILDREN.equals(field) && value == JsonToken.START_ARRAY) {
+                    children = true;
+                    scan.roots.clear();
+                    scan.starts.clear();
+                    scan.ends.clear();
+                    scan.features.clear();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (parser.currentToken() != JsonToken.START_OBJECT) {
+                            throw new IllegalArgumentException("Plugin catalog has a plugin without type");
+                        }
+                        scan.roots.add(scan.starts.size());
+                        String type = scan.plugin(parser);
+                        if (type == null || type.isBlank()) {
+                            throw new IllegalArgumentException("Plugin catalog has a plugin without type");
+                        }
+                    }
+                } else {
+                    children &= !CHILDREN.equals(field);
+                    parser.skipChildren();
+                }
+            }
+            if (!children) {
+                throw new IllegalArgumentException("Plugin catalog has no children");
+            }
+        }
+        return new PluginDocument(mapper, content, scan);
+    }
+
+    /**
+     * @return top-level plugins, unmodifiable and bound on first read
+     */
+    public List<Plugin> getPlugins() {
+        return plugins;
+    }
+
+    /**
+     * @return indexed plugins in document order, nested ones included when indexed, bound on first read
+     */
+    public List<Plugin> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @param node document order of an indexed plugin
+     * @return the feature of the plugin, read without binding it
+     */
+    public String featureOf(int node) {
+        return features[node];
+    }
+
+    /**
+     * @param node document order of an indexed plugin
+     * @return true if the plugin was bound, by reading it
+     */
+    boolean isBound(int node) {
+        return bound.get(node) != null;
+    }
+
+    private Plugin bind(int node) {
+        Plugin plugin = bound.get(node);
+        if (plugin != null) {
+            return plugin;
+        }
+        try {
+            plugin = mapper.readValue(content, starts[node], ends[node] - starts[node], Plugin.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind plugin " + node + " of the catalog", e);
+        }
+        plugin = PluginTrees.freeze(plugin);
+        // Concurrent first reads may both bind the plugin; every reader gets the first one published
+        return bound.compareAndSet(node, null, plugin) ? plugin : bound.get(node);
+    }
+
+    /**
+     * Unmodifiable view of the indexed plugins, all of them or the ones at the given orders
+     */
+    private final class Nodes extends AbstractList<Plugin> implements RandomAccess {
+
+        private final int[] orders;
+        private final int size;
+
+        private Nodes(int[] orders, int size) {
+            this.orders = orders;
+            this.size = size;
+        }
+
+        @Override
+        public Plugin get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return bind(orders != null ? orders[index] : index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Plugins found while streaming a document
+     */
+    private static final class Scan {
+
+        private final boolean includeNested;
+        private final List<Integer> roots = new ArrayList<>();
+        private final List<Integer> starts = new ArrayList<>();
+        private final List<Integer> ends = new ArrayList<>();
+        private final List<String> features = new ArrayList<>();
+
+        private Scan(boolean includeNested) {
+            this.includeNested = includeNested;
+        }
+
+        /**
+         * Index the plugin object the parser is at, and its children when nested plugins are indexed
+         *
+         * @return the type of the plugin
+         */
+        private String plugin(JsonParser parser) throws IOException {
+            int node = starts.size();
+            starts.add((int) parser.currentTokenLocation().getByteOffset());
+            ends.add(-1);
+            features.add(null);
+            String type = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (TYPE.equals(field)) {
+                    type = value.isScalarValue() ? parser.getValueAsString() : null;
+                } else if (FEATURE.equals(field)) {
+                    features.set(node, value.isScalarValue() ? parser.getValueAsString() : null);
+                } else if (CHILDREN.equals(field) && includeNested && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        // Null children are skipped like in FeatureIndex, anything else must be a plugin
+                        if (parser.currentToken() == JsonToken.START_OBJECT) {
+                            plugin(parser);
+                        } else if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                            throw new IllegalArgumentException("Plugin catalog has a child that is not a plugin");
+                        }
+                    }
+                    continue;
+                }
+                parser.skipChildren();
+            }
+            ends.set(node, (int) parser.currentLocation().getByteOffset());
+            return type;
+        }
+    }
+}
@@ -1,90 +1,308 @@
 package br.com.corps.service;
 
+import br.com.corps.cache.BoundedCache;
+import br.com.corps.cache.CacheStats;
+import br.com.corps.cache.SingleFlight;
+import br.com.corps.cache.SingleFlightStats;
+import br.com.corps.config.CacheConfig;
 import br.com.corps.config.LanguageConfig;
+import br.com.corps.jfr.CardBenefitsLoadEvent;
 import br.com.corps.model.Plugin;
 import br.com.corps.model.PluginContainer;
+import br.com.corps.model.PluginTrees;
+import br.com.corps.snapshot.ContentSnapshot;
+import br.com.corps.store.ResourceStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.micronaut.core.io.ResourceResolver;
-import io.micronaut.core.io.scan.ClassPathResourceLoader;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Service to load resources from simulated S3 bucket structure
+ * Service to load card benefit resources from the configured {@link ResourceStore}
  */
 @Singleton
 @Slf4j
 public class S3ResourceService {
 
-    private static final String S3_BASE_PATH = "s3/exclusive-area/";
+    private static final String BASE_PATH = "exclusive-area/";
     
     private final ObjectMapper mapper;
-    private final ResourceResolver resolver;
-    private final ClassPathResourceLoader loader;
+    private final ResourceStore store;
     private final LanguageConfig languageConfig;
+    private final ContentSnapshot contentSnapshot;
+    private final BoundedCache<CardBenefitsKey, List<Plugin>> cardBenefitsCache;
+    private final SingleFlight<CardBenefitsKey, List<Plugin>> cardBenefitsLoads = new SingleFlight<>("card-benefits");
+    private final LoadCounters cardBenefitsReads = new LoadCounters("card-benefits");
 
     @Inject
-    public S3ResourceService(ObjectMapper mapper, ResourceResolver resolver, LanguageConfig languageConfig) {
+    public S3ResourceService(ObjectMapper mapper, ResourceStore store, LanguageConfig languageConfig,
+                             CacheConfig cacheConfig, ContentSnapshot contentSnapshot) {
         this.mapper = mapper;
-        this.resolver = resolver;
-        this.loader = resolver.getLoader(ClassPathResourceLoader.class).orElseThrow();
+        this.store = store;
         this.languageConfig = languageConfig;
+        this.contentSnapshot = contentSnapshot;
+        this.cardBenefitsCache = new BoundedCache<>("card-benefits", cacheConfig.getCardBenefitsMaxSize());
     }
 
     /**
-     * Load card benefits for a specific card profile and language
+     * Load card benefits for a specific card profile and language, waiting for the store.
+     * <p>
+     * Blocks the calling thread on a cache miss, so it is meant for startup and scheduled work;
+     * request handlers use {@link #loadCardBenefitsAsync(String, String)}.
      * 
      * @param cardProfile the card profile (black, gold, platinum)
      * @param language the language code (pt-BR, en-US, es-ES)
-     * @return list of plugins containing the benefits
+     * @return unmodifiable list of plugins containing the benefits
      */
     public List<Plugin> loadCardBenefits(String cardProfile, String language) {
+        return loadCardBenefitsAsync(cardProfile, language).join();
+    }
+
+    /**
+     * Load card benefits for a specific card profile and language without blocking.
+     * <p>
+     * Parsed trees are frozen, cached per normalized (profile, language) and shared between
+     * callers, so the returned plugins are read-only. A cached tree is returned as a
+     * completed future; otherwise the future completes once the store answered.
+     * <p>
+     * When the tree of the requested language fails to load, the tree of the default language
+     * is returned instead. It is loaded and cached under its own language like any other tree,
+     * so fallbacks share its single read and return its cached instance, which
+     * {@link TranslationService#translatePlugins} matches to its compiled template by identity.
+     * Responses rendered from it are cached under the requested language until the next content
+     * reload.
+     * 
+     * @param cardProfile the card profile (black, gold, platinum)
+     * @param language the language code (pt-BR, en-US, es-ES)
+     * @return future of the unmodifiable list of plugins containing the benefits, never failed
+     */
+    public CompletableFuture<List<Plugin>> loadCardBenefitsAsync(String cardProfile, String language) {
+        String normalizedProfile = cardProfile.toLowerCase(Locale.ROOT);
         String normalizedLanguage = languageConfig.normalizeLanguage(language);
-        String resourcePath = buildResourcePath(cardProfile.toLowerCase(), normalizedLanguage);
-        
-        try {
-            return loadPluginsFromResource(resourcePath);
-        } catch (Exception e) {
-            log.error("Error loading card benefits for profile {} and language {}: {}", 
-                    cardProfile, normalizedLanguage, e.getMessage());
-            
-            // If requested language fails, try with default language
-            if (!normalizedLanguage.equals(languageConfig.getDefaultLanguage())) {
-                log.info("Falling back to default language: {}", languageConfig.getDefaultLanguage());
-                String defaultResourcePath = buildResourcePath(cardProfile.toLowerCase(), languageConfig.getDefaultLanguage());
-                try {
-                    return loadPluginsFromResource(defaultResourcePath);
-                } catch (Exception ex) {
-                    log.error("Error loading card benefits with default language: {}", ex.getMessage());
-                }
+        return load(new CardBenefitsKey(normalizedProfile, normalizedLanguage))
+                .exceptionallyCompose(e -> {
+                    log.error("Error loading card benefits for profile {} and language {}: {}",
+                            cardProfile, normalizedLanguage, cause(e).getMessage());
+                    if (normalizedLanguage.equals(languageConfig.getDefaultLanguage())) {
+                        return CompletableFuture.completedFuture(Collections.emptyList());
+                    }
+
+                    // If requested language fails, try with default language
+                    log.info("Falling back to default language: {}", languageConfig.getDefaultLanguage());
+                    cardBenefitsReads.fellBack();
+                    return load(new CardBenefitsKey(normalizedProfile, languageConfig.getDefaultLanguage()))
+                            .exceptionally(ex -> {
+                                log.error("Error loading card benefits with default language: {}", cause(ex).getMessage());
+                                return Collections.emptyList();
+                            });
+                });
+    }
+
+    private CompletableFuture<List<Plugin>> load(CardBenefitsKey key) {
+        List<Plugin> cached = cardBenefitsCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Concurrent misses of the same key share a single read and parse
+        return cardBenefitsLoads.loadAsync(key, this::loadAndCacheCardBenefits);
+    }
+
+    /**
+     * Load, freeze and cache the tree of a (profile, language) pair.
+     * <p>
+     * Empty trees are not cached: profiles come from the request path, so caching the miss of
+     * every unknown profile would let clients fill the cache and evict the real trees. Neither
+     * are trees whose read started before a reload or an invalidation, as they may be older than
+     * the content the reload published.
+     */
+    private CompletableFuture<List<Plugin>> loadAndCacheCardBenefits(CardBenefitsKey key) {
+        long generation = cardBenefitsCache.generation();
+        // Another caller may have finished loading the key since our cache miss
+        List<Plugin> cached = cardBenefitsCache.peek(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return loadPluginsFromResource(key.profile(), key.language()).thenApply(plugins -> {
+            if (!plugins.isEmpty()) {
+                cardBenefitsCache.putIfCurrent(key, plugins, generation);
             }
+            return plugins;
+        });
+    }
+
+    /**
+     * Read every cached card benefit tree again and publish the ones that changed.
+     * <p>
+     * The S3 store revalidates the objects it already fetched with a conditional GET, answered
+     * without a body when the object did not change. A tree that fails to load, or comes back
+     * empty while the cached one had plugins, is kept as it was. Reads in flight when the reload
+     * starts are not cached once they complete, so they cannot put back a tree the reload missed.
+     *
+     * @return true if any tree changed
+     */
+    public boolean reloadCardBenefits() {
+        cardBenefitsCache.invalidateLoads();
+        Map<CardBenefitsKey, CompletableFuture<List<Plugin>>> reloads = new HashMap<>();
+        for (CardBenefitsKey key : cardBenefitsCache.keys()) {
+            reloads.put(key, loadPluginsFromResource(key.profile(), key.language()));
         }
-        
-        return Collections.emptyList();
+        boolean changed = false;
+        for (Map.Entry<CardBenefitsKey, CompletableFuture<List<Plugin>>> reload : reloads.entrySet()) {
+            CardBenefitsKey key = reload.getKey();
+            List<Plugin> cached = cardBenefitsCache.peek(key);
+            if (cached == null) {
+                continue;
+            }
+            List<Plugin> reloaded;
+            try {
+                // Reloads run on the scheduler thread, never on the request path
+                reloaded = reload.getValue().join();
+            } catch (CompletionException e) {
+                log.warn("Keeping card benefits for profile {} and language {}: {}",
+                        key.profile(), key.language(), cause(e).getMessage());
+                continue;
+            }
+            if (reloaded.equals(cached)) {
+                continue;
+            }
+            if (reloaded.isEmpty()) {
+                log.warn("Ignoring empty card benefits reloaded for profile {} and language {}",
+                        key.profile(), key.language());
+                continue;
+            }
+            if (cardBenefitsCache.replace(key, reloaded)) {
+                changed = true;
+                log.info("Reloaded card benefits for profile {} and language {}", key.profile(), key.language());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Drop the cached tree of a single (profile, language) pair
+     *
+     * @param cardProfile the card profile (black, gold, platinum)
+     * @param language the language code
+     */
+    public void invalidateCardBenefits(String cardProfile, String language) {
+        cardBenefitsCache.invalidate(new CardBenefitsKey(
+                cardProfile.toLowerCase(Locale.ROOT), languageConfig.normalizeLanguage(language)));
+    }
+
+    /**
+     * Drop every cached card benefit tree
+     */
+    public void invalidateAllCardBenefits() {
+        cardBenefitsCache.invalidateAll();
+    }
+
+    /**
+     * @return hit, miss and size counters of the card benefits cache
+     */
+    public CacheStats getCardBenefitsCacheStats() {
+        return cardBenefitsCache.stats();
+    }
+
+    /**
+     * @return load and coalesced waiter counters of the card benefits loader
+     */
+    public SingleFlightStats getCardBenefitsLoadStats() {
+        return cardBenefitsLoads.stats();
+    }
+
+    /**
+     * @return read, failure, language fallback and timing counters of the card benefits store reads
+     */
+    public LoadStats getCardBenefitsReadStats() {
+        return cardBenefitsReads.stats();
     }
     
-    private List<Plugin> loadPluginsFromResource(String resourcePath) throws IOException {
-        Optional<InputStream> resourceStream = loader.getResourceAsStream(resourcePath);
-        
-        if (resourceStream.isPresent()) {
-            try (InputStream is = resourceStream.get()) {
-                PluginContainer container = mapper.readValue(is, PluginContainer.class);
-                return container.getChildren();
+    /**
+     * Load and freeze the tree of a (profile, language) pair, from the content snapshot when it
+     * holds the resource and from the store otherwise
+     */
+    private CompletableFuture<List<Plugin>> loadPluginsFromResource(String profile, String language) {
+        String resourcePath = buildResourcePath(profile, language);
+        CardBenefitsLoadEvent event = new CardBenefitsLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CompletableFuture<LoadedTree> loading;
+        try {
+            loading = readTree(resourcePath);
+        } catch (RuntimeException e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        return loading.handle((tree, error) -> {
+            if (error != null) {
+                cardBenefitsReads.failed();
+            }
+            cardBenefitsReads.loaded(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.profile = profile;
+                event.language = language;
+                event.path = resourcePath;
+                event.found = tree != null && tree.found();
+                event.bytes = tree != null ? tree.bytes() : 0;
+                event.nodes = PluginTrees.count(tree != null ? tree.plugins() : null);
+                event.commit();
             }
-        } else {
-            log.warn("Resource not found: {}", resourcePath);
-            return Collections.emptyList();
+            if (error != null) {
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            return tree.plugins();
+        });
+    }
+
+    private CompletableFuture<LoadedTree> readTree(String resourcePath) {
+        String packagedPath = store.classpathPath(resourcePath);
+        List<Plugin> packaged = packagedPath != null ? contentSnapshot.getDocument(packagedPath) : null;
+        if (packaged != null) {
+            return CompletableFuture.completedFuture(new LoadedTree(PluginTrees.freeze(packaged), true, 0));
         }
+
+        // Parsed on the thread completing the fetch, the caller is never blocked on the store
+        return store.fetch(resourcePath).thenApply(resource -> {
+            if (resource.isEmpty()) {
+                log.warn("Resource not found: {}", resourcePath);
+                return new LoadedTree(Collections.emptyList(), false, 0);
+            }
+            byte[] bytes = resource.get();
+            try {
+                PluginContainer container = mapper.readValue(bytes, PluginContainer.class);
+                return new LoadedTree(PluginTrees.freeze(container.getChildren()), true, bytes.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Throwable cause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
     
     private String buildResourcePath(String cardProfile, String language) {
-        return S3_BASE_PATH + cardProfile + "/home/" + language + ".json";
+        return BASE_PATH + cardProfile + "/home/" + language + ".json";
+    }
+
+    private record CardBenefitsKey(String profile, String language) {
+    }
+
+    /**
+     * A frozen tree with what the JFR event reports about its read
+     */
+    private record LoadedTree(List<Plugin> plugins, boolean found, int bytes) {
     }
 }
@@ -1,64 +1,179 @@
 package br.com.corps.service;
 
 import br.com.corps.Configuration;
+import br.com.corps.cache.BoundedCache;
+import br.com.corps.cache.CacheStats;
+import br.com.corps.config.CacheConfig;
 import br.com.corps.model.Plugin;
 import br.com.corps.model.PluginContainer;
+import br.com.corps.snapshot.ContentSnapshot;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.core.io.scan.ClassPathResourceLoader;
+import io.micronaut.runtime.event.annotation.EventListener;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Singleton;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Singleton
 @Slf4j
-@RequiredArgsConstructor
 public class SDUIPluginService {
 
+    private static final String CARD_TYPE = "black";
+    private static final String FILE_PREFIX = "file:";
+
     private final ObjectMapper mapper;
     private final ResourceResolver resolver;
     private final Configuration config;
+    private final TranslationService translationService;
+    private final ContentSnapshot contentSnapshot;
+    private final BoundedCache<SelectionKey, List<Plugin>> selectionCache;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>(CatalogSnapshot.empty());
 
-    private List<Plugin> plugins;
+    public SDUIPluginService(ObjectMapper mapper, ResourceResolver resolver, Configuration config,
+                             TranslationService translationService, CacheConfig cacheConfig,
+                             ContentSnapshot contentSnapshot) {
+        this.mapper = mapper;
+        this.resolver = resolver;
+        this.config = config;
+        this.translationService = translationService;
+        this.contentSnapshot = contentSnapshot;
+        this.selectionCache = new BoundedCache<>("feature-selections", cacheConfig.getFeatureSelectionMaxSize());
+    }
 
     @PostConstruct
-    @SneakyThrows
     void init() {
+        log.info("Loading plugins from: {}", config.getJsonPath());
+        reload();
+    }
+
+    /**
+     * Reload the plugin catalog from {@code sdui.json-path} if its content changed.
+     * <p>
+     * The new catalog is parsed, validated and indexed into a {@link CatalogSnapshot} before it
+     * is published with a single write, so requests in flight keep reading the snapshot they
+     * started with. Invalid content is rejected and the current snapshot stays published.
+     * <p>
+     * Content found in the {@link ContentSnapshot} by its hash is decoded from it instead of being
+     * parsed. Otherwise, with {@code sdui.lazy-parsing} the catalog is only indexed here, see
+     * {@link PluginDocument}.
+     *
+     * @return true if a new snapshot was published
+     */
+    public synchronized boolean reload() {
         String jsonPath = config.getJsonPath();
-        log.info("Loading plugins from: {}", jsonPath);
+        CatalogSnapshot current = snapshot.get();
+        CatalogSnapshot next;
+        try {
+            byte[] content = readCatalog(jsonPath);
+            String contentHash = CatalogSnapshot.contentHash(content);
+            if (contentHash.equals(current.getContentHash())) {
+                return false;
+            }
 
-        ClassPathResourceLoader loader = resolver.getLoader(ClassPathResourceLoader.class).orElseThrow();
-        try (InputStream in = loader.getResourceAsStream(jsonPath).orElseThrow()) {
-            PluginContainer container = mapper.readValue(in, PluginContainer.class);
-            this.plugins = container.getChildren();
-            log.info("Loaded {} plugins", this.plugins.size());
+            // Content compiled into the snapshot was validated by the build
+            List<Plugin> packaged = contentSnapshot.getCatalog(contentHash);
+            if (packaged != null) {
+                next = CatalogSnapshot.build(current.getVersion() + 1, contentHash, packaged,
+                        config.isIncludeNestedFeatures());
+            } else if (config.isLazyParsing()) {
+                PluginDocument document = PluginDocument.index(mapper, content, config.isIncludeNestedFeatures());
+                next = CatalogSnapshot.build(current.getVersion() + 1, contentHash, document);
+            } else {
+                PluginContainer container = mapper.readValue(content, PluginContainer.class);
+                validate(container);
+                next = CatalogSnapshot.build(current.getVersion() + 1, contentHash, container.getChildren(),
+                        config.isIncludeNestedFeatures());
+            }
         } catch (Exception e) {
             log.error("Failed to load plugins: {}", e.getMessage(), e);
-            this.plugins = Collections.emptyList();
+            return false;
         }
+        snapshot.set(next);
+        // Translated selections of the previous snapshot are never read again
+        this.selectionCache.invalidateAll();
+        log.info("Loaded {} plugins and indexed {} features, catalog version {}",
+                next.getPlugins().size(), next.getFeatureIndex().featureCount(), next.getVersion());
+        return true;
     }
 
     /**
-     * Get plugins filtered by feature
+     * Get the published catalog snapshot.
+     * <p>
+     * A request should read the snapshot once and derive everything from it, so its response
+     * is built from a single catalog version even if a reload happens meanwhile.
+     *
+     * @return the current snapshot
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    @EventListener
+    void onContentReloaded(ContentReloadedEvent event) {
+        if (event.translationsChanged()) {
+            selectionCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Get plugins filtered by feature.
+     * <p>
+     * Lookups go through the feature index built at startup. Nested plugins are only returned
+     * when {@code sdui.include-nested-features} is enabled.
      * 
      * @param features List of features to filter by
-     * @return List of plugins matching the features
+     * @return List of plugins matching the features, in catalog order
      */
     public List<Plugin> getPluginsByFeature(List<String> features) {
-        if (plugins == null || plugins.isEmpty()) {
+        return snapshot.get().getFeatureIndex().select(features);
+    }
+
+    /**
+     * Compile a feature query into its canonical mask.
+     * <p>
+     * Queries naming the same known features in a different order compile to equal masks.
+     *
+     * @param features List of features to filter by
+     * @return the canonical feature mask
+     */
+    public FeatureMask compileFeatures(Collection<String> features) {
+        return snapshot.get().compile(features);
+    }
+
+    /**
+     * Get the plugins of a compiled feature query, translated to the given language.
+     * <p>
+     * Results are memoized per (mask, language) and shared between callers, so they must be
+     * treated as read-only.
+     *
+     * @param mask the compiled feature query
+     * @param language normalized target language, or null to return the plugins untranslated
+     * @return List of plugins matching the features, in catalog order
+     */
+    public List<Plugin> getPluginsByFeature(FeatureMask mask, String language) {
+        if (mask.isEmpty()) {
             return Collections.emptyList();
         }
-
-        return plugins.stream()
-                .filter(plugin -> features.contains(plugin.getFeature()))
-                .collect(Collectors.toList());
+        // Select from the catalog the mask was compiled against, even if it was replaced since
+        FeatureIndex featureIndex = mask.index();
+        if (language == null) {
+            return featureIndex.select(mask);
+        }
+        // Selections are new lists on every miss, so they are compiled here rather than through the
+        // identity keyed template cache, where they would never be matched again
+        return selectionCache.get(new SelectionKey(mask, language), key -> translationService.translate(
+                TranslationTemplate.compile(featureIndex.select(mask)), CARD_TYPE, language));
     }
 
     /**
@@ -67,9 +182,66 @@ public class SDUIPluginService {
      * @return List of all plugins
      */
     public List<Plugin> getAllPlugins() {
-        if (plugins == null || plugins.isEmpty()) {
-            return Collections.emptyList();
+        return snapshot.get().getPlugins();
+    }
+
+    /**
+     * Get all available plugins translated to the given language, memoized per language
+     *
+     * @param language normalized target language, or null to return the plugins untranslated
+     * @return List of all plugins
+     */
+    public List<Plugin> getAllPlugins(String language) {
+        return getAllPlugins(snapshot.get(), language);
+    }
+
+    /**
+     * Get all plugins of a snapshot translated to the given language, memoized per language
+     *
+     * @param catalog the snapshot to read
+     * @param language normalized target language, or null to return the plugins untranslated
+     * @return List of all plugins of the snapshot
+     */
+    public List<Plugin> getAllPlugins(CatalogSnapshot catalog, String language) {
+        if (language == null) {
+            return catalog.getPlugins();
+        }
+        return selectionCache.get(new SelectionKey(catalog, language),
+                key -> translationService.translate(catalog.getTemplate(), CARD_TYPE, language));
+    }
+
+    /**
+     * @return hit, miss and size counters of the translated selections cache
+     */
+    public CacheStats getSelectionCacheStats() {
+        return selectionCache.stats();
+    }
+
+    private byte[] readCatalog(String jsonPath) throws IOException {
+        if (jsonPath.startsWith(FILE_PREFIX)) {
+            return Files.readAllBytes(Path.of(jsonPath.substring(FILE_PREFIX.length())));
         }
-        return plugins;
+        ClassPathResourceLoader loader = resolver.getLoader(ClassPathResourceLoader.class).orElseThrow();
+        try (InputStream in = loader.getResourceAsStream(jsonPath)
+                .orElseThrow(() -> new IOException("Resource not found: " + jsonPath))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void validate(PluginContainer container) {
+        if (container == null || container.getChildren() == null) {
+            throw new IllegalArgumentException("Plugin catalog has no children");
+        }
+        for (Plugin plugin : container.getChildren()) {
+            if (plugin == null || plugin.getType() == null || plugin.getType().isBlank()) {
+                throw new IllegalArgumentException("Plugin catalog has a plugin without type");
+            }
+        }
+    }
+
+    /**
+     * Key of a memoized selection: a feature mask, or a snapshot standing for its whole catalog
+     */
+    private record SelectionKey(Object selection, String language) {
     }
 }
@@ -0,0 +1,69 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Plugin;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Plugins of a {@link TranslationTemplate} translated to a language.
+ * <p>
+ * Only the text of every translation slot is resolved up front. Serializing the list with Jackson
+ * streams the source tree with the translated texts, so responses never build the translated object
+ * graph; reading elements builds it once, on first access. The list is unmodifiable.
+ */
+public final class TranslatedPlugins extends AbstractList<Plugin> implements JsonSerializable, RandomAccess {
+
+    private final TranslationTemplate template;
+    private final String[] values;
+    private volatile List<Plugin> plugins;
+
+    TranslatedPlugins(TranslationTemplate template, String[] values) {
+        this.template = template;
+        this.values = values;
+    }
+
+    @Override
+    public Plugin get(int index) {
+        return plugins().get(index);
+    }
+
+    @Override
+    public int size() {
+        return template.getSource().size();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        template.write(values, gen, serializers);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    /**
+     * @return true if the translated tree was built, by reading its elements
+     */
+    boolean isMaterialized() {
+        return plugins != null;
+    }
+
+    private List<Plugin> plugins() {
+        // Concurrent first reads may both build the tree; they build equal trees
+        List<Plugin> built = plugins;
+        if (built == null) {
+            built = template.fill(values);
+            plugins = built;
+        }
+        return built;
+    }
+}
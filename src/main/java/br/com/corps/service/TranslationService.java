@@ -1,24 +1,32 @@
 package br.com.corps.service;
 
+import br.com.corps.cache.BoundedCache;
+import br.com.corps.cache.CacheStats;
+import br.com.corps.cache.SingleFlight;
+import br.com.corps.cache.SingleFlightStats;
+import br.com.corps.config.CacheConfig;
 import br.com.corps.config.LanguageConfig;
+import br.com.corps.jfr.BundleLoadEvent;
+import br.com.corps.jfr.TranslateEvent;
 import br.com.corps.model.Plugin;
-import br.com.corps.model.Benefit;
-import br.com.corps.model.BenefitGroup;
+import br.com.corps.snapshot.ContentSnapshot;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.context.annotation.Context;
 import jakarta.inject.Singleton;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service for handling translations using key-based approach
@@ -26,18 +34,42 @@ import java.util.stream.Collectors;
 @Singleton
 @Context
 @Slf4j
-@RequiredArgsConstructor
 public class TranslationService {
 
-    private static final String KEY_PREFIX = "key:";
-    private static final int KEY_PREFIX_LENGTH = KEY_PREFIX.length();
-    
+    private static final String DEFAULT_CARD_TYPE = "black";
+    private static final String SHARED_BUNDLE = "common";
+    private static final String DEFAULT_BUNDLE_PATH = "i18n";
+    private static final String FILE_PREFIX = "file:";
+
     private final LanguageConfig languageConfig;
     private final ObjectMapper objectMapper;
-    private final Map<String, Map<String, Map<String, String>>> translationsCache = new ConcurrentHashMap<>();
+    private final ContentSnapshot contentSnapshot;
+    private final Map<BundleKey, Map<String, String>> translationsCache = new ConcurrentHashMap<>();
+    private final SingleFlight<BundleKey, Map<String, String>> translationLoads = new SingleFlight<>("translations");
+    private final LongAdder translationHits = new LongAdder();
+    private final LongAdder translationMisses = new LongAdder();
+    private final LoadCounters bundleReads = new LoadCounters("translations");
+    private final Map<String, LongAdder> missingKeys = new ConcurrentHashMap<>();
+    private final BoundedCache<SourceKey, TranslationTemplate> templateCache;
+
+    public TranslationService(LanguageConfig languageConfig, ObjectMapper objectMapper, CacheConfig cacheConfig,
+                              ContentSnapshot contentSnapshot) {
+        this.languageConfig = languageConfig;
+        this.objectMapper = objectMapper;
+        this.contentSnapshot = contentSnapshot;
+        this.templateCache = new BoundedCache<>("translation-templates", cacheConfig.getTranslationTemplateMaxSize());
+    }
 
     /**
-     * Translate a list of plugins using key-based translations
+     * Translate a list of plugins using key-based translations.
+     * <p>
+     * The list is compiled into a {@link TranslationTemplate} the first time it is seen, so
+     * translating a shared plugin list again costs no text scanning. Lists are matched by
+     * identity: callers must never modify a list, or the plugins in it, once it has been passed
+     * here, as later calls translate the template compiled from its first content. Lists built
+     * anew for every call should be compiled and passed to
+     * {@link #translate(TranslationTemplate, String, String)} instead, so they do not fill the
+     * template cache with entries that can never match.
      *
      * @param plugins List of plugins to translate
      * @param cardType Card type (black, gold, platinum)
@@ -48,177 +80,289 @@ public class TranslationService {
         if (plugins == null || plugins.isEmpty()) {
             return Collections.emptyList();
         }
-        
-        String normalizedLanguage = languageConfig.normalizeLanguage(language);
-        Map<String, String> translations = getTranslations(cardType, normalizedLanguage);
 
-        return plugins.stream()
-                .map(plugin -> translatePlugin(plugin, translations))
-                .collect(Collectors.toList());
+        TranslationTemplate template = templateCache.get(new SourceKey(plugins), key -> TranslationTemplate.compile(plugins));
+        return translate(template, cardType, language);
     }
 
     /**
-     * Translate a single plugin using key-based translations
+     * Translate a compiled plugin tree.
+     * <p>
+     * Only the texts are resolved here. The returned list streams the translated tree when it is
+     * serialized and builds it only if its elements are read, see {@link TranslatedPlugins}.
      *
-     * @param plugin Plugin to translate
-     * @param translations Translation map
-     * @return Translated plugin
+     * @param template the compiled plugin tree
+     * @param cardType Card type (black, gold, platinum)
+     * @param language Target language
+     * @return Translated list of plugins
      */
-    private Plugin translatePlugin(Plugin plugin, Map<String, String> translations) {
-        if (plugin == null) {
-            return null;
+    public List<Plugin> translate(TranslationTemplate template, String cardType, String language) {
+        TranslateEvent event = new TranslateEvent();
+        event.begin();
+        String normalizedLanguage = languageConfig.normalizeLanguage(language);
+        if (normalizedLanguage == null) {
+            normalizedLanguage = languageConfig.getDefaultLanguage();
         }
-        
-        // Clone the plugin using Lombok's builder pattern
-        Plugin translatedPlugin = Plugin.builder()
-            .type(plugin.getType())
-            .feature(plugin.getFeature())
-            .modifier(plugin.getModifier())
-            .style(plugin.getStyle())
-            .points(plugin.getPoints())
-            .build();
-        
-        // Translate benefit groups if they exist
-        if (plugin.getBenefits() != null) {
-            List<BenefitGroup> translatedBenefitGroups = plugin.getBenefits().stream()
-                    .map(benefitGroup -> translateBenefitGroup(benefitGroup, translations))
-                    .collect(Collectors.toList());
-            translatedPlugin.setBenefits(translatedBenefitGroups);
+        Map<String, String> translations = getTranslations(cardType, normalizedLanguage);
+        List<Plugin> translated;
+        if (!template.isTranslatable()) {
+            translated = template.getSource();
+        } else {
+            LongAdder misses = missingKeys.computeIfAbsent(normalizedLanguage, k -> new LongAdder());
+            translated = new TranslatedPlugins(template, template.resolve(translations, misses));
         }
-        
-        // Translate children plugins recursively if they exist
-        if (plugin.getChildren() != null && !plugin.getChildren().isEmpty()) {
-            List<Plugin> translatedChildren = plugin.getChildren().stream()
-                    .map(child -> translatePlugin(child, translations))
-                    .collect(Collectors.toList());
-            translatedPlugin.setChildren(translatedChildren);
+        event.end();
+        if (event.shouldCommit()) {
+            event.cardType = cardType;
+            event.language = normalizedLanguage;
+            event.nodes = template.getNodeCount();
+            event.keys = template.getSlotCount();
+            event.commit();
         }
-        
-        return translatedPlugin;
+        return translated;
     }
 
     /**
-     * Translate a benefit group using key-based translations
+     * Get the flattened translation bundle of a card type and language
      *
-     * @param benefitGroup BenefitGroup to translate
-     * @param translations Translation map
-     * @return Translated benefit group
+     * @param cardType Card type (black, gold, platinum)
+     * @param language Target language
+     * @return Immutable map of translations
      */
-    private BenefitGroup translateBenefitGroup(BenefitGroup benefitGroup, Map<String, String> translations) {
-        if (benefitGroup == null) {
-            return null;
-        }
-        
-        // Clone the benefit group using Lombok's builder pattern
-        BenefitGroup translatedGroup = BenefitGroup.builder()
-            .profile(benefitGroup.getProfile())
-            .build();
+    private Map<String, String> getTranslations(String cardType, String language) {
+        // Use default card type if null
+        String cardTypeKey = cardType != null ? cardType.toLowerCase(Locale.ROOT) : DEFAULT_CARD_TYPE;
+        // Use default language if null
+        String languageKey = language != null ? language : languageConfig.getDefaultLanguage();
+        BundleKey key = new BundleKey(cardTypeKey, languageKey);
         
-        if (benefitGroup.getBenefits() != null) {
-            List<Benefit> translatedBenefits = benefitGroup.getBenefits().stream()
-                    .map(benefit -> translateBenefit(benefit, translations))
-                    .collect(Collectors.toList());
-            translatedGroup.setBenefits(translatedBenefits);
+        Map<String, String> translations = translationsCache.get(key);
+        if (translations != null) {
+            translationHits.increment();
+            return translations;
         }
-        
-        return translatedGroup;
+        translationMisses.increment();
+        // Concurrent misses of the same bundle share a single load
+        return translationLoads.load(key, this::loadAndCacheTranslations);
+    }
+
+    /**
+     * @return load and coalesced waiter counters of the translation bundle loader
+     */
+    public SingleFlightStats getTranslationLoadStats() {
+        return translationLoads.stats();
+    }
+
+    /**
+     * @return hit, miss and size counters of the compiled translation templates
+     */
+    public CacheStats getTemplateCacheStats() {
+        return templateCache.stats();
+    }
+
+    /**
+     * @return hit, miss and size counters of the flattened translation bundles, which are never evicted
+     */
+    public CacheStats getTranslationCacheStats() {
+        int size = translationsCache.size();
+        return new CacheStats("translations", translationHits.sum(), translationMisses.sum(), 0, size, size);
+    }
+
+    /**
+     * @return read, failure, language fallback and timing counters of the translation bundle reads
+     */
+    public LoadStats getTranslationReadStats() {
+        return bundleReads.stats();
     }
 
     /**
-     * Translate a benefit using key-based translations
+     * Get the number of translation key lookups that found no translation in a language
      *
-     * @param benefit Benefit to translate
-     * @param translations Translation map
-     * @return Translated benefit
+     * @param language normalized language code
+     * @return the number of missing keys looked up so far
      */
-    private Benefit translateBenefit(Benefit benefit, Map<String, String> translations) {
-        if (benefit == null) {
-            return null;
-        }
-        
-        String translatedText = benefit.getText();
-        
-        // If the text is a translation key, replace it with the translation
-        if (benefit.getText() != null && benefit.getText().startsWith(KEY_PREFIX)) {
-            String key = benefit.getText().substring(KEY_PREFIX_LENGTH);
-            translatedText = translations.getOrDefault(key, benefit.getText());
-        }
-        
-        // Create a new benefit with the translated text using Lombok's constructor
-        return new Benefit(translatedText, benefit.getIcon());
+    public long getMissingKeyCount(String language) {
+        LongAdder misses = missingKeys.get(language);
+        return misses != null ? misses.sum() : 0;
     }
 
     /**
-     * Get translations for a specific card type and language
+     * Reload every translation bundle loaded so far and publish the ones that changed.
+     * <p>
+     * A bundle that comes back empty while the previous version had translations is treated
+     * as a failed read and kept as it was. Bundles are read from their files again, never from
+     * the content snapshot, which only holds the content the application was built with.
      *
-     * @param cardType Card type (black, gold, platinum)
-     * @param language Target language
-     * @return Map of translations
+     * @return true if any bundle changed
      */
-    private Map<String, String> getTranslations(String cardType, String language) {
-        // Use default card type if null
-        String cardTypeKey = cardType != null ? cardType : "black";
-        // Use default language if null
-        String languageKey = language != null ? language : languageConfig.getDefaultLanguage();
-        
-        // Initialize cache for card type if not exists
-        translationsCache.computeIfAbsent(cardTypeKey, k -> new ConcurrentHashMap<>());
-        
-        // Get or load translations for language
-        Map<String, Map<String, String>> cardTypeCache = translationsCache.get(cardTypeKey);
-        if (cardTypeCache.containsKey(languageKey)) {
-            return cardTypeCache.get(languageKey);
-        } else {
-            Map<String, String> translations = loadTranslations(languageKey);
-            cardTypeCache.put(languageKey, translations);
-            return translations;
+    public boolean reloadTranslations() {
+        boolean changed = false;
+        for (Map.Entry<BundleKey, Map<String, String>> entry : translationsCache.entrySet()) {
+            BundleKey key = entry.getKey();
+            Map<String, String> reloaded = loadTranslations(key.cardType(), key.language(), false);
+            if (reloaded.equals(entry.getValue())) {
+                continue;
+            }
+            if (reloaded.isEmpty()) {
+                log.warn("Ignoring empty translations reloaded for card type: {} and language: {}",
+                        key.cardType(), key.language());
+                continue;
+            }
+            translationsCache.put(key, reloaded);
+            changed = true;
+            log.info("Reloaded translations for card type: {} and language: {}", key.cardType(), key.language());
+        }
+        return changed;
+    }
+
+    private Map<String, String> loadAndCacheTranslations(BundleKey key) {
+        // Another caller may have finished loading the bundle since our cache miss
+        Map<String, String> translations = translationsCache.get(key);
+        if (translations == null) {
+            translations = loadTranslations(key.cardType(), key.language(), true);
+            translationsCache.put(key, translations);
         }
+        return translations;
     }
 
     /**
-     * Load translations from JSON file
+     * Load the translation bundle of a card type and language.
+     * <p>
+     * Bundles are layered, from the highest to the lowest precedence: the card type file of the
+     * language, the shared file of the language, the card type file of the default language and
+     * the shared file of the default language. The layers are flattened once into a single
+     * immutable map, so lookups never walk the fallback chain.
      *
+     * @param cardType Card type (black, gold, platinum)
      * @param language Target language
-     * @return Map of translations
+     * @param packaged whether bundles packaged in the content snapshot are taken from it
+     * @return Immutable map of translations
      */
-    @SneakyThrows
-    private Map<String, String> loadTranslations(String language) {
-        String normalizedLanguage = languageConfig.normalizeLanguage(language);
+    private Map<String, String> loadTranslations(String cardType, String language, boolean packaged) {
+        long start = System.nanoTime();
         String defaultLanguage = languageConfig.getDefaultLanguage();
-        
-        // Try to load translations for the requested language
-        Map<String, String> translations = loadTranslationsFromFile(normalizedLanguage);
-        
-        // If translations are empty and the requested language is not the default,
-        // fall back to the default language
-        if ((translations == null || translations.isEmpty()) && !normalizedLanguage.equals(defaultLanguage)) {
-            log.warn("Translations not found for language: {}. Falling back to default language: {}", 
-                    normalizedLanguage, defaultLanguage);
-            translations = loadTranslationsFromFile(defaultLanguage);
+        boolean profileLayer = isValidCardType(cardType);
+        Map<String, String> translations = new HashMap<>();
+
+        // Lowest precedence first, so every layer overrides the ones below it
+        if (!language.equals(defaultLanguage)) {
+            translations.putAll(loadTranslationsFromFile(SHARED_BUNDLE, defaultLanguage, packaged));
+            if (profileLayer) {
+                translations.putAll(loadTranslationsFromFile(cardType, defaultLanguage, packaged));
+            }
+        }
+        Map<String, String> shared = loadTranslationsFromFile(SHARED_BUNDLE, language, packaged);
+        Map<String, String> profile = profileLayer ? loadTranslationsFromFile(cardType, language, packaged) : Collections.emptyMap();
+        if (shared.isEmpty() && profile.isEmpty()) {
+            log.warn("Translations not found for card type: {} and language: {}. Falling back to default language: {}",
+                    cardType, language, defaultLanguage);
+            if (!language.equals(defaultLanguage)) {
+                bundleReads.fellBack();
+            }
         }
+        translations.putAll(shared);
+        translations.putAll(profile);
         
-        return translations != null ? translations : Collections.emptyMap();
+        bundleReads.loaded(start);
+        return Map.copyOf(translations);
     }
 
     /**
-     * Load translations from a JSON file for a specific language
+     * Load translations from a JSON file for a specific bundle and language, or from the content
+     * snapshot when the bundle is packaged in it
      *
+     * @param bundle Bundle directory, the card type or the shared bundle
      * @param language Language code
-     * @return Map of translations
+     * @param packaged whether the bundle is taken from the content snapshot when it is packaged in it
+     * @return Map of translations, empty if the file does not exist
      */
-    private Map<String, String> loadTranslationsFromFile(String language) {
-        String path = String.format("i18n/black/%s.json", language);
+    private Map<String, String> loadTranslationsFromFile(String bundle, String language, boolean packaged) {
+        String bundlePath = languageConfig.getBundlePath() != null ? languageConfig.getBundlePath() : DEFAULT_BUNDLE_PATH;
+        String path = String.format("%s/%s/%s.json", bundlePath, bundle, language);
+        BundleLoadEvent event = new BundleLoadEvent();
+        event.begin();
+        byte[] bytes = null;
+        Map<String, String> translations = null;
         
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream(path)) {
-            if (is == null) {
-                log.warn("Translation file not found: {}", path);
-                return Collections.emptyMap();
+        try {
+            translations = packaged && !path.startsWith(FILE_PREFIX) ? contentSnapshot.getBundle(path) : null;
+            if (translations != null) {
+                return translations;
+            }
+            try (InputStream is = openBundle(path)) {
+                if (is == null) {
+                    log.debug("Translation file not found: {}", path);
+                    return Collections.emptyMap();
+                }
+                bytes = is.readAllBytes();
             }
-            
-            return objectMapper.readValue(is, new TypeReference<Map<String, String>>() {});
+            translations = objectMapper.readValue(bytes, new TypeReference<Map<String, String>>() {});
+            return translations != null ? translations : Collections.emptyMap();
         } catch (IOException e) {
+            bundleReads.failed();
             log.error("Error loading translations from {}: {}", path, e.getMessage(), e);
             return Collections.emptyMap();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bundle = bundle;
+                event.language = language;
+                event.path = path;
+                event.found = bytes != null || translations != null;
+                event.bytes = bytes != null ? bytes.length : 0;
+                event.keys = translations != null ? translations.size() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    private InputStream openBundle(String path) throws IOException {
+        if (path.startsWith(FILE_PREFIX)) {
+            Path file = Path.of(path.substring(FILE_PREFIX.length()));
+            return Files.exists(file) ? Files.newInputStream(file) : null;
+        }
+        return getClass().getClassLoader().getResourceAsStream(path);
+    }
+
+    /**
+     * Card types come from the request path, so only plain names are used to build bundle paths
+     */
+    private static boolean isValidCardType(String cardType) {
+        if (cardType.isEmpty() || cardType.equals(SHARED_BUNDLE)) {
+            return false;
+        }
+        for (int i = 0; i < cardType.length(); i++) {
+            char c = cardType.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record BundleKey(String cardType, String language) {
+    }
+
+    /**
+     * Cache key matching a source plugin list by identity, as shared read-only lists are
+     * translated over and over while comparing their content would walk the whole tree
+     */
+    private static final class SourceKey {
+
+        private final List<Plugin> plugins;
+
+        private SourceKey(List<Plugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SourceKey other && other.plugins == plugins;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(plugins);
         }
     }
 }
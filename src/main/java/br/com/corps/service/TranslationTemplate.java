@@ -0,0 +1,492 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginTrees;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A plugin tree compiled for translation.
+ * <p>
+ * Compiling walks the tree once and records every {@code key:} benefit text as a slot index,
+ * so translating the tree to a language is a lookup of each distinct key followed by array
+ * indexing, without scanning or slicing any text.
+ * <p>
+ * Translation is copy-on-write: plugins, benefit groups and benefits without any key in their
+ * subtree are returned as-is, so only the nodes whose text actually changes are allocated.
+ * Source trees must therefore not be modified once compiled, and translated trees must be
+ * treated as read-only.
+ * <p>
+ * A translated tree can also be streamed to JSON without being built: {@link #write} walks the
+ * source tree with the serializers of the mapper and writes the translated benefits in place of
+ * the ones with {@code key:} texts.
+ */
+public final class TranslationTemplate {
+
+    static final String KEY_PREFIX = "key:";
+    private static final int LITERAL = -1;
+    private static final String BENEFITS = "benefits";
+    private static final String CHILDREN = "children";
+
+    private final List<Plugin> source;
+    private final PluginNode[] roots;
+    private final boolean translatable;
+    private final String[] keys;
+    private final int nodeCount;
+
+    private TranslationTemplate(List<Plugin> source, PluginNode[] roots, boolean translatable, String[] keys) {
+        this.source = source;
+        this.roots = roots;
+        this.translatable = translatable;
+        this.keys = keys;
+        this.nodeCount = PluginTrees.count(source);
+    }
+
+    /**
+     * Compile a plugin tree
+     *
+     * @param plugins the plugins to compile; they must not be modified afterwards
+     * @return the compiled template
+     */
+    public static TranslationTemplate compile(List<Plugin> plugins) {
+        List<Plugin> source = plugins != null ? plugins : Collections.emptyList();
+        Map<String, Integer> slots = new HashMap<>();
+        PluginNode[] roots = compilePlugins(source, slots);
+        String[] keys = new String[slots.size()];
+        slots.forEach((key, slot) -> keys[slot] = key);
+        return new TranslationTemplate(source, roots, anyTranslatable(roots), keys);
+    }
+
+    private static PluginNode[] compilePlugins(List<Plugin> plugins, Map<String, Integer> slots) {
+        PluginNode[] nodes = new PluginNode[plugins.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            Plugin plugin = plugins.get(i);
+            if (plugin == null) {
+                continue;
+            }
+            GroupNode[] groups = plugin.getBenefits() != null ? compileGroups(plugin.getBenefits(), slots) : null;
+            PluginNode[] children = plugin.getChildren() != null ? compilePlugins(plugin.getChildren(), slots) : null;
+            boolean groupsTranslatable = anyTranslatable(groups);
+            boolean childrenTranslatable = anyTranslatable(children);
+            // Subtrees without keys keep no compiled nodes, they are always shared as-is
+            nodes[i] = new PluginNode(plugin,
+                    groupsTranslatable ? groups : null,
+                    childrenTranslatable ? children : null);
+        }
+        return nodes;
+    }
+
+    private static GroupNode[] compileGroups(List<BenefitGroup> groups, Map<String, Integer> slots) {
+        GroupNode[] nodes = new GroupNode[groups.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            BenefitGroup group = groups.get(i);
+            if (group != null && group.getBenefits() != null) {
+                int[] benefitSlots = compileSlots(group.getBenefits(), slots);
+                if (benefitSlots != null) {
+                    nodes[i] = new GroupNode(group, benefitSlots);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static int[] compileSlots(List<Benefit> benefits, Map<String, Integer> slots) {
+        int[] benefitSlots = new int[benefits.size()];
+        boolean anyKey = false;
+        for (int i = 0; i < benefitSlots.length; i++) {
+            Benefit benefit = benefits.get(i);
+            String text = benefit != null ? benefit.getText() : null;
+            if (text != null && text.startsWith(KEY_PREFIX)) {
+                benefitSlots[i] = slots.computeIfAbsent(text.substring(KEY_PREFIX.length()), k -> slots.size());
+                anyKey = true;
+            } else {
+                benefitSlots[i] = LITERAL;
+            }
+        }
+        return anyKey ? benefitSlots : null;
+    }
+
+    private static boolean anyTranslatable(Object[] nodes) {
+        if (nodes != null) {
+            for (Object node : nodes) {
+                if (node != null && (!(node instanceof PluginNode plugin) || plugin.isTranslatable())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the plugins this template was compiled from
+     */
+    public List<Plugin> getSource() {
+        return source;
+    }
+
+    /**
+     * @return number of distinct translation keys referenced by the tree
+     */
+    public int getSlotCount() {
+        return keys.length;
+    }
+
+    /**
+     * @return number of plugins in the tree, nested ones included
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return true if the tree references at least one translation key
+     */
+    public boolean isTranslatable() {
+        return translatable;
+    }
+
+    /**
+     * Resolve the text of every slot for a language.
+     * <p>
+     * Keys without translation keep their original {@code key:} text.
+     *
+     * @param translations the translations of the target language
+     * @return the text of each slot, indexed by slot
+     */
+    public String[] resolve(Map<String, String> translations) {
+        return resolve(translations, null);
+    }
+
+    /**
+     * Resolve the text of every slot for a language, counting the keys without translation
+     *
+     * @param translations the translations of the target language
+     * @param misses incremented once per key without translation, may be null
+     * @return the text of each slot, indexed by slot
+     */
+    public String[] resolve(Map<String, String> translations, LongAdder misses) {
+        String[] values = new String[keys.length];
+        for (int slot = 0; slot < keys.length; slot++) {
+            String value = translations.get(keys[slot]);
+            if (value == null) {
+                value = KEY_PREFIX + keys[slot];
+                if (misses != null) {
+                    misses.increment();
+                }
+            }
+            values[slot] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Translate the tree with a translation map
+     *
+     * @param translations the translations of the target language
+     * @return the translated plugins
+     */
+    public List<Plugin> fill(Map<String, String> translations) {
+        return translatable ? fill(resolve(translations)) : source;
+    }
+
+    /**
+     * Build the translated tree from resolved slot values
+     *
+     * @param values the text of each slot, as returned by {@link #resolve(Map)}
+     * @return the translated plugins, sharing every node without keys with the source tree
+     */
+    public List<Plugin> fill(String[] values) {
+        if (values.length != keys.length) {
+            throw new IllegalArgumentException("Expected " + keys.length + " slot values but got " + values.length);
+        }
+        return translatable ? fillPlugins(source, roots, values) : source;
+    }
+
+    private static List<Plugin> fillPlugins(List<Plugin> sources, PluginNode[] nodes, String[] values) {
+        Plugin[] plugins = new Plugin[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            PluginNode node = nodes[i];
+            plugins[i] = node != null && node.isTranslatable() ? fillPlugin(node, values) : sources.get(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(plugins));
+    }
+
+    private static Plugin fillPlugin(PluginNode node, String[] values) {
+        Plugin source = node.source();
+        return source.toBuilder()
+                .benefits(node.groups() != null
+                        ? fillGroups(source.getBenefits(), node.groups(), values) : source.getBenefits())
+                .children(node.children() != null
+                        ? fillPlugins(source.getChildren(), node.children(), values) : source.getChildren())
+                .build();
+    }
+
+    private static List<BenefitGroup> fillGroups(List<BenefitGroup> sources, GroupNode[] nodes, String[] values) {
+        BenefitGroup[] groups = new BenefitGroup[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            GroupNode node = nodes[i];
+            groups[i] = node != null ? fillGroup(node, values) : sources.get(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(groups));
+    }
+
+    private static BenefitGroup fillGroup(GroupNode node, String[] values) {
+        List<Benefit> sourceBenefits = node.source().getBenefits();
+        Benefit[] benefits = new Benefit[node.slots().length];
+        for (int i = 0; i < benefits.length; i++) {
+            int slot = node.slots()[i];
+            Benefit benefit = sourceBenefits.get(i);
+            benefits[i] = slot == LITERAL ? benefit : translated(benefit, values[slot]);
+        }
+        return node.source().toBuilder()
+                .benefits(Collections.unmodifiableList(Arrays.asList(benefits)))
+                .build();
+    }
+
+    /**
+     * @return a copy of the benefit with the translated text, every other property kept
+     */
+    private static Benefit translated(Benefit benefit, String text) {
+        return benefit.toBuilder().text(text).build();
+    }
+
+    /**
+     * Write the translated tree as JSON without building it.
+     * <p>
+     * Every bean is written by the property writers of its Jackson serializer, so property names,
+     * order, inclusion and custom serializers are the ones of the translated tree. Only the benefit
+     * and children lists on the path to a key are replaced by their translated content, and only
+     * the translated benefits are built. Serializers this cannot follow, such as ones with object or
+     * type ids, filters, any-getters or views, get the translated tree built and serialized instead.
+     *
+     * @param values the text of each slot, as returned by {@link #resolve(Map)}
+     * @param gen the generator to write to
+     * @param provider the serializer provider of the current serialization
+     * @throws IOException if writing fails
+     */
+    public void write(String[] values, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (values.length != keys.length) {
+            throw new IllegalArgumentException("Expected " + keys.length + " slot values but got " + values.length);
+        }
+        if (!translatable) {
+            provider.defaultSerializeValue(source, gen);
+            return;
+        }
+        BeanLayout plugins = BeanLayout.of(provider, Plugin.class, BENEFITS, CHILDREN);
+        BeanLayout groups = BeanLayout.of(provider, BenefitGroup.class, BENEFITS);
+        if (plugins == null || groups == null || provider.getActiveView() != null) {
+            provider.defaultSerializeValue(fill(values), gen);
+            return;
+        }
+        new TreeWriter(gen, provider, values, plugins, groups).writePlugins(source, roots);
+    }
+
+    /**
+     * Compiled plugin; groups and children are only kept when they contain keys
+     */
+    private record PluginNode(Plugin source, GroupNode[] groups, PluginNode[] children) {
+
+        boolean isTranslatable() {
+            return groups != null || children != null;
+        }
+    }
+
+    /**
+     * Compiled benefit group, only created for groups containing keys
+     */
+    private record GroupNode(BenefitGroup source, int[] slots) {
+    }
+
+    /**
+     * Properties of a bean in the order its Jackson serializer writes them, each with the index of
+     * the replaced property it reads, or -1
+     */
+    private record BeanLayout(PropertyWriter[] properties, int[] replaced) {
+
+        private static final Map<JsonSerializer<?>, Optional<BeanLayout>> LAYOUTS =
+                Collections.synchronizedMap(new WeakHashMap<>());
+
+        /**
+         * @param replaced names of the Java properties the tree writer replaces
+         * @return the layout of the type for the serializers of the provider, or null if they cannot be followed
+         */
+        static BeanLayout of(SerializerProvider provider, Class<?> type, String... replaced) throws IOException {
+            JsonSerializer<Object> serializer = provider.findValueSerializer(type);
+            // Serializers are built once per mapper and type, and so are layouts
+            return LAYOUTS.computeIfAbsent(serializer,
+                    s -> Optional.ofNullable(compute(provider, type, s, replaced))).orElse(null);
+        }
+
+        private static BeanLayout compute(SerializerProvider provider, Class<?> type, JsonSerializer<?> serializer,
+                                          String[] replaced) {
+            if (!(serializer instanceof BeanSerializerBase bean) || bean.usesObjectId()) {
+                return null;
+            }
+            JavaType javaType = provider.constructType(type);
+            AnnotationIntrospector introspector = provider.getAnnotationIntrospector();
+            BeanDescription description = provider.getConfig().introspect(javaType);
+            try {
+                if (provider.findTypeSerializer(javaType) != null) {
+                    return null;
+                }
+            } catch (IOException e) {
+                return null;
+            }
+            if (description.findAnyGetter() != null || introspector.findFilterId(description.getClassInfo()) != null) {
+                return null;
+            }
+            List<PropertyWriter> properties = new ArrayList<>();
+            bean.properties().forEachRemaining(properties::add);
+            int[] roles = new int[properties.size()];
+            for (int i = 0; i < roles.length; i++) {
+                AnnotatedMember member = properties.get(i).getMember();
+                roles[i] = -1;
+                for (int r = 0; r < replaced.length; r++) {
+                    if (reads(member, replaced[r])) {
+                        // A replaced list must be written like any other list
+                        if (introspector.findSerializer(member) != null || introspector.findContentSerializer(member) != null) {
+                            return null;
+                        }
+                        roles[i] = r;
+                    }
+                }
+            }
+            return new BeanLayout(properties.toArray(new PropertyWriter[0]), roles);
+        }
+
+        private static boolean reads(AnnotatedMember member, String property) {
+            if (member instanceof AnnotatedMethod) {
+                return member.getName().length() == property.length() + 3 && member.getName().startsWith("get")
+                        && member.getName().regionMatches(true, 3, property, 0, property.length());
+            }
+            return member instanceof AnnotatedField && member.getName().equals(property);
+        }
+    }
+
+    /**
+     * Streams a translated tree, see {@link #write}
+     */
+    private static final class TreeWriter {
+
+        private static final int PLUGIN_BENEFITS = 0;
+        private static final int PLUGIN_CHILDREN = 1;
+        private static final int GROUP_BENEFITS = 0;
+
+        private final JsonGenerator gen;
+        private final SerializerProvider provider;
+        private final String[] values;
+        private final BeanLayout plugins;
+        private final BeanLayout groups;
+
+        private TreeWriter(JsonGenerator gen, SerializerProvider provider, String[] values,
+                           BeanLayout plugins, BeanLayout groups) {
+            this.gen = gen;
+            this.provider = provider;
+            this.values = values;
+            this.plugins = plugins;
+            this.groups = groups;
+        }
+
+        private void writePlugins(List<Plugin> sources, PluginNode[] nodes) throws IOException {
+            gen.writeStartArray();
+            for (int i = 0; i < nodes.length; i++) {
+                PluginNode node = nodes[i];
+                if (node != null && node.isTranslatable()) {
+                    writePlugin(node);
+                } else {
+                    provider.defaultSerializeValue(sources.get(i), gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        private void writePlugin(PluginNode node) throws IOException {
+            Plugin plugin = node.source();
+            gen.writeStartObject(plugin);
+            for (int i = 0; i < plugins.properties().length; i++) {
+                PropertyWriter property = plugins.properties()[i];
+                int role = plugins.replaced()[i];
+                if (role == PLUGIN_BENEFITS && node.groups() != null) {
+                    gen.writeFieldName(property.getName());
+                    writeGroups(plugin.getBenefits(), node.groups());
+                } else if (role == PLUGIN_CHILDREN && node.children() != null) {
+                    gen.writeFieldName(property.getName());
+                    writePlugins(plugin.getChildren(), node.children());
+                } else {
+                    serializeAsField(property, plugin);
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeGroups(List<BenefitGroup> sources, GroupNode[] nodes) throws IOException {
+            gen.writeStartArray();
+            for (int i = 0; i < nodes.length; i++) {
+                GroupNode node = nodes[i];
+                if (node != null) {
+                    writeGroup(node);
+                } else {
+                    provider.defaultSerializeValue(sources.get(i), gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        private void writeGroup(GroupNode node) throws IOException {
+            BenefitGroup group = node.source();
+            gen.writeStartObject(group);
+            for (int i = 0; i < groups.properties().length; i++) {
+                PropertyWriter property = groups.properties()[i];
+                if (groups.replaced()[i] == GROUP_BENEFITS) {
+                    gen.writeFieldName(property.getName());
+                    writeBenefits(group.getBenefits(), node.slots());
+                } else {
+                    serializeAsField(property, group);
+                }
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeBenefits(List<Benefit> benefits, int[] slots) throws IOException {
+            gen.writeStartArray();
+            for (int i = 0; i < slots.length; i++) {
+                Benefit benefit = benefits.get(i);
+                provider.defaultSerializeValue(slots[i] == LITERAL ? benefit : translated(benefit, values[slots[i]]), gen);
+            }
+            gen.writeEndArray();
+        }
+
+        private void serializeAsField(PropertyWriter property, Object bean) throws IOException {
+            try {
+                property.serializeAsField(bean, gen, provider);
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw JsonMappingException.from(gen, "Could not write property " + property.getName(), e);
+            }
+        }
+    }
+}
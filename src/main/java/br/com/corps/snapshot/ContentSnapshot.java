@@ -0,0 +1,183 @@
+package br.com.corps.snapshot;
+
+import br.com.corps.model.Plugin;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packaged content compiled at build time into a single binary file.
+ * <p>
+ * The snapshot holds the plugin catalog, the card benefit documents and the translation bundles
+ * packaged in the application, each encoded as a Smile document by the application mapper. Entries
+ * are decoded by the same mapper on every lookup, without any JSON text parsing, so callers own the
+ * returned objects and the model is read exactly as it was written, whatever its fields. Catalogs
+ * are looked up by the hash of the JSON they were compiled from, documents and bundles by their
+ * classpath path.
+ * <p>
+ * The layout is a header, an index of entries and the entry bodies; see {@link ContentSnapshotWriter}.
+ */
+public final class ContentSnapshot {
+
+    static final int MAGIC = 0x53445549;
+    static final int VERSION = 2;
+
+    static final byte CATALOG = 0;
+    static final byte DOCUMENT = 1;
+    static final byte BUNDLE = 2;
+
+    static final TypeReference<List<Plugin>> PLUGINS = new TypeReference<>() {};
+    static final TypeReference<Map<String, String>> TRANSLATIONS = new TypeReference<>() {};
+
+    private static final ContentSnapshot EMPTY = new ContentSnapshot(new byte[0], null,
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final byte[] data;
+    private final ObjectMapper smile;
+    private final Map<String, Entry> catalogs;
+    private final Map<String, Entry> documents;
+    private final Map<String, Entry> bundles;
+
+    private ContentSnapshot(byte[] data, ObjectMapper smile, Map<String, Entry> catalogs,
+                            Map<String, Entry> documents, Map<String, Entry> bundles) {
+        this.data = data;
+        this.smile = smile;
+        this.catalogs = catalogs;
+        this.documents = documents;
+        this.bundles = bundles;
+    }
+
+    /**
+     * @return a snapshot without any content
+     */
+    public static ContentSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Read a snapshot, decoding its index
+     *
+     * @param data the snapshot file content, kept by the snapshot
+     * @param mapper the application mapper, whose settings the entries are decoded with
+     * @return the snapshot
+     * @throws IOException if the data is not a snapshot of a supported version
+     */
+    public static ContentSnapshot read(byte[] data, ObjectMapper mapper) throws IOException {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a content snapshot");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported content snapshot version " + version);
+            }
+            int entries = in.getInt();
+            Map<String, Entry> catalogs = new HashMap<>();
+            Map<String, Entry> documents = new HashMap<>();
+            Map<String, Entry> bundles = new HashMap<>();
+            for (int i = 0; i < entries; i++) {
+                byte kind = in.get();
+                byte[] key = new byte[in.getInt()];
+                in.get(key);
+                Entry entry = new Entry(in.getInt(), in.getInt());
+                switch (kind) {
+                    case CATALOG -> catalogs.put(new String(key, StandardCharsets.UTF_8), entry);
+                    case DOCUMENT -> documents.put(new String(key, StandardCharsets.UTF_8), entry);
+                    case BUNDLE -> bundles.put(new String(key, StandardCharsets.UTF_8), entry);
+                    default -> throw new IOException("Unknown content snapshot entry kind " + kind);
+                }
+            }
+            int bodies = in.position();
+            for (Map<String, Entry> index : List.of(catalogs, documents, bundles)) {
+                for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                    Entry body = entry.getValue();
+                    if (body.offset() < 0 || body.length() < 0 || (long) bodies + body.offset() + body.length() > data.length) {
+                        throw new IOException("Truncated content snapshot");
+                    }
+                    entry.setValue(new Entry(bodies + body.offset(), body.length()));
+                }
+            }
+            return new ContentSnapshot(data, smileMapper(mapper), catalogs, documents, bundles);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Truncated content snapshot", e);
+        }
+    }
+
+    /**
+     * @param mapper the application mapper
+     * @return a copy of the mapper reading and writing Smile, with the same modules and settings
+     */
+    static ObjectMapper smileMapper(ObjectMapper mapper) {
+        // Back references to repeated texts, such as icons and translation keys, keep entries small
+        return mapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+    }
+
+    /**
+     * @param contentHash hex SHA-256 of the catalog JSON
+     * @return the top-level plugins of the catalog compiled from that content, or null if it is not in the snapshot
+     */
+    public List<Plugin> getCatalog(String contentHash) {
+        Entry entry = catalogs.get(contentHash);
+        return entry != null ? decode(entry, PLUGINS) : null;
+    }
+
+    /**
+     * @param path classpath path of a plugin document, such as {@code s3/exclusive-area/black/home/pt-BR.json}
+     * @return the top-level plugins of the document, or null if it is not in the snapshot
+     */
+    public List<Plugin> getDocument(String path) {
+        Entry entry = documents.get(path);
+        if (entry == null) {
+            return null;
+        }
+        List<Plugin> plugins = decode(entry, PLUGINS);
+        return plugins != null ? plugins : Collections.emptyList();
+    }
+
+    /**
+     * @param path classpath path of a translation bundle, such as {@code i18n/black/pt-BR.json}
+     * @return the translations of the bundle, or null if it is not in the snapshot
+     */
+    public Map<String, String> getBundle(String path) {
+        Entry entry = bundles.get(path);
+        return entry != null ? decode(entry, TRANSLATIONS) : null;
+    }
+
+    /**
+     * @return number of catalogs, documents and bundles in the snapshot
+     */
+    public int size() {
+        return catalogs.size() + documents.size() + bundles.size();
+    }
+
+    private <T> T decode(Entry entry, TypeReference<T> type) {
+        ObjectReader reader = smile.readerFor(type);
+        try {
+            return reader.readValue(data, entry.offset(), entry.length());
+        } catch (IOException e) {
+            // Entries were validated by the build and the data never changes
+            throw new UncheckedIOException("Corrupt content snapshot entry", e);
+        }
+    }
+
+    /**
+     * Position of an entry body in the snapshot data
+     */
+    private record Entry(int offset, int length) {
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.corps.snapshot;
+
+import br.com.corps.model.PluginContainer;
+import br.com.corps.service.CatalogSnapshot;
+import br.com.corps.service.PluginDocument;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.ApplicationContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validates the packaged content and compiles it into a {@link ContentSnapshot}.
+ * <p>
+ * Run by the build once the resources are copied, with the content directory and the snapshot file
+ * as arguments. The catalog {@code sdui-plugins.json}, the plugin documents under {@code s3/} and the
+ * translation bundles under {@code i18n/} are compiled; invalid content fails the build. The content
+ * is parsed and encoded by the application mapper, with the {@code jackson} settings of the application
+ * configuration, so the snapshot holds what the application would have read from the JSON.
+ */
+@Slf4j
+public final class ContentSnapshotCompiler {
+
+    static final String CATALOG_FILE = "sdui-plugins.json";
+    static final String DOCUMENT_DIR = "s3";
+    static final String BUNDLE_DIR = "i18n";
+
+    private static final String JSON = ".json";
+
+    private ContentSnapshotCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ContentSnapshotCompiler <content directory> <snapshot file>");
+        }
+        Path root = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        ContentSnapshotWriter writer;
+        // Neither the snapshot being replaced nor the precomputed responses are needed to get the mapper
+        try (ApplicationContext context = ApplicationContext.builder()
+                .properties(Map.of("sdui.snapshot.enabled", false, "app.precompute.enabled", false))
+                .start()) {
+            writer = compile(root, context.getBean(ObjectMapper.class));
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            writer.writeTo(out);
+        }
+        log.info("Compiled {} entries of content from {} into {} ({} bytes)",
+                writer.entryCount(), root, target, Files.size(target));
+    }
+
+    /**
+     * Compile the content of a directory
+     *
+     * @param root the content directory, such as the build output directory
+     * @param mapper the application mapper, the content is parsed and encoded with
+     * @return the writer holding the compiled content
+     * @throws IOException if a file could not be read or holds invalid content
+     */
+    static ContentSnapshotWriter compile(Path root, ObjectMapper mapper) throws IOException {
+        ContentSnapshotWriter writer = new ContentSnapshotWriter(mapper);
+        Path catalog = root.resolve(CATALOG_FILE);
+        if (Files.isRegularFile(catalog)) {
+            byte[] content = Files.readAllBytes(catalog);
+            try {
+                // Indexing checks the catalog like a reload would, binding every plugin checks their fields
+                writer.addCatalog(CatalogSnapshot.contentHash(content),
+                        PluginDocument.index(mapper, content, false).getPlugins());
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("Invalid catalog " + catalog + ": " + e.getMessage(), e);
+            }
+        }
+        for (Path file : jsonFiles(root.resolve(DOCUMENT_DIR))) {
+            try {
+                writer.addDocument(path(root, file),
+                        mapper.readValue(file.toFile(), PluginContainer.class).getChildren());
+            } catch (IOException e) {
+                throw new IOException("Invalid plugin document " + file + ": " + e.getMessage(), e);
+            }
+        }
+        for (Path file : jsonFiles(root.resolve(BUNDLE_DIR))) {
+            try {
+                Map<String, String> translations = mapper.readValue(file.toFile(), new TypeReference<>() {});
+                writer.addBundle(path(root, file), translations != null ? translations : Map.of());
+            } catch (IOException e) {
+                throw new IOException("Invalid translation bundle " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return writer;
+    }
+
+    private static List<Path> jsonFiles(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(JSON))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @return the classpath path of a content file
+     */
+    private static String path(Path root, Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.corps.snapshot;
+
+import br.com.corps.config.SnapshotConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.core.io.ResourceResolver;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Reads the content snapshot once at startup, with a single read of the whole file
+ */
+@Factory
+@Slf4j
+public class ContentSnapshotFactory {
+
+    @Singleton
+    ContentSnapshot contentSnapshot(SnapshotConfig config, ResourceResolver resolver, ObjectMapper mapper) {
+        if (!config.isEnabled()) {
+            return ContentSnapshot.empty();
+        }
+        Optional<InputStream> resource = resolver.getResourceAsStream(config.getPath());
+        if (resource.isEmpty()) {
+            log.info("Content snapshot not found at {}, packaged content is parsed from JSON", config.getPath());
+            return ContentSnapshot.empty();
+        }
+        try (InputStream in = resource.get()) {
+            ContentSnapshot snapshot = ContentSnapshot.read(in.readAllBytes(), mapper);
+            log.info("Loaded content snapshot with {} entries from {}", snapshot.size(), config.getPath());
+            return snapshot;
+        } catch (IOException e) {
+            // A broken snapshot only costs the parsing it was meant to save
+            log.warn("Ignoring content snapshot {}: {}", config.getPath(), e.getMessage());
+            return ContentSnapshot.empty();
+        }
+    }
+}
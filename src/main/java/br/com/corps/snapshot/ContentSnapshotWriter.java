@@ -0,0 +1,110 @@
+package br.com.corps.snapshot;
+
+import br.com.corps.model.Plugin;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the binary layout read by {@link ContentSnapshot}.
+ * <p>
+ * All integers are big-endian. The file starts with the magic number and the format version,
+ * followed by the index (count, then the kind, the UTF-8 length and bytes of the key, and the body
+ * offset and length of every entry) and the entry bodies. Every body is a Smile document written
+ * by a copy of the application mapper, so the stored content follows the Jackson model as is.
+ */
+final class ContentSnapshotWriter {
+
+    private final ObjectWriter plugins;
+    private final ObjectWriter translations;
+    private final List<Entry> entries = new ArrayList<>();
+    private final ByteArrayOutputStream bodies = new ByteArrayOutputStream();
+
+    /**
+     * @param mapper the application mapper, whose settings the content is encoded with
+     */
+    ContentSnapshotWriter(ObjectMapper mapper) {
+        ObjectMapper smile = ContentSnapshot.smileMapper(mapper);
+        this.plugins = smile.writerFor(ContentSnapshot.PLUGINS);
+        this.translations = smile.writerFor(ContentSnapshot.TRANSLATIONS);
+    }
+
+    /**
+     * Add a plugin catalog
+     *
+     * @param contentHash hex SHA-256 of the catalog JSON
+     * @param catalog the top-level plugins of the catalog
+     * @throws IOException if the plugins cannot be encoded
+     */
+    void addCatalog(String contentHash, List<Plugin> catalog) throws IOException {
+        add(ContentSnapshot.CATALOG, contentHash, plugins.writeValueAsBytes(catalog));
+    }
+
+    /**
+     * Add a plugin document
+     *
+     * @param path classpath path of the document
+     * @param document the top-level plugins of the document
+     * @throws IOException if the plugins cannot be encoded
+     */
+    void addDocument(String path, List<Plugin> document) throws IOException {
+        add(ContentSnapshot.DOCUMENT, path, plugins.writeValueAsBytes(document));
+    }
+
+    /**
+     * Add a translation bundle
+     *
+     * @param path classpath path of the bundle
+     * @param bundle the translations of the bundle
+     * @throws IOException if the translations cannot be encoded
+     */
+    void addBundle(String path, Map<String, String> bundle) throws IOException {
+        add(ContentSnapshot.BUNDLE, path, translations.writeValueAsBytes(bundle));
+    }
+
+    /**
+     * Write the snapshot
+     *
+     * @param target stream the snapshot is written to, left open
+     * @throws IOException if the stream fails
+     */
+    void writeTo(OutputStream target) throws IOException {
+        DataOutputStream file = new DataOutputStream(target);
+        file.writeInt(ContentSnapshot.MAGIC);
+        file.writeInt(ContentSnapshot.VERSION);
+        file.writeInt(entries.size());
+        for (Entry entry : entries) {
+            byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+            file.writeByte(entry.kind());
+            file.writeInt(key.length);
+            file.write(key);
+            file.writeInt(entry.offset());
+            file.writeInt(entry.length());
+        }
+        bodies.writeTo(file);
+        file.flush();
+    }
+
+    /**
+     * @return number of entries added so far
+     */
+    int entryCount() {
+        return entries.size();
+    }
+
+    private void add(byte kind, String key, byte[] body) {
+        entries.add(new Entry(kind, key, bodies.size(), body.length));
+        bodies.writeBytes(body);
+    }
+
+    private record Entry(byte kind, String key, int offset, int length) {
+    }
+}
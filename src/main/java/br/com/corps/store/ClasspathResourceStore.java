@@ -0,0 +1,46 @@
+package br.com.corps.store;
+
+import br.com.corps.config.StoreConfig;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.core.io.scan.ClassPathResourceLoader;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Store reading resources packaged in the application
+ */
+@Singleton
+@Requires(property = "app.store.type", value = "classpath", defaultValue = "classpath")
+public class ClasspathResourceStore implements ResourceStore {
+
+    private final ClassPathResourceLoader loader;
+    private final String root;
+
+    public ClasspathResourceStore(ResourceResolver resolver, StoreConfig config) {
+        this.loader = resolver.getLoader(ClassPathResourceLoader.class).orElseThrow();
+        this.root = config.getClasspathRoot();
+    }
+
+    @Override
+    public CompletableFuture<Optional<byte[]>> fetch(String key) {
+        Optional<InputStream> resourceStream = loader.getResourceAsStream(root + key);
+        if (resourceStream.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        try (InputStream is = resourceStream.get()) {
+            return CompletableFuture.completedFuture(Optional.of(is.readAllBytes()));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public String classpathPath(String key) {
+        return root + key;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.corps.store;
+
+import br.com.corps.config.StoreConfig;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Store reading resources from a local directory, so content can be updated without a new build
+ */
+@Singleton
+@Slf4j
+@Requires(property = "app.store.type", value = "filesystem")
+public class FileSystemResourceStore implements ResourceStore {
+
+    private final Path root;
+
+    @Inject
+    public FileSystemResourceStore(StoreConfig config) {
+        this(Path.of(config.getFileSystemRoot()));
+    }
+
+    public FileSystemResourceStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public CompletableFuture<Optional<byte[]>> fetch(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root)) {
+            log.warn("Rejected resource key outside of the store root: {}", key);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        AsynchronousFileChannel channel;
+        long size;
+        try {
+            channel = AsynchronousFileChannel.open(file, StandardOpenOption.READ);
+            size = channel.size();
+        } catch (NoSuchFileException e) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (size > Integer.MAX_VALUE) {
+            closeQuietly(channel);
+            return CompletableFuture.failedFuture(new IOException("Resource too large: " + file));
+        }
+
+        CompletableFuture<Optional<byte[]>> result = new CompletableFuture<>();
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        channel.read(buffer, 0, buffer, new CompletionHandler<>() {
+            @Override
+            public void completed(Integer read, ByteBuffer attachment) {
+                if (read >= 0 && attachment.hasRemaining()) {
+                    // Large files may need several reads
+                    channel.read(attachment, attachment.position(), attachment, this);
+                    return;
+                }
+                closeQuietly(channel);
+                // A file truncated while it was read ends before the buffer is full
+                byte[] content = attachment.hasRemaining()
+                        ? Arrays.copyOf(attachment.array(), attachment.position())
+                        : attachment.array();
+                result.complete(Optional.of(content));
+            }
+
+            @Override
+            public void failed(Throwable e, ByteBuffer attachment) {
+                closeQuietly(channel);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the directory holding the resources
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error closing {}: {}", channel, e.getMessage());
+        }
+    }
+}
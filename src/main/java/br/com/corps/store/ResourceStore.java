@@ -0,0 +1,50 @@
+package br.com.corps.store;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Source of content resources, addressed by a slash separated key such as
+ * {@code exclusive-area/black/home/pt-BR.json}
+ */
+public interface ResourceStore {
+
+    /**
+     * Fetch a resource without blocking the caller
+     *
+     * @param key the resource key
+     * @return future of the resource content, empty if the resource does not exist
+     */
+    CompletableFuture<Optional<byte[]>> fetch(String key);
+
+    /**
+     * @param key the resource key
+     * @return classpath path of the resource when it is packaged in the application, otherwise null
+     */
+    default String classpathPath(String key) {
+        return null;
+    }
+
+    /**
+     * Fetch a resource and wait for its content.
+     * <p>
+     * Blocks the calling thread, so it is only meant for callers off the request path, such as
+     * tools and tests; services compose {@link #fetch(String)} instead.
+     *
+     * @param key the resource key
+     * @return the resource content, empty if the resource does not exist
+     * @throws IOException if the resource could not be read
+     */
+    default Optional<byte[]> read(String key) throws IOException {
+        try {
+            return fetch(key).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+}
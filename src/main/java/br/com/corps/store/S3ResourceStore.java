@@ -0,0 +1,186 @@
+package br.com.corps.store;
+
+import br.com.corps.cache.BoundedCache;
+import br.com.corps.config.S3StoreConfig;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Store reading resources from an S3-compatible object store such as AWS S3 or MinIO.
+ * <p>
+ * Requests are sent with the asynchronous JDK HTTP client, at most {@code maxConcurrency} at
+ * a time; further requests wait in a queue without holding a thread. The ETag of the last
+ * {@code maxCachedObjects} objects fetched is kept with their content, so fetching an unchanged
+ * object again is a conditional GET answered with {@code 304 Not Modified} and no body.
+ */
+@Singleton
+@Slf4j
+@Requires(property = "app.store.type", value = "s3")
+public class S3ResourceStore implements ResourceStore {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final S3StoreConfig config;
+    private final SigV4Signer signer;
+    private final Clock clock;
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final BoundedCache<String, StoredObject> objects;
+
+    @Inject
+    public S3ResourceStore(S3StoreConfig config) {
+        this(config, HttpClient.newBuilder().connectTimeout(config.getRequestTimeout()).build(), Clock.systemUTC());
+    }
+
+    S3ResourceStore(S3StoreConfig config, HttpClient client, Clock clock) {
+        if (config.getEndpoint() == null || config.getBucket() == null) {
+            throw new IllegalArgumentException("app.store.s3.endpoint and app.store.s3.bucket are required");
+        }
+        if (config.getMaxConcurrency() <= 0) {
+            throw new IllegalArgumentException("app.store.s3.maxConcurrency must be positive");
+        }
+        if (config.getMaxCachedObjects() <= 0) {
+            throw new IllegalArgumentException("app.store.s3.maxCachedObjects must be positive");
+        }
+        this.client = client;
+        this.config = config;
+        this.baseUrl = stripTrailingSlash(config.getEndpoint()) + "/" + encodePath(config.getBucket()) + "/";
+        boolean signed = config.getAccessKey() != null && !config.getAccessKey().isEmpty();
+        this.signer = signed ? new SigV4Signer(config.getAccessKey(), config.getSecretKey(), config.getRegion()) : null;
+        this.clock = clock;
+        this.permits = new Semaphore(config.getMaxConcurrency());
+        this.objects = new BoundedCache<>("s3-objects", config.getMaxCachedObjects());
+    }
+
+    @Override
+    public CompletableFuture<Optional<byte[]>> fetch(String key) {
+        return limited(() -> send(key));
+    }
+
+    private CompletableFuture<Optional<byte[]>> send(String key) {
+        URI uri = URI.create(baseUrl + encodePath(key));
+        StoredObject stored = objects.get(key);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(config.getRequestTimeout())
+                .GET();
+        if (stored != null) {
+            request.header("If-None-Match", stored.etag());
+        }
+        if (signer != null) {
+            Map<String, String> signedHeaders = new LinkedHashMap<>();
+            signedHeaders.put("host", SigV4Signer.host(uri));
+            signedHeaders.put("x-amz-content-sha256", SigV4Signer.EMPTY_PAYLOAD_HASH);
+            signedHeaders.put("x-amz-date", SigV4Signer.amzDate(clock.instant()));
+            request.header("x-amz-content-sha256", signedHeaders.get("x-amz-content-sha256"));
+            request.header("x-amz-date", signedHeaders.get("x-amz-date"));
+            request.header("Authorization",
+                    signer.authorization("GET", uri, signedHeaders, SigV4Signer.EMPTY_PAYLOAD_HASH));
+        }
+
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenCompose(response -> handle(key, stored, response));
+    }
+
+    private CompletableFuture<Optional<byte[]>> handle(String key, StoredObject stored, HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status == 304 && stored != null) {
+            return CompletableFuture.completedFuture(Optional.of(stored.body()));
+        }
+        if (status == 404) {
+            objects.invalidate(key);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (status != 200) {
+            return CompletableFuture.failedFuture(
+                    new IOException("Unexpected status " + status + " fetching " + response.uri()));
+        }
+
+        byte[] body = response.body();
+        Optional<String> etag = response.headers().firstValue("ETag");
+        if (etag.isPresent()) {
+            objects.put(key, new StoredObject(etag.get(), body));
+        } else {
+            objects.invalidate(key);
+        }
+        return CompletableFuture.completedFuture(Optional.of(body));
+    }
+
+    /**
+     * Run an asynchronous call once one of the concurrency permits is free
+     */
+    private <T> CompletableFuture<T> limited(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> running;
+            try {
+                running = call.get();
+            } catch (RuntimeException e) {
+                running = CompletableFuture.failedFuture(e);
+            }
+            running.whenComplete((value, error) -> {
+                permits.release();
+                drain();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                // Another thread started the last waiting call, every later call drains again
+                permits.release();
+                return;
+            }
+            next.run();
+        }
+    }
+
+    private static String encodePath(String path) {
+        StringBuilder encoded = new StringBuilder(path.length());
+        for (String segment : path.split("/", -1)) {
+            if (encoded.length() > 0 || path.startsWith("/")) {
+                encoded.append('/');
+            }
+            encoded.append(URLEncoder.encode(segment, StandardCharsets.UTF_8)
+                    .replace("+", "%20")
+                    .replace("*", "%2A")
+                    .replace("%7E", "~"));
+        }
+        return encoded.toString();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private record StoredObject(String etag, byte[] body) {
+    }
+}
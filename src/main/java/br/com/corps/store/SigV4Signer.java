@@ -0,0 +1,115 @@
+package br.com.corps.store;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * AWS Signature Version 4 signer for S3 requests without a query string
+ */
+final class SigV4Signer {
+
+    static final String EMPTY_PAYLOAD_HASH = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SERVICE = "s3";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    SigV4Signer(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * Format a timestamp as the {@code x-amz-date} header value
+     */
+    static String amzDate(Instant time) {
+        return AMZ_DATE.format(time);
+    }
+
+    /**
+     * Value of the {@code Host} header sent for a URI
+     */
+    static String host(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("http".equals(uri.getScheme()) && port == 80)
+                || ("https".equals(uri.getScheme()) && port == 443);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Compute the {@code Authorization} header of a request
+     *
+     * @param method HTTP method
+     * @param uri request URI, its raw path must already be encoded
+     * @param headers headers to sign, including host, x-amz-date and x-amz-content-sha256
+     * @param payloadHash hex SHA-256 of the request body
+     * @return the Authorization header value
+     */
+    String authorization(String method, URI uri, Map<String, String> headers, String payloadHash) {
+        SortedMap<String, String> canonicalHeaders = new TreeMap<>();
+        headers.forEach((name, value) -> canonicalHeaders.put(name.toLowerCase(), value.trim()));
+        String amzDate = canonicalHeaders.get("x-amz-date");
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/" + SERVICE + "/aws4_request";
+
+        StringBuilder headerBlock = new StringBuilder();
+        canonicalHeaders.forEach((name, value) -> headerBlock.append(name).append(':').append(value).append('\n'));
+        String signedHeaders = String.join(";", canonicalHeaders.keySet());
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+
+        String canonicalRequest = method + '\n'
+                + path + '\n'
+                + (uri.getRawQuery() == null ? "" : uri.getRawQuery()) + '\n'
+                + headerBlock + '\n'
+                + signedHeaders + '\n'
+                + payloadHash;
+        String stringToSign = ALGORITHM + '\n' + amzDate + '\n' + scope + '\n' + sha256Hex(canonicalRequest);
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, SERVICE);
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders
+                + ", Signature=" + signature;
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String sha256Hex(String data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
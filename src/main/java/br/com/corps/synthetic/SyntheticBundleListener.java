@@ -0,0 +1,35 @@
+package br.com.corps.synthetic;
+
+import br.com.corps.config.LanguageConfig;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Points the translation bundles at the generated ones
+ */
+@Singleton
+@Slf4j
+@Requires(property = "sdui.synthetic.enabled", value = "true")
+public class SyntheticBundleListener implements BeanCreatedEventListener<LanguageConfig> {
+
+    private final SyntheticContentInstaller installer;
+
+    public SyntheticBundleListener(SyntheticContentInstaller installer) {
+        this.installer = installer;
+    }
+
+    @Override
+    public LanguageConfig onCreated(BeanCreatedEvent<LanguageConfig> event) {
+        LanguageConfig config = event.getBean();
+        config.setBundlePath("file:" + installer.install().resolve(SyntheticContent.BUNDLE_DIR));
+        for (String language : installer.languages()) {
+            if (!config.isSupported(language)) {
+                log.warn("Synthetic language {} is not in app.language.supported-languages and will not be served", language);
+            }
+        }
+        return config;
+    }
+}
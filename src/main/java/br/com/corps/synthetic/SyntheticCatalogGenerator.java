@@ -0,0 +1,219 @@
+package br.com.corps.synthetic;
+
+import br.com.corps.config.SyntheticConfig;
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Modifier;
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginContainer;
+import br.com.corps.model.Points;
+import br.com.corps.model.Style;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generator of plugin catalogs, card benefits and matching translation bundles of any size, to see how
+ * the endpoints scale with the amount of content.
+ * <p>
+ * Generation is deterministic: the same configuration always produces the same content.
+ */
+public final class SyntheticCatalogGenerator {
+
+    /**
+     * Languages bundles are generated for, in order
+     */
+    public static final List<String> LANGUAGES = List.of("pt-BR", "en-US", "es-ES", "fr-FR", "de-DE", "it-IT", "ja-JP", "zh-CN");
+
+    /**
+     * Prefix of the features of the catalog plugins, followed by the position of the plugin in its tree
+     */
+    public static final String FEATURE_PREFIX = "feature-";
+
+    /**
+     * Card type the catalog benefits are labelled and translated with
+     */
+    private static final String CATALOG_PROFILE = "black";
+
+    private static final String POINTS_TYPE = "points-summary-plugin";
+    private static final String[] TYPES = {"card-benefits-plugin", POINTS_TYPE, "banner-plugin", "carousel-plugin"};
+    private static final String[] COLORS = {"#FFFFFF", "#EFEFEF", "#D4AF37", "#1A1A1A", "#E5E4E2"};
+    private static final String[] WORDS = {
+            "access", "airport", "lounge", "travel", "insurance", "concierge", "rewards", "cashback", "purchase",
+            "assistance", "emergency", "exclusive", "partner", "discount", "protection", "extended", "warranty",
+            "priority", "booking", "hotel", "upgrade", "points", "miles", "global", "service", "premium"
+    };
+
+    private final SyntheticConfig config;
+
+    public SyntheticCatalogGenerator(SyntheticConfig config) {
+        validate(config);
+        this.config = config;
+    }
+
+    /**
+     * Generate the catalog, the card benefits of every profile and the translation bundles of every
+     * profile and language
+     *
+     * @return the generated content
+     */
+    public SyntheticContent generate() {
+        Random random = new Random(config.getSeed());
+        List<String> languages = LANGUAGES.subList(0, config.getLanguages());
+
+        List<String> features = new ArrayList<>();
+        PluginContainer catalog = container("synthetic-catalog",
+                plugins(random, FEATURE_PREFIX, label(CATALOG_PROFILE), features));
+
+        Map<String, PluginContainer> cardBenefits = new LinkedHashMap<>();
+        for (String profile : config.getProfiles()) {
+            cardBenefits.put(profile, container("synthetic-dashboard",
+                    plugins(random, profile + "-", label(profile), null)));
+        }
+
+        Map<String, Map<String, Map<String, String>>> bundles = new LinkedHashMap<>();
+        for (String profile : profiles()) {
+            Map<String, Map<String, String>> byLanguage = new LinkedHashMap<>();
+            for (String language : languages) {
+                byLanguage.put(language, bundle(random, language));
+            }
+            bundles.put(profile, Collections.unmodifiableMap(byLanguage));
+        }
+
+        return new SyntheticContent(catalog, Collections.unmodifiableMap(cardBenefits),
+                Collections.unmodifiableMap(bundles), languages, Collections.unmodifiableList(features));
+    }
+
+    /**
+     * @return the translation key of a key number
+     */
+    public static String key(int number) {
+        return "synthetic_benefit_" + number;
+    }
+
+    /**
+     * The catalog is always translated with the black bundles, so they are generated even when black
+     * is not one of the card benefit profiles
+     */
+    private List<String> profiles() {
+        List<String> profiles = new ArrayList<>(config.getProfiles());
+        if (!profiles.contains(CATALOG_PROFILE)) {
+            profiles.add(0, CATALOG_PROFILE);
+        }
+        return profiles;
+    }
+
+    private List<Plugin> plugins(Random random, String featurePrefix, String label, List<String> features) {
+        List<Plugin> roots = new ArrayList<>(config.getPlugins());
+        for (int i = 0; i < config.getPlugins(); i++) {
+            roots.add(plugin(random, featurePrefix + i, 0, label, features));
+        }
+        return roots;
+    }
+
+    private Plugin plugin(Random random, String feature, int level, String label, List<String> features) {
+        String type = TYPES[random.nextInt(TYPES.length)];
+        Plugin.PluginBuilder plugin = Plugin.builder()
+                .type(type)
+                .feature(feature)
+                .modifier(Modifier.builder().padding("16dp").margin("12dp").alignment("center").build())
+                .style(Style.builder()
+                        .backgroundColor(COLORS[random.nextInt(COLORS.length)])
+                        .borderRadius("8dp")
+                        .textColor("#333333")
+                        .shadow(random.nextBoolean())
+                        .fontFamily("Roboto")
+                        .build())
+                .benefits(groups(random, label));
+        if (POINTS_TYPE.equals(type)) {
+            plugin.points(new Points(random.nextInt(100_000), "2025-07-14T15:32:00Z", "pontos"));
+        }
+        if (features != null) {
+            features.add(feature);
+        }
+
+        if (level < config.getDepth()) {
+            List<Plugin> children = new ArrayList<>(config.getChildrenPerPlugin());
+            for (int c = 0; c < config.getChildrenPerPlugin(); c++) {
+                children.add(plugin(random, feature + "-" + c, level + 1, label, features));
+            }
+            plugin.children(children);
+        }
+        return plugin.build();
+    }
+
+    private List<BenefitGroup> groups(Random random, String label) {
+        List<BenefitGroup> groups = new ArrayList<>(config.getBenefitGroups());
+        for (int g = 0; g < config.getBenefitGroups(); g++) {
+            List<Benefit> benefits = new ArrayList<>(config.getBenefitsPerGroup());
+            for (int b = 0; b < config.getBenefitsPerGroup(); b++) {
+                String text = random.nextDouble() < config.getKeyDensity()
+                        ? "key:" + key(random.nextInt(config.getKeys()))
+                        : sentence(random);
+                benefits.add(new Benefit(text, "https://cdn.example.com/icons/" + random.nextInt(64) + ".svg"));
+            }
+            groups.add(new BenefitGroup(label, benefits));
+        }
+        return groups;
+    }
+
+    private Map<String, String> bundle(Random random, String language) {
+        Map<String, String> translations = new LinkedHashMap<>();
+        for (int i = 0; i < config.getKeys(); i++) {
+            translations.put(key(i), "[" + language + "] " + sentence(random));
+        }
+        return Collections.unmodifiableMap(translations);
+    }
+
+    private static String sentence(Random random) {
+        int length = 4 + random.nextInt(9);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (i == 0) {
+                sentence.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                sentence.append(' ').append(word);
+            }
+        }
+        return sentence.toString();
+    }
+
+    private static PluginContainer container(String feature, List<Plugin> children) {
+        return PluginContainer.builder()
+                .type("container")
+                .feature(feature)
+                .children(children)
+                .build();
+    }
+
+    private static String label(String profile) {
+        return profile.isEmpty() ? profile : profile.substring(0, 1).toUpperCase(Locale.ROOT) + profile.substring(1);
+    }
+
+    private static void validate(SyntheticConfig config) {
+        if (config.getPlugins() < 0 || config.getDepth() < 0 || config.getChildrenPerPlugin() < 0
+                || config.getBenefitGroups() < 0 || config.getBenefitsPerGroup() < 0) {
+            throw new IllegalArgumentException("Synthetic catalog sizes must not be negative");
+        }
+        if (config.getKeyDensity() < 0 || config.getKeyDensity() > 1) {
+            throw new IllegalArgumentException("Synthetic key density must be between 0 and 1: " + config.getKeyDensity());
+        }
+        if (config.getKeys() < 1) {
+            throw new IllegalArgumentException("Synthetic bundles need at least one key");
+        }
+        if (config.getLanguages() < 1 || config.getLanguages() > LANGUAGES.size()) {
+            throw new IllegalArgumentException("Synthetic language count must be between 1 and " + LANGUAGES.size());
+        }
+        for (String profile : config.getProfiles()) {
+            if (!profile.matches("[a-z0-9_-]+")) {
+                throw new IllegalArgumentException("Invalid synthetic card profile: " + profile);
+            }
+        }
+    }
+}
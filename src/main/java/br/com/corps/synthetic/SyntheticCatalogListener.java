@@ -0,0 +1,28 @@
+package br.com.corps.synthetic;
+
+import br.com.corps.Configuration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Singleton;
+
+/**
+ * Points the plugin catalog at the generated one
+ */
+@Singleton
+@Requires(property = "sdui.synthetic.enabled", value = "true")
+public class SyntheticCatalogListener implements BeanCreatedEventListener<Configuration> {
+
+    private final SyntheticContentInstaller installer;
+
+    public SyntheticCatalogListener(SyntheticContentInstaller installer) {
+        this.installer = installer;
+    }
+
+    @Override
+    public Configuration onCreated(BeanCreatedEvent<Configuration> event) {
+        Configuration config = event.getBean();
+        config.setJsonPath("file:" + installer.install().resolve(SyntheticContent.CATALOG_FILE));
+        return config;
+    }
+}
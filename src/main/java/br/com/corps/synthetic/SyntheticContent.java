@@ -0,0 +1,66 @@
+package br.com.corps.synthetic;
+
+import br.com.corps.model.PluginContainer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content produced by the {@link SyntheticCatalogGenerator}
+ *
+ * @param catalog the plugin catalog, translated with the black bundles
+ * @param cardBenefits the card benefits of every profile, the same for every language
+ * @param bundles the translation bundles by card type and language
+ * @param languages the languages bundles were generated for
+ * @param features the features of every catalog plugin, nested ones included
+ */
+public record SyntheticContent(PluginContainer catalog,
+                               Map<String, PluginContainer> cardBenefits,
+                               Map<String, Map<String, Map<String, String>>> bundles,
+                               List<String> languages,
+                               List<String> features) {
+
+    /**
+     * Catalog file, relative to the content root
+     */
+    public static final String CATALOG_FILE = "sdui-plugins.json";
+
+    /**
+     * Directory of the translation bundles, relative to the content root
+     */
+    public static final String BUNDLE_DIR = "i18n";
+
+    /**
+     * Write the content with the layout the application reads it from: the catalog file, the
+     * translation bundles as {@code i18n/<card type>/<language>.json} and the card benefits as
+     * {@code exclusive-area/<profile>/home/<language>.json}, so the root can be used as a
+     * file system content store
+     *
+     * @param root the directory to write to
+     * @param mapper the object mapper
+     * @throws IOException if a file cannot be written
+     */
+    public void writeTo(Path root, ObjectMapper mapper) throws IOException {
+        Files.createDirectories(root);
+        mapper.writeValue(root.resolve(CATALOG_FILE).toFile(), catalog);
+
+        for (Map.Entry<String, Map<String, Map<String, String>>> profile : bundles.entrySet()) {
+            Path dir = Files.createDirectories(root.resolve(BUNDLE_DIR).resolve(profile.getKey()));
+            for (Map.Entry<String, Map<String, String>> bundle : profile.getValue().entrySet()) {
+                mapper.writeValue(dir.resolve(bundle.getKey() + ".json").toFile(), bundle.getValue());
+            }
+        }
+
+        for (Map.Entry<String, PluginContainer> profile : cardBenefits.entrySet()) {
+            Path dir = Files.createDirectories(root.resolve("exclusive-area").resolve(profile.getKey()).resolve("home"));
+            byte[] content = mapper.writeValueAsBytes(profile.getValue());
+            for (String language : languages) {
+                Files.write(dir.resolve(language + ".json"), content);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.corps.synthetic;
+
+import br.com.corps.config.SyntheticConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Generates the synthetic content once and writes it to disk when {@code sdui.synthetic.enabled} is set
+ */
+@Singleton
+@Slf4j
+@Requires(property = "sdui.synthetic.enabled", value = "true")
+public class SyntheticContentInstaller {
+
+    private final SyntheticConfig config;
+    private final ObjectMapper mapper;
+    private Path root;
+    private List<String> languages;
+
+    public SyntheticContentInstaller(SyntheticConfig config, ObjectMapper mapper) {
+        this.config = config;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Get the directory of the generated content, generating it on the first call
+     *
+     * @return the content root
+     */
+    public synchronized Path install() {
+        if (root == null) {
+            try {
+                Path dir = config.getOutputDir() != null
+                        ? Path.of(config.getOutputDir())
+                        : Files.createTempDirectory("sdui-synthetic");
+                SyntheticContent content = new SyntheticCatalogGenerator(config).generate();
+                content.writeTo(dir, mapper);
+                languages = content.languages();
+                root = dir;
+                log.info("Generated synthetic content with {} catalog features, {} card profiles and {} languages in {}",
+                        content.features().size(), content.cardBenefits().size(), languages.size(), dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write synthetic content", e);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @return the languages bundles were generated for
+     */
+    public synchronized List<String> languages() {
+        install();
+        return languages;
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.corps.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    void testHitAndMissCounters() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+
+        assertNull(cache.get("a"));
+        cache.put("a", "value-a");
+        assertEquals("value-a", cache.get("a"));
+        assertEquals("value-a", cache.get("a"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(2.0 / 3.0, stats.hitRatio(), 0.0001);
+    }
+
+    @Test
+    void testReplaceOnlyCachedEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        cache.put("a", "value-a");
+
+        assertTrue(cache.replace("a", "new-a"));
+        assertFalse(cache.replace("b", "new-b"));
+
+        assertEquals("new-a", cache.peek("a"));
+        assertNull(cache.peek("b"));
+        assertEquals(Set.of("a"), cache.keys());
+    }
+
+    @Test
+    void testPeekIsNotCounted() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+
+        assertNull(cache.peek("a"));
+        cache.put("a", "value-a");
+        assertEquals("value-a", cache.peek("a"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(0, stats.hits());
+        assertEquals(0, stats.misses());
+    }
+
+    @Test
+    void testLoaderIsOnlyCalledOnMiss() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("A", cache.get("a", key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        }));
+        assertEquals("A", cache.get("a", key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        }));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testOldestEntriesAreEvictedFirst() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 2);
+
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(1));
+        assertEquals(2, cache.get(2));
+        assertEquals(3, cache.get(3));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testInvalidation() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidatedEntriesLeaveTheEvictionOrder() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 3);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+
+        cache.invalidate(1);
+        cache.put(4, 4);
+        cache.put(5, 5);
+
+        assertEquals(Set.of(3, 4, 5), cache.keys());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testConcurrentPutsAndInvalidationsKeepTheOrderConsistent() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                writers.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = (i * 31 + seed) % 6;
+                        if (i % 3 == 0) {
+                            cache.invalidate(key);
+                        } else {
+                            cache.put(key, i);
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.size() <= 4);
+        // Every key left in the order is a cached entry, so fresh keys evict exactly the old ones
+        for (int key = 100; key < 104; key++) {
+            cache.put(key, key);
+        }
+        assertEquals(Set.of(100, 101, 102, 103), cache.keys());
+    }
+
+    @Test
+    void testPutIfCurrentDropsValuesLoadedBeforeAnInvalidation() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+
+        long generation = cache.generation();
+        cache.invalidateAll();
+        assertFalse(cache.putIfCurrent("a", "stale", generation));
+        assertNull(cache.peek("a"));
+
+        assertTrue(cache.putIfCurrent("a", "fresh", cache.generation()));
+        assertEquals("fresh", cache.peek("a"));
+    }
+
+    @Test
+    void testInvalidateLoadsKeepsEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+        cache.put("a", "1");
+
+        long generation = cache.generation();
+        cache.invalidateLoads();
+
+        assertFalse(cache.putIfCurrent("b", "stale", generation));
+        assertEquals(Set.of("a"), cache.keys());
+    }
+
+    @Test
+    void testInvalidMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>("test", 0));
+    }
+
+    @Test
+    void testLoadRacingInvalidationIsNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 4);
+
+        assertEquals("stale", cache.get("a", key -> {
+            cache.invalidateAll();
+            return "stale";
+        }));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.corps.cache;
+
+import br.com.corps.config.CacheConfig;
+import br.com.corps.metrics.ServerTiming;
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Plugin;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.http.MediaType;
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final ResponseCache responseCache = new ResponseCache(new CacheConfig(), objectMapper);
+
+    @Test
+    void testEveryFormatDecodesToTheSameTree() throws Exception {
+        List<Plugin> plugins = plugins();
+        String json = objectMapper.writeValueAsString(plugins);
+
+        assertEquals(objectMapper.readTree(json), decode(ResponseFormat.COMPACT_JSON, new JsonFactory(), plugins));
+        assertEquals(objectMapper.readTree(json), decode(ResponseFormat.SMILE, new SmileFactory(), plugins));
+        assertEquals(objectMapper.readTree(json), decode(ResponseFormat.CBOR, new CBORFactory(), plugins));
+        assertEquals(objectMapper.readTree(json), decode(ResponseFormat.MESSAGE_PACK, new MessagePackFactory(), plugins));
+    }
+
+    @Test
+    void testFormatsAreCachedSeparately() {
+        List<Plugin> plugins = plugins();
+        CachedPayload json = responseCache.getOrRender(key(ResponseFormat.JSON), () -> plugins);
+        CachedPayload compact = responseCache.getOrRender(key(ResponseFormat.COMPACT_JSON), () -> plugins);
+
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, json.contentType());
+        assertEquals(ResponseFormat.COMPACT_JSON_TYPE, compact.contentType().toString());
+        assertTrue(compact.body().length < json.body().length);
+        assertNotEquals(json.etag(), compact.etag());
+        assertSame(compact, responseCache.get(key(ResponseFormat.COMPACT_JSON)));
+    }
+
+    @Test
+    void testAsyncRenderIsCached() {
+        CachedPayload payload = responseCache.getOrRenderAsync(key(ResponseFormat.JSON),
+                () -> CompletableFuture.completedFuture(plugins()), ServerTiming.DISABLED).join();
+
+        assertSame(payload, responseCache.get(key(ResponseFormat.JSON)));
+    }
+
+    @Test
+    void testAsyncRenderRacingInvalidationIsNotCached() {
+        CompletableFuture<Object> source = new CompletableFuture<>();
+        CompletableFuture<CachedPayload> rendering = responseCache.getOrRenderAsync(key(ResponseFormat.JSON),
+                () -> source, ServerTiming.DISABLED);
+
+        // The content the source read may predate the reload that invalidated the cache
+        responseCache.invalidateAll();
+        source.complete(plugins());
+
+        assertNotNull(rendering.join());
+        assertNull(responseCache.get(key(ResponseFormat.JSON)));
+    }
+
+    @Test
+    void testUnsupportedContentType() {
+        ResponseKey key = new ResponseKey("cards", "gold", "en-US", MediaType.TEXT_HTML);
+
+        assertThrows(IllegalArgumentException.class, () -> responseCache.getOrRender(key, this::plugins));
+    }
+
+    private Object decode(ResponseFormat format, JsonFactory factory, Object body) throws Exception {
+        CachedPayload payload = responseCache.getOrRender(key(format), () -> body);
+        assertEquals(format.getMediaType(), payload.contentType().toString());
+        return new ObjectMapper(factory).readTree(payload.body());
+    }
+
+    private ResponseKey key(ResponseFormat format) {
+        return new ResponseKey("cards", "gold", "en-US", format.getMediaType());
+    }
+
+    private List<Plugin> plugins() {
+        Plugin child = Plugin.builder()
+                .type("text")
+                .benefits(List.of(new BenefitGroup("gold", List.of(new Benefit("Sala VIP \u00e9 gr\u00e1tis", "lounge")))))
+                .build();
+        Plugin plugin = Plugin.builder()
+                .type("card")
+                .feature("gold-benefits")
+                .children(List.of(child))
+                .build();
+        return List.of(plugin);
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.corps.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseFormatTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "application/json|JSON",
+        "*/*|JSON",
+        "text/html, application/*|JSON",
+        "application/x-jackson-smile|SMILE",
+        "application/cbor, application/json;q=0.9|CBOR",
+        "application/json;q=0.5, application/msgpack|MESSAGE_PACK",
+        "application/x-msgpack|MESSAGE_PACK",
+        "APPLICATION/CBOR|CBOR",
+        "application/vnd.sdui.compact+json|COMPACT_JSON",
+        "application/cbor;q=0, application/x-jackson-smile;q=0.1|SMILE",
+        "application/cbor;q=0|JSON",
+        "application/x-jackson-smile, application/cbor|SMILE"
+    })
+    void testNegotiate(String accept, ResponseFormat expected) {
+        assertEquals(expected, ResponseFormat.negotiate(accept));
+    }
+
+    @Test
+    void testNegotiateWithoutHeader() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(""));
+    }
+
+    @Test
+    void testOf() {
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.of(ResponseFormat.CBOR_TYPE));
+        assertEquals(ResponseFormat.MESSAGE_PACK, ResponseFormat.of("application/vnd.msgpack"));
+        assertNull(ResponseFormat.of("text/html"));
+    }
+}
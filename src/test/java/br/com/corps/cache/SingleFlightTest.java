@@ -0,0 +1,121 @@
+package br.com.corps.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.load("a", key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return key.toUpperCase();
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.load("a", key -> {
+                    loads.incrementAndGet();
+                    return key.toUpperCase();
+                })));
+            }
+            while (singleFlight.stats().coalesced() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("A", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SingleFlightStats stats = singleFlight.stats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.loads());
+        assertEquals(callers - 1, stats.coalesced());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.load("a", key -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("A", singleFlight.load("a", String::toUpperCase));
+
+        SingleFlightStats stats = singleFlight.stats();
+        assertEquals(2, stats.loads());
+        assertEquals(1, stats.failures());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    void testAsyncCallersShareOneFuture() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+        CompletableFuture<String> fetch = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.loadAsync("a", key -> fetch);
+        CompletableFuture<String> second = singleFlight.loadAsync("a", key -> CompletableFuture.completedFuture("other"));
+
+        assertSame(first, second);
+        assertFalse(first.isDone(), "No caller waits for the load");
+        fetch.complete("A");
+        assertEquals("A", second.get(5, TimeUnit.SECONDS));
+
+        SingleFlightStats stats = singleFlight.stats();
+        assertEquals(1, stats.loads());
+        assertEquals(1, stats.coalesced());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    void testAsyncFailuresAreNotCached() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+
+        CompletableFuture<String> failed = singleFlight.loadAsync("a",
+                key -> CompletableFuture.supplyAsync(() -> {
+                    throw new IllegalStateException("boom");
+                }));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals("A", singleFlight.loadAsync("a", key -> CompletableFuture.completedFuture("A")).get(5, TimeUnit.SECONDS));
+
+        SingleFlightStats stats = singleFlight.stats();
+        assertEquals(2, stats.loads());
+        assertEquals(1, stats.failures());
+        assertEquals(0, stats.inFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
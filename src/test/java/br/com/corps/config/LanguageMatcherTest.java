@@ -0,0 +1,70 @@
+package br.com.corps.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LanguageMatcherTest {
+
+    private final LanguageMatcher matcher = LanguageMatcher.compile(List.of("pt-BR", "en-US", "es-ES"));
+
+    @Test
+    void testMatchIgnoresCase() {
+        assertEquals("pt-BR", matcher.match("PT-br"));
+        assertEquals("en-US", matcher.match("EN"));
+        assertEquals("es-ES", matcher.match("Es"));
+        assertEquals("en-US", matcher.match("en-us"));
+    }
+
+    @Test
+    void testPrefixMatchesFirstSupportedLanguage() {
+        assertEquals("pt-BR", matcher.match(""));
+        assertEquals("en-US", matcher.match("e"));
+        assertNull(matcher.match("fr-FR"));
+        assertNull(matcher.match("de-DE"));
+        assertNull(matcher.match("en-US-x"));
+    }
+
+    @Test
+    void testExactMatchWinsOverEarlierPrefix() {
+        LanguageMatcher regional = LanguageMatcher.compile(List.of("pt-BR", "pt", "en-GB", "en-US"));
+
+        assertEquals("pt", regional.match("PT"));
+        assertEquals("pt-BR", regional.match("pt-"));
+        assertEquals("en-GB", regional.match("en"));
+        assertEquals("en-US", regional.match("en-us"));
+    }
+
+    @Test
+    void testIsSupportedRespectsCase() {
+        assertTrue(matcher.isSupported("pt-BR"));
+        assertFalse(matcher.isSupported("pt-br"));
+        assertFalse(matcher.isSupported("pt"));
+        assertFalse(matcher.isSupported("fr-FR"));
+    }
+
+    @Test
+    void testReturnsCanonicalTags() {
+        String canonical = matcher.match("en");
+
+        assertSame(canonical, matcher.match("EN-US"));
+        assertSame(canonical, matcher.match("en-u"));
+    }
+
+    @Test
+    void testManyLanguages() {
+        List<String> languages = List.of("pt-BR", "pt-PT", "en-US", "en-GB", "es-ES", "es-MX", "fr-FR", "fr-CA",
+                "de-DE", "de-AT", "it-IT", "ja-JP", "zh-CN", "zh-TW", "ko-KR", "nl-NL", "sv-SE", "pl-PL");
+        LanguageMatcher many = LanguageMatcher.compile(languages);
+
+        for (String language : languages) {
+            assertEquals(language, many.match(language.toUpperCase()));
+            assertTrue(many.isSupported(language));
+        }
+        assertEquals("zh-CN", many.match("zh"));
+        assertEquals("fr-CA", many.match("FR-ca"));
+        assertNull(many.match("ru"));
+    }
+}
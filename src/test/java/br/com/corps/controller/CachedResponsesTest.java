@@ -0,0 +1,58 @@
+package br.com.corps.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class CachedResponsesTest {
+
+    private static final String ETAG = "\"0123456789abcdef\"";
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "\"0123456789abcdef\"|true",
+        "W/\"0123456789abcdef\"|true",
+        "\"other\", \"0123456789abcdef\"|true",
+        "\"other\" , W/\"0123456789abcdef\" |true",
+        "*|true",
+        "\"other\"|false",
+        "\"0123456789abcde\"|false",
+        "0123456789abcdef|false"
+    })
+    void testMatches(String ifNoneMatch, boolean expected) {
+        assertEquals(expected, CachedResponses.matches(ifNoneMatch, ETAG));
+    }
+
+    @Test
+    void testMatchesEmptyHeader() {
+        assertFalse(CachedResponses.matches(null, ETAG));
+        assertFalse(CachedResponses.matches("", ETAG));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "gzip|true",
+        "deflate, GZIP|true",
+        "x-gzip|true",
+        "br;q=1.0, gzip;q=0.8|true",
+        "*|true",
+        "*;q=0, gzip|true",
+        "gzip;q=0, *|false",
+        "gzip;q=0|false",
+        "gzip; q=0.000|false",
+        "deflate, br|false",
+        "identity|false"
+    })
+    void testAcceptsGzip(String acceptEncoding, boolean expected) {
+        assertEquals(expected, CachedResponses.acceptsGzip(acceptEncoding));
+    }
+
+    @Test
+    void testAcceptsGzipWithoutHeader() {
+        assertFalse(CachedResponses.acceptsGzip(null));
+        assertFalse(CachedResponses.acceptsGzip(""));
+    }
+}
@@ -3,7 +3,11 @@ package br.com.corps.controller;
 import br.com.corps.model.ApiResponse;
 import br.com.corps.model.Plugin;
 import br.com.corps.service.S3ResourceService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.test.annotation.MockBean;
@@ -12,11 +16,16 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @MicronautTest
@@ -32,6 +41,9 @@ public class CardBenefitsControllerTest {
     @Inject
     private CardBenefitsController controller;
 
+    @Inject
+    private ObjectMapper objectMapper;
+
     @MockBean(S3ResourceService.class)
     S3ResourceService s3ResourceService() {
         return mock(S3ResourceService.class);
@@ -41,42 +53,86 @@ public class CardBenefitsControllerTest {
     void setUp() {
         // Setup mock data for default language
         List<Plugin> mockPlugins = new ArrayList<>();
-        Plugin plugin = new Plugin();
-        plugin.setFeature("mastercard-benefits");
-        mockPlugins.add(plugin);
+        mockPlugins.add(Plugin.builder().feature("mastercard-benefits").build());
         
         // Configure mock for default language
-        when(s3ResourceService.loadCardBenefits("black", "pt-BR")).thenReturn(mockPlugins);
+        when(s3ResourceService.loadCardBenefitsAsync("black", "pt-BR")).thenReturn(CompletableFuture.completedFuture(mockPlugins));
         
         // Configure mock for English language
-        when(s3ResourceService.loadCardBenefits("black", "en-US")).thenReturn(mockPlugins);
+        when(s3ResourceService.loadCardBenefitsAsync("black", "en-US")).thenReturn(CompletableFuture.completedFuture(mockPlugins));
+
+        // Configure mocks used by the caching tests
+        when(s3ResourceService.loadCardBenefitsAsync("gold", "es-ES")).thenReturn(CompletableFuture.completedFuture(mockPlugins));
+        when(s3ResourceService.loadCardBenefitsAsync("invalid-card", "pt-BR")).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
     }
 
     @Test
-    void testGetCardBenefitsWithDefaultLanguage() {
+    void testGetCardBenefitsWithDefaultLanguage() throws IOException {
         // Test controller directly
-        HttpResponse<ApiResponse<List<Plugin>>> response = controller.getCardBenefits("black", "pt-BR");
+        HttpResponse<?> response = controller.getCardBenefits("black", "pt-BR", null).join();
         
         // Assertions
         assertEquals(200, response.code());
-        assertNotNull(response.body());
-        assertEquals("success", response.body().getStatus());
-        assertEquals("pt-BR", response.body().getLanguage());
-        assertEquals(1, response.body().getData().size());
-        assertEquals("mastercard-benefits", response.body().getData().get(0).getFeature());
+        ApiResponse<List<Plugin>> body = readBody(response);
+        assertNotNull(body);
+        assertEquals("success", body.getStatus());
+        assertEquals("pt-BR", body.getLanguage());
+        assertEquals(1, body.getData().size());
+        assertEquals("mastercard-benefits", body.getData().get(0).getFeature());
     }
     
     @Test
-    void testGetCardBenefitsWithEnglishLanguage() {
+    void testGetCardBenefitsWithEnglishLanguage() throws IOException {
         // Test controller directly
-        HttpResponse<ApiResponse<List<Plugin>>> response = controller.getCardBenefits("black", "en-US");
+        HttpResponse<?> response = controller.getCardBenefits("black", "en-US", null).join();
         
         // Assertions
         assertEquals(200, response.code());
-        assertNotNull(response.body());
-        assertEquals("success", response.body().getStatus());
-        assertEquals("en-US", response.body().getLanguage());
-        assertEquals(1, response.body().getData().size());
-        assertEquals("mastercard-benefits", response.body().getData().get(0).getFeature());
+        ApiResponse<List<Plugin>> body = readBody(response);
+        assertNotNull(body);
+        assertEquals("success", body.getStatus());
+        assertEquals("en-US", body.getLanguage());
+        assertEquals(1, body.getData().size());
+        assertEquals("mastercard-benefits", body.getData().get(0).getFeature());
+    }
+
+    @Test
+    void testGetCardBenefitsIsServedFromResponseCache() {
+        HttpResponse<?> first = controller.getCardBenefits("gold", "es-ES", null).join();
+        HttpResponse<?> second = controller.getCardBenefits("GOLD", "es", null).join();
+
+        // Both requests resolve to the same (profile, language) and share the serialized bytes
+        assertEquals(200, second.code());
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, second.getContentType().orElseThrow());
+        assertArrayEquals((byte[]) first.body(), (byte[]) second.body());
+        verify(s3ResourceService, times(1)).loadCardBenefitsAsync("gold", "es-ES");
+    }
+
+    @Test
+    void testGetCardBenefitsNotFound() {
+        HttpResponse<?> response = controller.getCardBenefits("invalid-card", "pt-BR", null).join();
+
+        assertEquals(404, response.code());
+        ApiResponse<?> body = (ApiResponse<?>) response.body();
+        assertNotNull(body);
+        assertEquals("error", body.getStatus());
+    }
+
+    @Test
+    void testGetCardBenefitsNotModified() {
+        HttpResponse<?> response = controller.getCardBenefits("black", "pt-BR", null).join();
+        String etag = response.getHeaders().get(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_LANGUAGE, response.getHeaders().get(HttpHeaders.VARY));
+
+        HttpResponse<?> notModified = controller.getCardBenefits("black", "pt-BR", "W/" + etag).join();
+
+        assertEquals(304, notModified.code());
+        assertNull(notModified.body());
+        assertEquals(etag, notModified.getHeaders().get(HttpHeaders.ETAG));
+    }
+
+    private ApiResponse<List<Plugin>> readBody(HttpResponse<?> response) throws IOException {
+        return objectMapper.readValue((byte[]) response.body(), new TypeReference<ApiResponse<List<Plugin>>>() {});
     }
 }
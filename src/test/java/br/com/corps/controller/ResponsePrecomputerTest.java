@@ -0,0 +1,91 @@
+package br.com.corps.controller;
+
+import br.com.corps.cache.CachedPayload;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.cache.ResponseFormat;
+import br.com.corps.service.ContentReloadedEvent;
+import br.com.corps.service.SDUIPluginService;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@MicronautTest
+@Property(name = "app.precompute.enabled", value = "true")
+@Property(name = "app.precompute.gzip", value = "true")
+public class ResponsePrecomputerTest {
+
+    @Inject
+    private ResponsePrecomputer precomputer;
+
+    @Inject
+    private ResponseCache responseCache;
+
+    @Inject
+    private CardBenefitsController cardBenefitsController;
+
+    @Inject
+    private SDUIController sduiController;
+
+    @Inject
+    private SDUIPluginService pluginService;
+
+    @Inject
+    private ApplicationEventPublisher<ContentReloadedEvent> eventPublisher;
+
+    @Test
+    void testEveryProfileAndLanguageIsPrecomputed() {
+        // 3 profiles and the whole catalog, in 3 languages
+        assertEquals(12, precomputer.precompute());
+        assertEquals(12, responseCache.precomputedCount());
+
+        assertNotNull(responseCache.get(cardBenefitsController.key("platinum", "es-ES", ResponseFormat.JSON)));
+        assertNotNull(responseCache.get(sduiController.allPluginsKey(pluginService.getSnapshot(), "en-US", ResponseFormat.JSON)));
+    }
+
+    @Test
+    void testPrecomputedResponsesSurviveInvalidation() {
+        precomputer.precompute();
+        CachedPayload payload = responseCache.get(cardBenefitsController.key("black", "pt-BR", ResponseFormat.JSON));
+
+        responseCache.invalidateAll();
+
+        assertSame(payload, responseCache.get(cardBenefitsController.key("BLACK", "pt-BR", ResponseFormat.JSON)));
+    }
+
+    @Test
+    void testCardBenefitChangesRenderThePinnedResponsesAgain() {
+        precomputer.precompute();
+        CachedPayload payload = responseCache.get(cardBenefitsController.key("platinum", "pt-BR", ResponseFormat.JSON));
+
+        eventPublisher.publishEvent(new ContentReloadedEvent(false, false, true));
+
+        CachedPayload rendered = responseCache.get(cardBenefitsController.key("platinum", "pt-BR", ResponseFormat.JSON));
+        assertNotSame(payload, rendered);
+        assertArrayEquals(payload.body(), rendered.body());
+    }
+
+    @Test
+    void testGzipCopyHasItsOwnEtag() throws IOException {
+        precomputer.precompute();
+        CachedPayload payload = responseCache.get(cardBenefitsController.key("gold", "en-US", ResponseFormat.JSON));
+
+        assertNotNull(payload.gzipBody());
+        assertNotEquals(payload.etag(), payload.gzipEtag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.gzipBody()))) {
+            assertArrayEquals(payload.body(), in.readAllBytes());
+        }
+    }
+}
@@ -1,22 +1,28 @@
 package br.com.corps.controller;
 
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.config.ServerTimingConfig;
+import br.com.corps.metrics.ServerTimings;
 import br.com.corps.model.Benefit;
 import br.com.corps.model.BenefitGroup;
 import br.com.corps.model.Plugin;
+import br.com.corps.service.CatalogSnapshot;
+import br.com.corps.service.FeatureMask;
 import br.com.corps.service.SDUIPluginService;
-import br.com.corps.service.TranslationService;
-import io.micronaut.core.type.Argument;
-import io.micronaut.http.HttpRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
-import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.function.Executable;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,38 +43,34 @@ public class SDUIControllerTest {
     private SDUIPluginService pluginService;
 
     @Inject
-    private TranslationService translationService;
+    private ObjectMapper objectMapper;
 
     @MockBean(SDUIPluginService.class)
     SDUIPluginService pluginService() {
         return mock(SDUIPluginService.class);
     }
 
-    @MockBean(TranslationService.class)
-    TranslationService translationService() {
-        return mock(TranslationService.class);
-    }
-
     @Test
-    void testGetPluginsWithQueryLanguage() {
+    void testGetPluginsWithQueryLanguage() throws IOException {
         // Setup test data
         List<Plugin> mockPlugins = createTestPlugins();
         List<Plugin> translatedPlugins = createTranslatedPlugins("en-US");
+        CatalogSnapshot snapshot = snapshot(mockPlugins);
+        FeatureMask mask = snapshot.compile(Arrays.asList("black-card"));
         
         // Configure mocks
-        when(pluginService.getPluginsByFeature(eq(Arrays.asList("black-card")))).thenReturn(mockPlugins);
-        when(translationService.translatePlugins(eq(mockPlugins), eq("black"), eq("en-US")))
-            .thenReturn(translatedPlugins);
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getPluginsByFeature(eq(mask), eq("en-US"))).thenReturn(translatedPlugins);
         
         // Execute test - use direct controller test instead of HTTP client
-        SDUIController controller = new SDUIController(pluginService, translationService);
-        HttpResponse<List<Plugin>> response = controller.getPlugins(Arrays.asList("black-card"), java.util.Optional.of("en-US"));
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getPlugins(Arrays.asList("black-card"), java.util.Optional.of("en-US"), null);
         
         // Verify response
         assertNotNull(response);
         assertEquals(200, response.code());
         
-        List<Plugin> result = response.body();
+        List<Plugin> result = readPlugins(response);
         assertNotNull(result);
         assertEquals(1, result.size());
         
@@ -87,46 +89,48 @@ public class SDUIControllerTest {
                 "Expected text to contain 'Unlimited access to airport VIP lounges'");
         
         // Verify service interactions
-        verify(pluginService).getPluginsByFeature(Arrays.asList("black-card"));
-        verify(translationService).translatePlugins(mockPlugins, "black", "en-US");
+        verify(pluginService).getPluginsByFeature(mask, "en-US");
     }
 
     @Test
-    void testGetPluginsWithPathLanguage() {
+    void testGetPluginsWithPathLanguage() throws IOException {
         // Setup test data
         List<Plugin> mockPlugins = createTestPlugins();
         List<Plugin> translatedPlugins = createTranslatedPlugins("pt-BR");
+        CatalogSnapshot snapshot = snapshot(mockPlugins);
+        FeatureMask mask = snapshot.compile(Arrays.asList("black-card"));
         
         // Configure mocks
-        when(pluginService.getPluginsByFeature(eq(Arrays.asList("black-card")))).thenReturn(mockPlugins);
-        when(translationService.translatePlugins(eq(mockPlugins), eq("black"), eq("pt-BR")))
-            .thenReturn(translatedPlugins);
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getPluginsByFeature(eq(mask), eq("pt-BR"))).thenReturn(translatedPlugins);
         
         // Execute test - use direct controller test instead of HTTP client
-        SDUIController controller = new SDUIController(pluginService, translationService);
-        HttpResponse<List<Plugin>> response = controller.getPluginsWithPathLang("pt-BR", Arrays.asList("black-card"));
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getPluginsWithPathLang("pt-BR", Arrays.asList("black-card"), null);
         
         // Verify response
         assertNotNull(response);
         assertEquals(200, response.code());
         
-        List<Plugin> result = response.body();
+        List<Plugin> result = readPlugins(response);
         assertNotNull(result);
         assertEquals(1, result.size());
         
         // Verify service interactions
-        verify(pluginService).getPluginsByFeature(Arrays.asList("black-card"));
-        verify(translationService).translatePlugins(mockPlugins, "black", "pt-BR");
+        verify(pluginService).getPluginsByFeature(mask, "pt-BR");
     }
 
     @Test
     void testGetPluginsNotFound() {
-        // Configure mock to return empty list
-        when(pluginService.getPluginsByFeature(anyList())).thenReturn(Collections.emptyList());
+        // Configure mock to return an empty selection
+        CatalogSnapshot snapshot = snapshot(createTestPlugins());
+        FeatureMask mask = snapshot.compile(Arrays.asList("invalid-feature"));
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getPluginsByFeature(eq(mask), anyString())).thenReturn(Collections.emptyList());
         
         // Execute test - use direct controller test instead of HTTP client
-        SDUIController controller = new SDUIController(pluginService, translationService);
-        HttpResponse<List<Plugin>> response = controller.getPlugins(Arrays.asList("invalid-feature"), java.util.Optional.of("en-US"));
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getPlugins(Arrays.asList("invalid-feature"), java.util.Optional.of("en-US"), null);
         
         // Verify response
         assertNotNull(response);
@@ -134,144 +138,215 @@ public class SDUIControllerTest {
     }
 
     @Test
-    void testGetAllPlugins() {
+    void testGetAllPlugins() throws IOException {
         // Setup test data
-        List<Plugin> mockPlugins = createTestPlugins();
         List<Plugin> translatedPlugins = createTranslatedPlugins("en-US");
+        CatalogSnapshot snapshot = snapshot(createTestPlugins());
         
         // Configure mocks
-        when(pluginService.getAllPlugins()).thenReturn(mockPlugins);
-        when(translationService.translatePlugins(eq(mockPlugins), eq("black"), eq("en-US")))
-            .thenReturn(translatedPlugins);
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getAllPlugins(snapshot, "en-US")).thenReturn(translatedPlugins);
         
         // Execute test - use direct controller test instead of HTTP client
-        SDUIController controller = new SDUIController(pluginService, translationService);
-        HttpResponse<List<Plugin>> response = controller.getAllPlugins(java.util.Optional.of("en-US"));
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getAllPlugins(java.util.Optional.of("en-US"), null);
         
         // Verify response
         assertNotNull(response);
         assertEquals(200, response.code());
         
-        List<Plugin> result = response.body();
+        List<Plugin> result = readPlugins(response);
         assertNotNull(result);
         assertEquals(1, result.size());
         
         // Verify service interactions
-        verify(pluginService).getAllPlugins();
-        verify(translationService).translatePlugins(mockPlugins, "black", "en-US");
+        verify(pluginService).getAllPlugins(snapshot, "en-US");
     }
 
     @Test
-    void testGetAllPluginsWithPathLang() {
+    void testGetAllPluginsWithPathLang() throws IOException {
         // Setup test data
-        List<Plugin> mockPlugins = createTestPlugins();
         List<Plugin> translatedPlugins = createTranslatedPlugins("pt-BR");
+        CatalogSnapshot snapshot = snapshot(createTestPlugins());
         
         // Configure mocks
-        when(pluginService.getAllPlugins()).thenReturn(mockPlugins);
-        when(translationService.translatePlugins(eq(mockPlugins), eq("black"), eq("pt-BR")))
-            .thenReturn(translatedPlugins);
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getAllPlugins(snapshot, "pt-BR")).thenReturn(translatedPlugins);
         
         // Execute test - use direct controller test instead of HTTP client
-        SDUIController controller = new SDUIController(pluginService, translationService);
-        HttpResponse<List<Plugin>> response = controller.getAllPluginsWithPathLang("pt-BR");
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getAllPluginsWithPathLang("pt-BR", null);
         
         // Verify response
         assertNotNull(response);
         assertEquals(200, response.code());
         
-        List<Plugin> result = response.body();
+        List<Plugin> result = readPlugins(response);
         assertNotNull(result);
         assertEquals(1, result.size());
         
         // Verify service interactions
-        verify(pluginService).getAllPlugins();
-        verify(translationService).translatePlugins(mockPlugins, "black", "pt-BR");
+        verify(pluginService).getAllPlugins(snapshot, "pt-BR");
     }
 
     @Test
     void testGetAllPluginsNotFound() {
         // Configure mock to return empty list
-        when(pluginService.getAllPlugins()).thenReturn(Collections.emptyList());
+        CatalogSnapshot snapshot = snapshot(Collections.emptyList());
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getAllPlugins(eq(snapshot), anyString())).thenReturn(Collections.emptyList());
         
         // Execute test - use direct controller test instead of HTTP client
-        SDUIController controller = new SDUIController(pluginService, translationService);
-        HttpResponse<List<Plugin>> response = controller.getAllPlugins(java.util.Optional.of("en-US"));
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getAllPlugins(java.util.Optional.of("en-US"), null);
         
         // Verify response
         assertNotNull(response);
         assertEquals(404, response.code());
     }
 
+    @Test
+    void testGetPluginsIsServedFromResponseCache() {
+        // Setup test data
+        List<Plugin> mockPlugins = createTestPlugins();
+        mockPlugins.add(createTestPlugin("gold-card"));
+        CatalogSnapshot snapshot = snapshot(mockPlugins);
+        FeatureMask mask = snapshot.compile(Arrays.asList("black-card", "gold-card"));
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getPluginsByFeature(eq(mask), eq("en-US"))).thenReturn(createTranslatedPlugins("en-US"));
+
+        SDUIController controller = createController();
+        HttpResponse<?> first = controller.getPlugins(Arrays.asList("black-card", "gold-card"), java.util.Optional.of("en-US"), null);
+        HttpResponse<?> second = controller.getPlugins(Arrays.asList("gold-card", "black-card"), java.util.Optional.of("en"), null);
+
+        // Same features in another order and the normalized language resolve to the same cached payload
+        assertArrayEquals((byte[]) first.body(), (byte[]) second.body());
+        verify(pluginService, times(1)).getPluginsByFeature(mask, "en-US");
+    }
+
+    @Test
+    void testGetAllPluginsReturnsCacheHeaders() {
+        CatalogSnapshot snapshot = snapshot(createTestPlugins());
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getAllPlugins(snapshot, "pt-BR")).thenReturn(createTranslatedPlugins("pt-BR"));
+
+        SDUIController controller = createController();
+        HttpResponse<?> response = controller.getAllPluginsWithPathLang("pt-BR", null);
+
+        assertEquals(200, response.code());
+        String etag = response.getHeaders().get(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""), "ETag should be a quoted strong tag");
+        assertEquals("public, max-age=60", response.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testGetAllPluginsNotModified() {
+        CatalogSnapshot snapshot = snapshot(createTestPlugins());
+        when(pluginService.getSnapshot()).thenReturn(snapshot);
+        when(pluginService.getAllPlugins(snapshot, "pt-BR")).thenReturn(createTranslatedPlugins("pt-BR"));
+
+        SDUIController controller = createController();
+        String etag = controller.getAllPluginsWithPathLang("pt-BR", null).getHeaders().get(HttpHeaders.ETAG);
+
+        HttpResponse<?> response = controller.getAllPluginsWithPathLang("pt-BR", etag);
+
+        // The client copy is still current, so no body is sent
+        assertEquals(304, response.code());
+        assertNull(response.body());
+        assertEquals(etag, response.getHeaders().get(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testResponsesReportCatalogVersion() {
+        CatalogSnapshot first = CatalogSnapshot.build(1, "first", createTestPlugins(), false);
+        CatalogSnapshot second = CatalogSnapshot.build(2, "second", createTestPlugins(), false);
+        when(pluginService.getSnapshot()).thenReturn(first, second);
+        when(pluginService.getAllPlugins(first, "pt-BR")).thenReturn(createTranslatedPlugins("pt-BR"));
+        when(pluginService.getAllPlugins(second, "pt-BR")).thenReturn(createTranslatedPlugins("en-US"));
+
+        SDUIController controller = createController();
+        HttpResponse<?> before = controller.getAllPluginsWithPathLang("pt-BR", null);
+        HttpResponse<?> after = controller.getAllPluginsWithPathLang("pt-BR", null);
+
+        assertEquals("1", before.getHeaders().get(SDUIController.CATALOG_VERSION_HEADER));
+        assertEquals("2", after.getHeaders().get(SDUIController.CATALOG_VERSION_HEADER));
+        // The payload cached for the first version is not served for the second one
+        assertNotEquals(before.getHeaders().get(HttpHeaders.ETAG), after.getHeaders().get(HttpHeaders.ETAG));
+    }
+
     /**
      * Create test plugins with translation keys
      */
     private List<Plugin> createTestPlugins() {
         List<Plugin> plugins = new ArrayList<>();
         
-        // Create a plugin with benefit groups and benefits
-        Plugin plugin = new Plugin();
-        plugin.setType("benefits-section");
-        plugin.setFeature("black-card");
-        
-        // Create benefit group
-        BenefitGroup benefitGroup = new BenefitGroup();
-        benefitGroup.setProfile("Black");
-        
         // Create benefits with translation keys
-        Benefit benefit1 = new Benefit();
-        benefit1.setText("key:airport_lounge_access");
-        benefit1.setIcon("https://cdn.mastercard.com/content/assets/icons/airport.svg");
+        Benefit benefit1 = new Benefit("key:airport_lounge_access",
+                "https://cdn.mastercard.com/content/assets/icons/airport.svg");
+        Benefit benefit2 = new Benefit("key:travel_insurance",
+                "https://cdn.mastercard.com/content/assets/icons/insurance.svg");
         
-        Benefit benefit2 = new Benefit();
-        benefit2.setText("key:travel_insurance");
-        benefit2.setIcon("https://cdn.mastercard.com/content/assets/icons/insurance.svg");
-        
-        // Add benefits to group
-        benefitGroup.setBenefits(Arrays.asList(benefit1, benefit2));
-        
-        // Add group to plugin
-        plugin.setBenefits(Arrays.asList(benefitGroup));
+        // Create benefit group
+        BenefitGroup benefitGroup = new BenefitGroup("Black", Arrays.asList(benefit1, benefit2));
         
-        // Add plugin to list
-        plugins.add(plugin);
+        // Create a plugin with the benefit group and add it to the list
+        plugins.add(Plugin.builder()
+                .type("benefits-section")
+                .feature("black-card")
+                .benefits(Arrays.asList(benefitGroup))
+                .build());
         
         return plugins;
     }
     
+    /**
+     * Create a plugin without benefits for the given feature
+     */
+    private Plugin createTestPlugin(String feature) {
+        return Plugin.builder()
+                .type("benefits-section")
+                .feature(feature)
+                .build();
+    }
+    
     /**
      * Create translated plugins for testing
      */
     private List<Plugin> createTranslatedPlugins(String language) {
         List<Plugin> plugins = new ArrayList<>();
         
-        // Create a plugin with benefit groups and benefits
-        Plugin plugin = new Plugin();
-        plugin.setType("benefits-section");
-        plugin.setFeature("black-card");
-        
-        // Create benefit group
-        BenefitGroup benefitGroup = new BenefitGroup();
-        benefitGroup.setProfile("Black");
-        
         // Create translated benefits
-        Benefit benefit = new Benefit();
-        if ("en-US".equals(language)) {
-            benefit.setText("Unlimited access to airport VIP lounges (LoungeKey)");
-        } else {
-            benefit.setText("Acesso ilimitado a salas VIP de aeroportos (LoungeKey)");
-        }
-        benefit.setIcon("https://cdn.mastercard.com/content/assets/icons/airport.svg");
-        
-        // Add benefits to group
-        benefitGroup.setBenefits(Arrays.asList(benefit));
+        String text = "en-US".equals(language)
+                ? "Unlimited access to airport VIP lounges (LoungeKey)"
+                : "Acesso ilimitado a salas VIP de aeroportos (LoungeKey)";
+        Benefit benefit = new Benefit(text, "https://cdn.mastercard.com/content/assets/icons/airport.svg");
         
-        // Add group to plugin
-        plugin.setBenefits(Arrays.asList(benefitGroup));
+        // Create benefit group
+        BenefitGroup benefitGroup = new BenefitGroup("Black", Arrays.asList(benefit));
         
-        // Add plugin to list
-        plugins.add(plugin);
+        // Create a plugin with the benefit group and add it to the list
+        plugins.add(Plugin.builder()
+                .type("benefits-section")
+                .feature("black-card")
+                .benefits(Arrays.asList(benefitGroup))
+                .build());
         
         return plugins;
     }
+
+    private SDUIController createController() {
+        CacheConfig cacheConfig = new CacheConfig();
+        return new SDUIController(pluginService, new LanguageConfig(),
+                new ResponseCache(cacheConfig, objectMapper), new CachedResponses(cacheConfig),
+                new ServerTimings(new ServerTimingConfig()));
+    }
+
+    private CatalogSnapshot snapshot(List<Plugin> plugins) {
+        return CatalogSnapshot.build(1, "test", plugins, false);
+    }
+
+    private List<Plugin> readPlugins(HttpResponse<?> response) throws IOException {
+        return objectMapper.readValue((byte[]) response.body(), new TypeReference<List<Plugin>>() {});
+    }
 }
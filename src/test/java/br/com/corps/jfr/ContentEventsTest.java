@@ -0,0 +1,141 @@
+package br.com.corps.jfr;
+
+import br.com.corps.cache.CachedPayload;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.cache.ResponseKey;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.config.StoreConfig;
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginTrees;
+import br.com.corps.service.S3ResourceService;
+import br.com.corps.service.TranslationService;
+import br.com.corps.snapshot.ContentSnapshot;
+import br.com.corps.store.ClasspathResourceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.MediaType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentEventsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private TranslationService translationService;
+    private S3ResourceService resourceService;
+    private ResponseCache responseCache;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        LanguageConfig languageConfig = new LanguageConfig();
+        CacheConfig cacheConfig = new CacheConfig();
+        translationService = new TranslationService(languageConfig, objectMapper, cacheConfig, ContentSnapshot.empty());
+        resourceService = new S3ResourceService(objectMapper,
+                new ClasspathResourceStore(new ResourceResolver(), new StoreConfig()), languageConfig, cacheConfig,
+                ContentSnapshot.empty());
+        responseCache = new ResponseCache(cacheConfig, objectMapper);
+
+        recording = new Recording();
+        recording.enable(CardBenefitsLoadEvent.class).withoutThreshold();
+        recording.enable(BundleLoadEvent.class).withoutThreshold();
+        recording.enable(TranslateEvent.class).withoutThreshold();
+        recording.enable(SerializeEvent.class).withoutThreshold();
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void testCardBenefitsLoadEvent() throws Exception {
+        List<Plugin> plugins = resourceService.loadCardBenefits("gold", "en-US");
+        resourceService.loadCardBenefits("gold", "en-US");
+
+        List<RecordedEvent> events = stop("br.com.corps.CardBenefitsLoad");
+        assertEquals(1, events.size(), "Cached trees should not be loaded again");
+        RecordedEvent event = events.get(0);
+        assertEquals("gold", event.getString("profile"));
+        assertEquals("en-US", event.getString("language"));
+        assertEquals("exclusive-area/gold/home/en-US.json", event.getString("path"));
+        assertTrue(event.getBoolean("found"));
+        assertTrue(event.getLong("bytes") > 0);
+        assertEquals(PluginTrees.count(plugins), event.getInt("nodes"));
+    }
+
+    @Test
+    void testTranslateAndBundleLoadEvents() throws Exception {
+        List<Plugin> plugins = List.of(Plugin.builder()
+                .type("card-benefits-plugin")
+                .benefits(List.of(new BenefitGroup("Black", List.of(
+                        new Benefit("key:travel_insurance", null),
+                        new Benefit("Literal", null)))))
+                .children(List.of(Plugin.builder().type("child").build()))
+                .build());
+
+        translationService.translatePlugins(plugins, "black", "en-US");
+
+        List<RecordedEvent> translations = stop("br.com.corps.Translate");
+        assertEquals(1, translations.size());
+        RecordedEvent translation = translations.get(0);
+        assertEquals("black", translation.getString("cardType"));
+        assertEquals("en-US", translation.getString("language"));
+        assertEquals(2, translation.getInt("nodes"));
+        assertEquals(1, translation.getInt("keys"));
+
+        List<RecordedEvent> bundles = events("br.com.corps.BundleLoad");
+        RecordedEvent profileBundle = bundles.stream()
+                .filter(e -> e.getString("bundle").equals("black") && e.getString("language").equals("en-US"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(profileBundle.getBoolean("found"));
+        assertTrue(profileBundle.getLong("bytes") > 0);
+        assertTrue(profileBundle.getInt("keys") > 0);
+    }
+
+    @Test
+    void testSerializeEvent() throws Exception {
+        ResponseKey key = new ResponseKey("cards", "gold", "en-US", MediaType.APPLICATION_JSON);
+        CachedPayload payload = responseCache.getOrRender(key, () -> List.of("a", "b"));
+
+        List<RecordedEvent> events = stop("br.com.corps.Serialize");
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("cards", event.getString("resource"));
+        assertEquals("gold", event.getString("variant"));
+        assertEquals("en-US", event.getString("language"));
+        assertEquals(MediaType.APPLICATION_JSON, event.getString("contentType"));
+        assertEquals(payload.body().length, event.getLong("bytes"));
+    }
+
+    private List<RecordedEvent> stop(String name) throws Exception {
+        recording.stop();
+        recording.dump(tempDir.resolve("events.jfr"));
+        return events(name);
+    }
+
+    private List<RecordedEvent> events(String name) throws Exception {
+        return RecordingFile.readAllEvents(tempDir.resolve("events.jfr")).stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.corps.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, in the style of HdrHistogram: values below 128 are
+ * counted exactly and larger ones in buckets of 64 per power of two, so every percentile is reported
+ * within 1.6% of the recorded value whatever its magnitude.
+ * <p>
+ * Recording is lock free and may be done from any thread.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_BUCKETS = SUB_BUCKETS / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as zero
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        totalCount.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add every value recorded by another histogram
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        sum.addAndGet(other.sum.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    long getTotalCount() {
+        return totalCount.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * Get the value at or below which the given percentage of the recorded values fall
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the highest value equivalent to the bucket holding the percentile, 0 if nothing was recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_BUCKETS + subBucket - HALF_BUCKETS;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_BUCKETS + 1;
+        long subBucket = (index - SUB_BUCKETS) % HALF_BUCKETS + HALF_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.corps.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(1);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + (long) (random.nextDouble() * random.nextDouble() * 50_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected, percentile + ": " + actual + " < " + expected);
+            assertTrue(actual <= expected * 1.016, percentile + ": " + actual + " > " + expected);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        for (long value : new long[]{0, 127, 128, 129, 255, 256, 1_000_000_007L, Long.MAX_VALUE / 2}) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.index(value));
+            assertTrue(highest >= value, String.valueOf(value));
+            assertTrue(highest - value <= Math.max(0, value / 64), String.valueOf(value));
+        }
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+    }
+
+    @Test
+    void testAdd() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(30);
+        second.record(-5);
+
+        first.add(second);
+
+        assertEquals(3, first.getTotalCount());
+        assertEquals(30, first.getMax());
+        assertEquals(0, first.getValueAtPercentile(1));
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.corps.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are sent at a constant rate whatever the response times, and every
+ * latency is measured from the time the request was scheduled rather than actually sent, so a stalled
+ * server shows up in the percentiles instead of silently lowering the rate (coordinated omission).
+ */
+@Slf4j
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final HttpClient client;
+
+    LoadDriver(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Send the scenario requests at its rate for the given time and wait for the responses
+     *
+     * @param scenario the scenario
+     * @param duration how long to send requests for
+     * @param random the random source picking the requests
+     * @return the results per endpoint
+     */
+    Results run(LoadScenario scenario, Duration duration, Random random) throws InterruptedException {
+        Results results = new Results();
+        AtomicLong inFlight = new AtomicLong();
+        long interval = TimeUnit.SECONDS.toNanos(1) / scenario.getRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled - end >= 0) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadRequest request = scenario.next(random);
+            inFlight.incrementAndGet();
+            client.sendAsync(httpRequest(request), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        results.record(request.endpoint(), latency, error == null ? response.statusCode() : -1,
+                                error == null ? response.body().length : 0);
+                        if (error != null) {
+                            log.debug("Load request {} failed: {}", request.path(), error.getMessage());
+                        }
+                        if (inFlight.decrementAndGet() == 0) {
+                            synchronized (inFlight) {
+                                inFlight.notifyAll();
+                            }
+                        }
+                    });
+        }
+        results.elapsed = System.nanoTime() - start;
+
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        synchronized (inFlight) {
+            long remaining;
+            while (inFlight.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(inFlight, remaining);
+            }
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} load requests still in flight after {}", inFlight.get(), REQUEST_TIMEOUT);
+        }
+        return results;
+    }
+
+    private HttpRequest httpRequest(LoadRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(request.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .GET();
+        if (request.acceptLanguage() != null) {
+            builder.header("Accept-Language", request.acceptLanguage());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Latencies, errors and response sizes per endpoint of a run
+     */
+    static final class Results {
+
+        private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+        private long elapsed;
+
+        void record(String endpoint, long latency, int status, long bytes) {
+            Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+            stats.latencies.record(latency);
+            stats.bytes.addAndGet(bytes);
+            if (status < 200 || status >= 400) {
+                stats.errors.incrementAndGet();
+            }
+        }
+
+        /**
+         * @return how long requests were being sent for, in nanoseconds
+         */
+        long getElapsed() {
+            return elapsed;
+        }
+
+        Map<String, Endpoint> getEndpoints() {
+            return new LinkedHashMap<>(endpoints);
+        }
+
+        /**
+         * @return the statistics of every endpoint together
+         */
+        Endpoint total() {
+            Endpoint total = new Endpoint();
+            for (Endpoint endpoint : endpoints.values()) {
+                total.latencies.add(endpoint.latencies);
+                total.errors.addAndGet(endpoint.errors.get());
+                total.bytes.addAndGet(endpoint.bytes.get());
+            }
+            return total;
+        }
+    }
+
+    static final class Endpoint {
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.corps.load;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Machine-readable result of a load test run, written as JSON so runs of different builds can be compared
+ *
+ * @param timestamp when the run finished
+ * @param scenario the scenario settings
+ * @param environment the JVM the server ran in
+ * @param total the statistics of every endpoint together
+ * @param endpoints the statistics per endpoint
+ */
+record LoadReport(String timestamp,
+                  Map<String, Object> scenario,
+                  Map<String, Object> environment,
+                  EndpointReport total,
+                  Map<String, EndpointReport> endpoints) {
+
+    static LoadReport of(LoadScenario scenario, LoadDriver.Results results) {
+        double seconds = results.getElapsed() / 1e9;
+        Map<String, EndpointReport> endpoints = new TreeMap<>();
+        results.getEndpoints().forEach((name, endpoint) -> endpoints.put(name, EndpointReport.of(endpoint, seconds)));
+
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+
+        return new LoadReport(Instant.now().toString(), scenario.describe(), environment,
+                EndpointReport.of(results.total(), seconds), endpoints);
+    }
+
+    /**
+     * Statistics of an endpoint
+     *
+     * @param requests the completed requests
+     * @param errors the requests that failed or got a 4xx or 5xx status
+     * @param throughput the completed requests per second
+     * @param meanResponseBytes the mean size of the response bodies
+     * @param latencyMs the mean, percentiles and maximum of the latency, in milliseconds
+     */
+    record EndpointReport(long requests, long errors, double throughput, long meanResponseBytes,
+                          Map<String, Double> latencyMs) {
+
+        static EndpointReport of(LoadDriver.Endpoint endpoint, double seconds) {
+            LatencyHistogram latencies = endpoint.latencies;
+            long requests = latencies.getTotalCount();
+
+            Map<String, Double> latencyMs = new LinkedHashMap<>();
+            latencyMs.put("mean", millis(latencies.getMean()));
+            latencyMs.put("p50", millis(latencies.getValueAtPercentile(50)));
+            latencyMs.put("p90", millis(latencies.getValueAtPercentile(90)));
+            latencyMs.put("p99", millis(latencies.getValueAtPercentile(99)));
+            latencyMs.put("p99.9", millis(latencies.getValueAtPercentile(99.9)));
+            latencyMs.put("max", millis(latencies.getMax()));
+
+            return new EndpointReport(requests, endpoint.errors.get(), seconds > 0 ? requests / seconds : 0,
+                    requests > 0 ? endpoint.bytes.get() / requests : 0, latencyMs);
+        }
+
+        private static double millis(double nanos) {
+            return Math.round(nanos / 1_000) / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.corps.load;
+
+/**
+ * A request of the load mix
+ *
+ * @param endpoint the name latencies are reported under
+ * @param path the request path and query
+ * @param acceptLanguage the Accept-Language header, or null to send none
+ */
+record LoadRequest(String endpoint, String path, String acceptLanguage) {
+}
@@ -0,0 +1,198 @@
+package br.com.corps.load;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Arrival rate, duration and request mix of a load test run, read from {@code load.*} system properties
+ */
+final class LoadScenario {
+
+    static final String FEATURES = "features";
+    static final String ALL = "all";
+    static final String CARDS = "cards";
+
+    private final int rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int syntheticPlugins;
+    private final List<String> profiles;
+    private final List<String> languages;
+    private final List<List<String>> featureSets;
+    private final Map<String, Integer> mix;
+    private final long seed;
+    private final Map<String, List<LoadRequest>> requests = new LinkedHashMap<>();
+    private final int totalWeight;
+
+    LoadScenario(int rate, Duration duration, Duration warmup, int syntheticPlugins, List<String> profiles,
+                 List<String> languages, List<List<String>> featureSets, Map<String, Integer> mix, long seed) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("Load rate must be at least 1 request per second");
+        }
+        this.rate = rate;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.syntheticPlugins = syntheticPlugins;
+        this.profiles = List.copyOf(profiles);
+        this.languages = List.copyOf(languages);
+        this.featureSets = List.copyOf(featureSets);
+        this.mix = Collections.unmodifiableMap(new LinkedHashMap<>(mix));
+        this.seed = seed;
+
+        int weight = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                requests.put(entry.getKey(), requests(entry.getKey()));
+                weight += entry.getValue();
+            }
+        }
+        if (weight == 0) {
+            throw new IllegalArgumentException("Load mix has no request with a positive weight");
+        }
+        this.totalWeight = weight;
+    }
+
+    /**
+     * Read the scenario from the {@code load.*} system properties
+     *
+     * @return the scenario
+     */
+    static LoadScenario fromSystemProperties() {
+        int syntheticPlugins = Integer.getInteger("load.synthetic.plugins", 0);
+        String defaultFeatures = syntheticPlugins > 0
+                ? "feature-0;feature-1,feature-2,feature-3"
+                : "mastercard-benefits;loyalty-points;mastercard-benefits,loyalty-points";
+        return new LoadScenario(
+                Integer.getInteger("load.rate", 200),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 30)),
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 5)),
+                syntheticPlugins,
+                list(System.getProperty("load.profiles", "black,gold,platinum")),
+                list(System.getProperty("load.languages", "pt-BR,en-US,es-ES")),
+                list(System.getProperty("load.features", defaultFeatures), ";").stream()
+                        .map(LoadScenario::list)
+                        .collect(Collectors.toList()),
+                weights(System.getProperty("load.mix", FEATURES + ":6," + ALL + ":1," + CARDS + ":3")),
+                Long.getLong("load.seed", 42));
+    }
+
+    /**
+     * Pick the next request of the mix
+     *
+     * @param random the random source of the run
+     * @return the request
+     */
+    LoadRequest next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<String, List<LoadRequest>> entry : requests.entrySet()) {
+            pick -= mix.get(entry.getKey());
+            if (pick < 0) {
+                List<LoadRequest> candidates = entry.getValue();
+                return candidates.get(random.nextInt(candidates.size()));
+            }
+        }
+        throw new IllegalStateException("Load mix weights changed");
+    }
+
+    int getRate() {
+        return rate;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    int getSyntheticPlugins() {
+        return syntheticPlugins;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the scenario settings, as written to the report
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("rate", rate);
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("syntheticPlugins", syntheticPlugins);
+        description.put("profiles", profiles);
+        description.put("languages", languages);
+        description.put("featureSets", featureSets);
+        description.put("mix", new LinkedHashMap<>(mix));
+        description.put("seed", seed);
+        return description;
+    }
+
+    private List<LoadRequest> requests(String kind) {
+        List<LoadRequest> list = new ArrayList<>();
+        switch (kind) {
+            case FEATURES -> {
+                for (String language : languages) {
+                    for (List<String> features : featureSets) {
+                        String query = features.stream()
+                                .map(feature -> "feature=" + URLEncoder.encode(feature, StandardCharsets.UTF_8))
+                                .collect(Collectors.joining("&"));
+                        list.add(new LoadRequest("sdui.plugins", "/sdui/" + language + "/plugins?" + query, null));
+                    }
+                }
+            }
+            case ALL -> {
+                for (String language : languages) {
+                    list.add(new LoadRequest("sdui.plugins.all", "/sdui/" + language + "/plugins/all", null));
+                }
+            }
+            case CARDS -> {
+                for (String profile : profiles) {
+                    for (String language : languages) {
+                        list.add(new LoadRequest("cards.benefits", "/cards/" + profile + "/benefits", language));
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown load request kind: " + kind);
+        }
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException("Load request kind " + kind + " has no requests");
+        }
+        return list;
+    }
+
+    static List<String> list(String value) {
+        return list(value, ",");
+    }
+
+    private static List<String> list(String value, String separator) {
+        return Arrays.stream(value.split(separator))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    static Map<String, Integer> weights(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : list(value)) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry, expected <kind>:<weight>: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
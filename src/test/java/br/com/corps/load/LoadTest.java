@@ -0,0 +1,88 @@
+package br.com.corps.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the SDUI and card benefits endpoints on the embedded HTTP server.
+ * <p>
+ * Skipped unless {@code load.test} is set, as it runs for a while:
+ * <pre>
+ * ./mvnw test -Dtest=LoadTest -Dload.test=true -Dload.rate=500 -Dload.duration=60
+ * </pre>
+ * See {@link LoadScenario} for the other {@code load.*} properties. With {@code load.synthetic.plugins}
+ * the server serves synthetic content of that many top-level plugins instead of the bundled one.
+ * The report is written to {@code load.report}, {@code target/load-report.json} by default.
+ */
+@Slf4j
+@MicronautTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+public class LoadTest implements TestPropertyProvider {
+
+    private final LoadScenario scenario = LoadScenario.fromSystemProperties();
+
+    @Inject
+    EmbeddedServer server;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Override
+    public Map<String, String> getProperties() {
+        Map<String, String> properties = new HashMap<>();
+        if (scenario.getSyntheticPlugins() > 0) {
+            try {
+                String root = Files.createTempDirectory("sdui-load").toString();
+                properties.put("sdui.synthetic.enabled", "true");
+                properties.put("sdui.synthetic.plugins", String.valueOf(scenario.getSyntheticPlugins()));
+                properties.put("sdui.synthetic.output-dir", root);
+                properties.put("app.store.type", "filesystem");
+                properties.put("app.store.file-system-root", root);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return properties;
+    }
+
+    @Test
+    void testLoad() throws Exception {
+        LoadDriver driver = new LoadDriver(server.getURI());
+        Random random = new Random(scenario.getSeed());
+
+        log.info("Warming up for {} at {} requests per second", scenario.getWarmup(), scenario.getRate());
+        driver.run(scenario, scenario.getWarmup(), random);
+
+        log.info("Measuring for {} at {} requests per second", scenario.getDuration(), scenario.getRate());
+        LoadReport report = LoadReport.of(scenario, driver.run(scenario, scenario.getDuration(), random));
+
+        Path file = Path.of(System.getProperty("load.report", "target/load-report.json"));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Load report written to {}: {}", file.toAbsolutePath(), report.total());
+
+        assertTrue(report.total().requests() > 0);
+        assertEquals(0, report.total().errors());
+    }
+}
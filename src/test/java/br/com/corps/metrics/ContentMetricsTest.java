@@ -0,0 +1,103 @@
+package br.com.corps.metrics;
+
+import br.com.corps.Configuration;
+import br.com.corps.cache.ResponseCache;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.config.StoreConfig;
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Plugin;
+import br.com.corps.service.LanguageResolver;
+import br.com.corps.service.S3ResourceService;
+import br.com.corps.service.SDUIPluginService;
+import br.com.corps.service.TranslationService;
+import br.com.corps.snapshot.ContentSnapshot;
+import br.com.corps.store.ClasspathResourceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.core.io.ResourceResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentMetricsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private TranslationService translationService;
+    private S3ResourceService resourceService;
+
+    @BeforeEach
+    void setUp() {
+        LanguageConfig languageConfig = new LanguageConfig();
+        CacheConfig cacheConfig = new CacheConfig();
+        translationService = new TranslationService(languageConfig, objectMapper, cacheConfig, ContentSnapshot.empty());
+        resourceService = new S3ResourceService(objectMapper,
+                new ClasspathResourceStore(new ResourceResolver(), new StoreConfig()), languageConfig, cacheConfig,
+                ContentSnapshot.empty());
+        SDUIPluginService pluginService = new SDUIPluginService(objectMapper, new ResourceResolver(),
+                new Configuration(), translationService, cacheConfig, ContentSnapshot.empty());
+
+        new ContentMetrics(new ResponseCache(cacheConfig, objectMapper), pluginService, resourceService,
+                translationService, new LanguageResolver(languageConfig, cacheConfig), languageConfig).bindTo(registry);
+    }
+
+    @Test
+    void testCardBenefitLoads() {
+        resourceService.loadCardBenefits("gold", "en-US");
+        resourceService.loadCardBenefits("gold", "en-US");
+
+        assertEquals(1, registry.get("sdui.cache.gets").tags("cache", "card-benefits", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("sdui.cache.gets").tags("cache", "card-benefits", "result", "miss")
+                .functionCounter().count());
+        assertEquals(0.5, registry.get("sdui.cache.hit.ratio").tag("cache", "card-benefits").gauge().value());
+        assertEquals(1, registry.get("sdui.content.loads").tag("content", "card-benefits").functionTimer().count());
+        assertEquals(0, registry.get("sdui.content.load.failures").tag("content", "card-benefits")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testTranslationLookups() {
+        List<Plugin> plugins = List.of(Plugin.builder()
+                .type("card-benefits-plugin")
+                .benefits(List.of(new BenefitGroup("Black", List.of(
+                        new Benefit("key:travel_insurance", null),
+                        new Benefit("key:no_such_key", null)))))
+                .build());
+
+        translationService.translatePlugins(plugins, "black", "en-US");
+        translationService.translatePlugins(plugins, "black", "en-US");
+        translationService.translatePlugins(plugins, "black", "pt-BR");
+
+        assertEquals(2, registry.get("sdui.translations.missing.keys").tag("language", "en-US")
+                .functionCounter().count());
+        assertEquals(1, registry.get("sdui.translations.missing.keys").tag("language", "pt-BR")
+                .functionCounter().count());
+        assertEquals(0, registry.get("sdui.translations.missing.keys").tag("language", "es-ES")
+                .functionCounter().count());
+        assertEquals(1, registry.get("sdui.cache.gets").tags("cache", "translations", "result", "hit")
+                .functionCounter().count());
+        assertEquals(2, registry.get("sdui.content.loads").tag("content", "translations").functionTimer().count());
+    }
+
+    @Test
+    void testLanguageFallbacks() {
+        List<Plugin> plugins = List.of(Plugin.builder()
+                .type("card-benefits-plugin")
+                .benefits(List.of(new BenefitGroup("Diamond", List.of(new Benefit("key:travel_insurance", null)))))
+                .build());
+
+        translationService.translatePlugins(plugins, "diamond", "en-US");
+        translationService.translatePlugins(plugins, "diamond", "pt-BR");
+
+        assertEquals(1, registry.get("sdui.language.fallbacks").tag("content", "translations")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.corps.metrics;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest
+@Property(name = "endpoints.prometheus.sensitive", value = "false")
+public class PrometheusEndpointTest {
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Test
+    void testPrometheusEndpoint() {
+        client.toBlocking().exchange(HttpRequest.GET("/sdui/plugins?feature=mastercard-benefits"), byte[].class);
+
+        String metrics = client.toBlocking().retrieve(HttpRequest.GET("/prometheus"));
+
+        assertTrue(metrics.contains("http_server_requests_seconds"), "endpoint timers");
+        assertTrue(metrics.contains("sdui_response_size_bytes"), "response sizes");
+        assertTrue(metrics.contains("sdui_cache_gets_total"), "cache lookups");
+        assertTrue(metrics.contains("sdui_translations_missing_keys_total"), "missing translation keys");
+    }
+
+    @Test
+    void testPrometheusEndpointIsSensitiveByDefault() {
+        try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class);
+             HttpClient defaultClient = HttpClient.create(server.getURL())) {
+            HttpClientResponseException e = assertThrows(HttpClientResponseException.class,
+                    () -> defaultClient.toBlocking().retrieve(HttpRequest.GET("/prometheus")));
+
+            assertEquals(HttpStatus.UNAUTHORIZED, e.getStatus());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.corps.metrics;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Property(name = "app.server-timing.debug-header", value = "X-Debug-Timing")
+public class ServerTimingFilterTest {
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Test
+    void testHeaderOnlyWithDebugHeader() {
+        HttpResponse<byte[]> response = client.toBlocking()
+                .exchange(HttpRequest.GET("/sdui/plugins/all?lang=en-US"), byte[].class);
+
+        assertFalse(response.getHeaders().contains(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void testCardBenefitsPhases() {
+        HttpResponse<byte[]> response = client.toBlocking().exchange(HttpRequest.GET("/cards/platinum/benefits")
+                .header("Accept-Language", "es-ES")
+                .header("X-Debug-Timing", "1"), byte[].class);
+
+        String timing = response.header(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertNotNull(timing);
+        assertTrue(timing.startsWith("lang;dur="), timing);
+        assertTrue(timing.contains("cache;dur="), timing);
+        assertTrue(timing.contains("load;dur="), timing);
+        assertTrue(timing.contains("translate;dur="), timing);
+        assertTrue(timing.contains("serialize;dur="), timing);
+    }
+
+    @Test
+    void testCachedResponsePhases() {
+        HttpRequest<?> request = HttpRequest.GET("/sdui/plugins/all?lang=pt-BR").header("X-Debug-Timing", "1");
+        client.toBlocking().exchange(request, byte[].class);
+
+        HttpResponse<byte[]> cached = client.toBlocking().exchange(request, byte[].class);
+
+        assertEquals("lang;dur=", cached.header(ServerTimingFilter.SERVER_TIMING_HEADER).substring(0, 9));
+        assertFalse(cached.header(ServerTimingFilter.SERVER_TIMING_HEADER).contains("serialize"),
+                "Cached responses are not serialized again");
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.corps.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingTest {
+
+    @Test
+    void testDisabledRecordsNothing() {
+        ServerTiming timing = ServerTiming.DISABLED;
+
+        long start = timing.start();
+        timing.stop(ServerTiming.Phase.TRANSLATE, start);
+
+        assertFalse(timing.isEnabled());
+        assertEquals(0, start);
+        assertEquals(-1, timing.getDuration(ServerTiming.Phase.TRANSLATE));
+        assertEquals("", timing.toHeaderValue());
+    }
+
+    @Test
+    void testPhasesAccumulate() throws InterruptedException {
+        ServerTiming timing = ServerTiming.create();
+
+        long first = timing.start();
+        Thread.sleep(2);
+        timing.stop(ServerTiming.Phase.LOAD, first);
+        long once = timing.getDuration(ServerTiming.Phase.LOAD);
+        long second = timing.start();
+        timing.stop(ServerTiming.Phase.LOAD, second);
+
+        assertTrue(once >= 2_000_000, "Load should last at least 2 ms");
+        assertTrue(timing.getDuration(ServerTiming.Phase.LOAD) >= once);
+        assertEquals(-1, timing.getDuration(ServerTiming.Phase.SERIALIZE));
+        assertEquals(timing.getDuration(ServerTiming.Phase.LOAD), timing.recorded());
+    }
+
+    @Test
+    void testExclusivePhaseExcludesNestedPhases() throws InterruptedException {
+        ServerTiming timing = ServerTiming.create();
+
+        long start = timing.start();
+        long recordedAtStart = timing.recorded();
+        long nested = timing.start();
+        Thread.sleep(5);
+        timing.stop(ServerTiming.Phase.TRANSLATE, nested);
+        timing.stopExclusive(ServerTiming.Phase.CACHE, start, recordedAtStart);
+
+        assertTrue(timing.getDuration(ServerTiming.Phase.TRANSLATE) >= 5_000_000);
+        assertTrue(timing.getDuration(ServerTiming.Phase.CACHE) < timing.getDuration(ServerTiming.Phase.TRANSLATE));
+    }
+
+    @Test
+    void testHeaderValue() {
+        ServerTiming timing = ServerTiming.create();
+
+        timing.stop(ServerTiming.Phase.SERIALIZE, timing.start());
+        timing.stop(ServerTiming.Phase.LANGUAGE, timing.start());
+
+        String header = timing.toHeaderValue();
+        assertTrue(header.matches("lang;dur=\\d+\\.\\d{3}, serialize;dur=\\d+\\.\\d{3}"), header);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.corps.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PluginTreesTest {
+
+    @Test
+    void testFreezeCopiesEveryList() {
+        List<Benefit> benefits = new ArrayList<>(List.of(new Benefit("key:travel_insurance", null)));
+        List<BenefitGroup> groups = new ArrayList<>(List.of(new BenefitGroup("Black", benefits)));
+        List<Plugin> children = new ArrayList<>(List.of(Plugin.builder().type("text").benefits(groups).build()));
+        List<Plugin> plugins = new ArrayList<>(List.of(Plugin.builder().type("card").children(children).build()));
+
+        List<Plugin> frozen = PluginTrees.freeze(plugins);
+
+        // The lists still held by the caller are not shared with the frozen tree
+        benefits.clear();
+        groups.clear();
+        children.clear();
+        plugins.clear();
+        Plugin child = frozen.get(0).getChildren().get(0);
+        assertEquals("key:travel_insurance", child.getBenefits().get(0).getBenefits().get(0).getText());
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.add(Plugin.builder().build()));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.get(0).getChildren().clear());
+        assertThrows(UnsupportedOperationException.class, () -> child.getBenefits().clear());
+        assertThrows(UnsupportedOperationException.class, () -> child.getBenefits().get(0).getBenefits().clear());
+    }
+
+    @Test
+    void testFreezeKeepsLeavesAndNulls() {
+        Plugin leaf = Plugin.builder().type("text").feature("leaf").build();
+
+        assertSame(leaf, PluginTrees.freeze(leaf));
+        assertNull(PluginTrees.freeze((Plugin) null));
+        assertTrue(PluginTrees.freeze((List<Plugin>) null).isEmpty());
+    }
+
+    @Test
+    void testCount() {
+        Plugin child = Plugin.builder().type("text").build();
+        Plugin root = Plugin.builder().type("card").children(List.of(child, child)).build();
+
+        assertEquals(3, PluginTrees.count(List.of(root)));
+        assertEquals(0, PluginTrees.count(null));
+    }
+}
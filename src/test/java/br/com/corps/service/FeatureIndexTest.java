@@ -0,0 +1,63 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeatureIndexTest {
+
+    @Test
+    void testSelectKeepsCatalogOrderAndRemovesDuplicates() {
+        Plugin a = plugin("a");
+        Plugin b = plugin("b");
+        Plugin c = plugin("c");
+        FeatureIndex index = FeatureIndex.build(Arrays.asList(a, b, c), false);
+
+        List<Plugin> selected = index.select(Arrays.asList("c", "a", "c", "unknown"));
+
+        assertEquals(Arrays.asList(a, c), selected);
+    }
+
+    @Test
+    void testPluginsSharingAFeature() {
+        Plugin first = plugin("shared");
+        Plugin other = plugin("other");
+        Plugin second = plugin("shared");
+        FeatureIndex index = FeatureIndex.build(Arrays.asList(first, other, second), false);
+
+        assertEquals(Arrays.asList(first, second), index.select(Collections.singletonList("shared")));
+        assertEquals(2, index.featureCount());
+    }
+
+    @Test
+    void testNestedPluginsAreOnlyIndexedWhenRequested() {
+        Plugin nested = plugin("nested");
+        Plugin root = plugin("root").toBuilder().children(Collections.singletonList(nested)).build();
+
+        assertTrue(FeatureIndex.build(Collections.singletonList(root), false).select(List.of("nested")).isEmpty());
+        assertEquals(List.of(root, nested),
+                FeatureIndex.build(Collections.singletonList(root), true).select(List.of("nested", "root")));
+    }
+
+    @Test
+    void testSelectionIsUnmodifiable() {
+        FeatureIndex index = FeatureIndex.build(Arrays.asList(plugin("a"), plugin("b")), false);
+
+        assertThrows(UnsupportedOperationException.class, () -> index.select(List.of("a", "b")).clear());
+    }
+
+    @Test
+    void testEmptyIndex() {
+        assertTrue(FeatureIndex.empty().select(List.of("a")).isEmpty());
+        assertTrue(FeatureIndex.build(null, true).select(List.of("a")).isEmpty());
+    }
+
+    private Plugin plugin(String feature) {
+        return Plugin.builder().feature(feature).build();
+    }
+}
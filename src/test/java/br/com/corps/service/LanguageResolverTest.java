@@ -0,0 +1,106 @@
+package br.com.corps.service;
+
+import br.com.corps.cache.CacheStats;
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LanguageResolverTest {
+
+    private final LanguageResolver resolver = new LanguageResolver(new LanguageConfig(), new CacheConfig());
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "pt-BR|pt-BR",
+        "en-US|en-US",
+        "es|es-ES",
+        "EN-us|en-US",
+        "en-US,en;q=0.9,pt;q=0.8|en-US",
+        "fr-FR,fr;q=0.9,es;q=0.8,en;q=0.7|es-ES",
+        "en;q=0.5, es;q=0.8|es-ES",
+        "en;q=0.8, es;q=0.8|en-US",
+        "en-GB|en-US",
+        "es-419, en;q=0.5|es-ES",
+        "zh-Hant-TW, en;q=0.1|en-US",
+        "en;q=0, es|es-ES",
+        "fr|pt-BR",
+        "*|pt-BR",
+        "fr, *;q=0.5, en;q=0.1|pt-BR",
+        "en;q=abc, es;q=0.2|es-ES",
+        "en;;q=0.9, es;q=1.5|en-US",
+        "@@, es|es-ES",
+        " es-ES ; q=1.0 |es-ES"
+    })
+    void testResolve(String header, String expected) {
+        assertEquals(expected, resolver.resolve(header));
+    }
+
+    @Test
+    void testDefaultLanguage() {
+        assertEquals("pt-BR", resolver.resolve(null));
+        assertEquals("pt-BR", resolver.resolve(""));
+        assertEquals("pt-BR", resolver.resolve(",,;"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "e|pt-BR",
+        "e, es|es-ES",
+        "e-US|pt-BR",
+        "123|pt-BR",
+        "en-U|en-US",
+        "es-E, en;q=0.5|es-ES",
+        "enx-US|pt-BR"
+    })
+    void testRangesMatchOnWholeSubtags(String header, String expected) {
+        assertEquals(expected, resolver.resolve(header));
+    }
+
+    @Test
+    void testPrefixOfAnotherSubtagIsNotAMatch() {
+        LanguageConfig config = new LanguageConfig();
+        config.getSupportedLanguages().set(1, "eng");
+        LanguageResolver resolver = new LanguageResolver(config, new CacheConfig());
+
+        assertEquals("eng", resolver.resolve("eng"));
+        assertEquals("pt-BR", resolver.resolve("en"));
+        assertEquals("es-ES", resolver.resolve("en, es;q=0.5"));
+    }
+
+    @Test
+    void testParseOrdersByQuality() {
+        List<LanguageResolver.LanguageRange> ranges = LanguageResolver.parse("da, en-gb;q=0.8, en;q=0.7, fr;q=0, de;q=1");
+
+        assertEquals(List.of(
+                new LanguageResolver.LanguageRange("da", 1000),
+                new LanguageResolver.LanguageRange("de", 1000),
+                new LanguageResolver.LanguageRange("en-gb", 800),
+                new LanguageResolver.LanguageRange("en", 700)), ranges);
+    }
+
+    @Test
+    void testHeadersAreMemoized() {
+        resolver.resolve("en-US,en;q=0.9");
+        resolver.resolve("en-US,en;q=0.9");
+        resolver.resolve("es");
+
+        CacheStats stats = resolver.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.size());
+    }
+
+    @Test
+    void testLongHeadersAreNotMemoized() {
+        String header = "en;q=0.1" + ", x-foo".repeat(LanguageResolver.MAX_CACHED_HEADER_LENGTH);
+
+        assertEquals("en-US", resolver.resolve(header));
+        assertEquals(0, resolver.stats().size());
+    }
+}
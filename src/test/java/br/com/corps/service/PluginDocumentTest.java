@@ -0,0 +1,115 @@
+package br.com.corps.service;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginContainer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PluginDocumentTest {
+
+    private static final String NESTED = "{\"children\": [" +
+            "{\"type\": \"container\", \"feature\": \"dashboard\", \"style\": {\"fontFamily\": \"S\u00e3o\"}, \"children\": [" +
+            "{\"type\": \"points\", \"feature\": \"loyalty-points\", \"children\": [null, {\"type\": \"banner\", \"feature\": \"deep\"}]}]}," +
+            "{\"type\": \"card\", \"feature\": \"caf\u00e9\", \"style\": {\"textColor\": \"#333\"}}]}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testIndexingBindsNoPlugin() throws Exception {
+        PluginDocument document = PluginDocument.index(mapper, NESTED.getBytes(StandardCharsets.UTF_8), true);
+
+        assertEquals(2, document.getPlugins().size());
+        assertEquals(4, document.getNodes().size());
+        assertEquals("loyalty-points", document.featureOf(1));
+        assertEquals("caf\u00e9", document.featureOf(3));
+        for (int i = 0; i < document.getNodes().size(); i++) {
+            assertFalse(document.isBound(i));
+        }
+    }
+
+    @Test
+    void testPluginsAreBoundOnFirstRead() throws Exception {
+        PluginDocument document = PluginDocument.index(mapper, NESTED.getBytes(StandardCharsets.UTF_8), true);
+
+        Plugin deep = document.getNodes().get(2);
+
+        assertEquals("banner", deep.getType());
+        assertTrue(document.isBound(2));
+        assertFalse(document.isBound(0));
+        assertSame(deep, document.getNodes().get(2));
+        assertEquals("#333", document.getPlugins().get(1).getStyle().getTextColor());
+        assertSame(document.getPlugins().get(1), document.getNodes().get(3));
+        // Bound plugins are frozen like the eagerly parsed ones
+        assertThrows(UnsupportedOperationException.class,
+                () -> document.getPlugins().get(0).getChildren().add(Plugin.builder().build()));
+    }
+
+    @Test
+    void testBindsLikeTheEagerParser() throws Exception {
+        byte[] content;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("sdui-plugins.json")) {
+            content = in.readAllBytes();
+        }
+        List<Plugin> eager = mapper.readValue(content, PluginContainer.class).getChildren();
+
+        PluginDocument document = PluginDocument.index(mapper, content, true);
+
+        assertEquals(mapper.writeValueAsString(eager), mapper.writeValueAsString(document.getPlugins()));
+        List<Plugin> nodes = new ArrayList<>();
+        eager.forEach(plugin -> collect(plugin, nodes));
+        assertEquals(mapper.writeValueAsString(nodes), mapper.writeValueAsString(document.getNodes()));
+        for (int i = 0; i < nodes.size(); i++) {
+            assertEquals(nodes.get(i).getFeature(), document.featureOf(i));
+        }
+    }
+
+    @Test
+    void testNestedPluginsAreOnlyIndexedWhenRequested() throws Exception {
+        PluginDocument document = PluginDocument.index(mapper, NESTED.getBytes(StandardCharsets.UTF_8), false);
+
+        assertEquals(2, document.getNodes().size());
+        assertEquals("caf\u00e9", document.featureOf(1));
+        assertEquals(1, document.getPlugins().get(0).getChildren().size());
+    }
+
+    @Test
+    void testSnapshotSelectsWithoutBindingTheCatalog() throws Exception {
+        PluginDocument document = PluginDocument.index(mapper, NESTED.getBytes(StandardCharsets.UTF_8), true);
+        CatalogSnapshot snapshot = CatalogSnapshot.build(1, "hash", document);
+
+        List<Plugin> selected = snapshot.getFeatureIndex().select(List.of("deep"));
+
+        assertFalse(document.isBound(2));
+        assertEquals("banner", selected.get(0).getType());
+        assertFalse(document.isBound(0));
+        assertEquals(4, snapshot.getTemplate().getNodeCount());
+    }
+
+    @Test
+    void testInvalidCatalogs() {
+        assertThrows(IllegalArgumentException.class, () -> index("{\"type\": \"container\"}"));
+        assertThrows(IllegalArgumentException.class, () -> index("{\"children\": null}"));
+        assertThrows(IllegalArgumentException.class, () -> index("{\"children\": [{\"feature\": \"x\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> index("{\"children\": [null]}"));
+        assertThrows(IOException.class, () -> index("{\"children\": [{\"type\": \"card\"}"));
+    }
+
+    private void index(String content) throws IOException {
+        PluginDocument.index(mapper, content.getBytes(StandardCharsets.UTF_8), true);
+    }
+
+    private static void collect(Plugin plugin, List<Plugin> nodes) {
+        nodes.add(plugin);
+        if (plugin.getChildren() != null) {
+            plugin.getChildren().forEach(child -> collect(child, nodes));
+        }
+    }
+}
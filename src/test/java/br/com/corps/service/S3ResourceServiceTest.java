@@ -1,19 +1,31 @@
 package br.com.corps.service;
 
+import br.com.corps.cache.CacheStats;
+import br.com.corps.config.CacheConfig;
 import br.com.corps.config.LanguageConfig;
 import br.com.corps.model.Benefit;
 import br.com.corps.model.BenefitGroup;
 import br.com.corps.model.Plugin;
+import br.com.corps.snapshot.ContentSnapshot;
+import br.com.corps.store.FileSystemResourceStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +44,9 @@ public class S3ResourceServiceTest {
     @Inject
     private LanguageConfig languageConfig;
 
+    @TempDir
+    Path tempDir;
+
     @Test
     void testLoadCardBenefitsWithDefaultLanguage() {
         // Test with default language (pt-BR)
@@ -86,4 +101,147 @@ public class S3ResourceServiceTest {
         // Should return empty list for invalid card
         assertTrue(plugins.isEmpty(), "Should return empty list for invalid card");
     }
+
+    @Test
+    void testUnknownProfilesAreNotCached() {
+        int size = s3ResourceService.getCardBenefitsCacheStats().size();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(s3ResourceService.loadCardBenefits("unknown-" + i, "pt-BR").isEmpty());
+        }
+
+        assertEquals(size, s3ResourceService.getCardBenefitsCacheStats().size());
+    }
+
+    @Test
+    void testLoadCardBenefitsIsCached() {
+        s3ResourceService.invalidateAllCardBenefits();
+        CacheStats before = s3ResourceService.getCardBenefitsCacheStats();
+
+        List<Plugin> first = s3ResourceService.loadCardBenefits("gold", "en-US");
+        List<Plugin> second = s3ResourceService.loadCardBenefits("GOLD", "en");
+
+        // Profile and language are normalized, so both calls share the same parsed tree
+        assertSame(first, second);
+
+        CacheStats after = s3ResourceService.getCardBenefitsCacheStats();
+        assertEquals(before.misses() + 1, after.misses());
+        assertEquals(before.hits() + 1, after.hits());
+    }
+
+    @Test
+    void testCachedCardBenefitsAreUnmodifiable() {
+        List<Plugin> plugins = s3ResourceService.loadCardBenefits("black", "pt-BR");
+
+        assertThrows(UnsupportedOperationException.class, () -> plugins.add(Plugin.builder().build()));
+        assertThrows(UnsupportedOperationException.class,
+                () -> plugins.get(0).getBenefits().get(0).getBenefits().clear());
+    }
+
+    @Test
+    void testInvalidateCardBenefits() {
+        List<Plugin> first = s3ResourceService.loadCardBenefits("platinum", "es-ES");
+
+        s3ResourceService.invalidateCardBenefits("platinum", "es-ES");
+        List<Plugin> reloaded = s3ResourceService.loadCardBenefits("platinum", "es-ES");
+
+        assertNotSame(first, reloaded);
+        assertEquals(first, reloaded);
+    }
+
+    @Test
+    void testLanguageFallbackIsReadOnceAndCached() {
+        AtomicInteger defaultReads = new AtomicInteger();
+        S3ResourceService service = new S3ResourceService(objectMapper, key -> {
+            if (key.endsWith("/en-US.json")) {
+                return CompletableFuture.failedFuture(new IOException("Store unavailable"));
+            }
+            defaultReads.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(document("default")));
+        }, languageConfig, new CacheConfig(), ContentSnapshot.empty());
+
+        assertEquals("default", service.loadCardBenefits("black", "en-US").get(0).getFeature());
+        assertEquals("default", service.loadCardBenefits("black", "en-US").get(0).getFeature());
+        assertEquals("default", service.loadCardBenefits("black", "pt-BR").get(0).getFeature());
+
+        // The fallback tree is cached under the default language, the failed language is not
+        assertEquals(1, defaultReads.get());
+        assertEquals(1, service.getCardBenefitsCacheStats().size());
+        assertEquals(2, service.getCardBenefitsReadStats().fallbacks());
+    }
+
+    @Test
+    void testLanguageFallbackSharesTheDefaultLanguageTree() {
+        S3ResourceService service = new S3ResourceService(objectMapper, key -> key.endsWith("/en-US.json")
+                ? CompletableFuture.failedFuture(new IOException("Store unavailable"))
+                : CompletableFuture.completedFuture(Optional.of(document("default"))),
+                languageConfig, new CacheConfig(), ContentSnapshot.empty());
+        TranslationService translationService = new TranslationService(languageConfig, objectMapper,
+                new CacheConfig(), ContentSnapshot.empty());
+
+        List<Plugin> fallback = service.loadCardBenefits("black", "en-US");
+        assertSame(service.loadCardBenefits("black", "pt-BR"), fallback);
+        assertSame(fallback, service.loadCardBenefits("black", "en-US"));
+
+        // Every fallback render translates the same instance, so its template is compiled once
+        translationService.translatePlugins(service.loadCardBenefits("black", "en-US"), "black", "en-US");
+        translationService.translatePlugins(service.loadCardBenefits("black", "en-US"), "black", "en-US");
+        assertEquals(1, translationService.getTemplateCacheStats().size());
+        assertEquals(1, translationService.getTemplateCacheStats().hits());
+    }
+
+    @Test
+    void testReadsRacingAnInvalidationAreNotCached() {
+        CompletableFuture<Optional<byte[]>> read = new CompletableFuture<>();
+        S3ResourceService service = new S3ResourceService(objectMapper, key -> read,
+                languageConfig, new CacheConfig(), ContentSnapshot.empty());
+
+        CompletableFuture<List<Plugin>> loading = service.loadCardBenefitsAsync("black", "pt-BR");
+        service.invalidateAllCardBenefits();
+        read.complete(Optional.of(document("stale")));
+
+        assertEquals("stale", loading.join().get(0).getFeature());
+        assertEquals(0, service.getCardBenefitsCacheStats().size());
+    }
+
+    @Test
+    void testReadsRacingAReloadAreNotCached() {
+        CompletableFuture<Optional<byte[]>> read = new CompletableFuture<>();
+        S3ResourceService service = new S3ResourceService(objectMapper, key -> read,
+                languageConfig, new CacheConfig(), ContentSnapshot.empty());
+
+        CompletableFuture<List<Plugin>> loading = service.loadCardBenefitsAsync("black", "pt-BR");
+        // The reload does not see the key yet, so it cannot refresh what the pending read puts back
+        assertFalse(service.reloadCardBenefits());
+        read.complete(Optional.of(document("stale")));
+
+        assertEquals("stale", loading.join().get(0).getFeature());
+        assertEquals(0, service.getCardBenefitsCacheStats().size());
+    }
+
+    @Test
+    void testReloadCardBenefits() throws Exception {
+        Path file = tempDir.resolve("exclusive-area/black/home/pt-BR.json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "{\"children\": [{\"type\": \"card\", \"feature\": \"first\"}]}");
+        S3ResourceService service = new S3ResourceService(objectMapper, new FileSystemResourceStore(tempDir),
+                languageConfig, new CacheConfig(), ContentSnapshot.empty());
+        List<Plugin> first = service.loadCardBenefits("black", "pt-BR");
+
+        assertFalse(service.reloadCardBenefits(), "Unchanged content is kept");
+        assertSame(first, service.loadCardBenefits("black", "pt-BR"));
+
+        Files.writeString(file, "{\"children\": [{\"type\": \"card\", \"feature\": \"second\"}]}");
+        assertTrue(service.reloadCardBenefits());
+        assertEquals("second", service.loadCardBenefits("black", "pt-BR").get(0).getFeature());
+
+        Files.delete(file);
+        assertFalse(service.reloadCardBenefits(), "A resource gone missing keeps its last content");
+        assertEquals("second", service.loadCardBenefits("black", "pt-BR").get(0).getFeature());
+    }
+
+    private static byte[] document(String feature) {
+        return ("{\"children\": [{\"type\": \"card\", \"feature\": \"" + feature + "\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -1,8 +1,10 @@
 package br.com.corps.service;
 
 import br.com.corps.Configuration;
+import br.com.corps.config.CacheConfig;
 import br.com.corps.model.Plugin;
 import br.com.corps.model.PluginContainer;
+import br.com.corps.snapshot.ContentSnapshot;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.core.io.scan.ClassPathResourceLoader;
@@ -21,7 +23,10 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @MicronautTest
@@ -39,6 +44,9 @@ public class SDUIPluginServiceTest {
     @Mock
     private Configuration config;
 
+    @Mock
+    private TranslationService translationService;
+
     private SDUIPluginService pluginService;
 
     @BeforeEach
@@ -55,7 +63,7 @@ public class SDUIPluginServiceTest {
         when(classPathResourceLoader.getResourceAsStream(anyString())).thenReturn(Optional.of(inputStream));
         
         // Initialize service
-        pluginService = new SDUIPluginService(objectMapper, resourceResolver, config);
+        pluginService = new SDUIPluginService(objectMapper, resourceResolver, config, translationService, new CacheConfig(), ContentSnapshot.empty());
         pluginService.init();
     }
 
@@ -134,7 +142,7 @@ public class SDUIPluginServiceTest {
         when(classPathResourceLoader.getResourceAsStream(anyString())).thenReturn(Optional.empty());
         
         // Create new service instance
-        SDUIPluginService failingService = new SDUIPluginService(objectMapper, resourceResolver, config);
+        SDUIPluginService failingService = new SDUIPluginService(objectMapper, resourceResolver, config, translationService, new CacheConfig(), ContentSnapshot.empty());
         failingService.init();
         
         // Verify that the service handles the failure gracefully
@@ -143,6 +151,205 @@ public class SDUIPluginServiceTest {
         assertTrue(plugins.isEmpty());
     }
     
+    @Test
+    void testGetPluginsByFeatureKeepsCatalogOrder() {
+        // Features requested in reverse order and duplicated
+        List<Plugin> plugins = pluginService.getPluginsByFeature(Arrays.asList("platinum-card", "black-card", "platinum-card"));
+
+        assertEquals(2, plugins.size());
+        assertEquals("black-card", plugins.get(0).getFeature());
+        assertEquals("platinum-card", plugins.get(1).getFeature());
+    }
+
+    @Test
+    void testCompileFeaturesIsCanonical() {
+        FeatureMask mask = pluginService.compileFeatures(Arrays.asList("black-card", "gold-card"));
+
+        assertEquals(mask, pluginService.compileFeatures(Arrays.asList("gold-card", "black-card", "gold-card")));
+        assertEquals(mask, pluginService.compileFeatures(Arrays.asList("gold-card", "non-existent", "black-card")));
+        assertNotEquals(mask, pluginService.compileFeatures(Collections.singletonList("gold-card")));
+        assertEquals(2, mask.cardinality());
+        assertTrue(pluginService.compileFeatures(Collections.singletonList("non-existent")).isEmpty());
+    }
+
+    @Test
+    void testTranslatedSelectionsAreMemoized() {
+        when(translationService.translate(any(TranslationTemplate.class), eq("black"), eq("en-US")))
+                .thenAnswer(invocation -> invocation.<TranslationTemplate>getArgument(0).getSource());
+
+        List<Plugin> first = pluginService.getPluginsByFeature(
+                pluginService.compileFeatures(Arrays.asList("platinum-card", "black-card")), "en-US");
+        List<Plugin> second = pluginService.getPluginsByFeature(
+                pluginService.compileFeatures(Arrays.asList("black-card", "platinum-card")), "en-US");
+
+        assertSame(first, second);
+        assertEquals("black-card", first.get(0).getFeature());
+        assertEquals("platinum-card", first.get(1).getFeature());
+        verify(translationService, times(1)).translate(any(TranslationTemplate.class), eq("black"), eq("en-US"));
+        // Selections are new lists, they must not go through the identity keyed template cache
+        verify(translationService, never()).translatePlugins(anyList(), anyString(), anyString());
+        assertEquals(1, pluginService.getSelectionCacheStats().hits());
+    }
+
+    @Test
+    void testUntranslatedSelection() {
+        List<Plugin> plugins = pluginService.getPluginsByFeature(
+                pluginService.compileFeatures(Collections.singletonList("gold-card")), null);
+
+        assertEquals(1, plugins.size());
+        verifyNoInteractions(translationService);
+    }
+
+    @Test
+    void testNestedFeaturesAreIgnoredByDefault() throws Exception {
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createNestedPluginsJson().getBytes())));
+
+        SDUIPluginService nestedService = new SDUIPluginService(objectMapper, resourceResolver, config, translationService, new CacheConfig(), ContentSnapshot.empty());
+        nestedService.init();
+
+        assertTrue(nestedService.getPluginsByFeature(Collections.singletonList("loyalty-points")).isEmpty());
+        assertEquals(1, nestedService.getPluginsByFeature(Collections.singletonList("dashboard")).size());
+    }
+
+    @Test
+    void testNestedFeaturesWhenEnabled() throws Exception {
+        when(config.isIncludeNestedFeatures()).thenReturn(true);
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createNestedPluginsJson().getBytes())));
+
+        SDUIPluginService nestedService = new SDUIPluginService(objectMapper, resourceResolver, config, translationService, new CacheConfig(), ContentSnapshot.empty());
+        nestedService.init();
+
+        List<Plugin> plugins = nestedService.getPluginsByFeature(Collections.singletonList("loyalty-points"));
+        assertEquals(1, plugins.size());
+        assertEquals("points-summary-plugin", plugins.get(0).getType());
+
+        // Plugins nested at any depth are indexed
+        assertEquals(1, nestedService.getPluginsByFeature(Collections.singletonList("deep-banner")).size());
+    }
+
+    @Test
+    void testLazyParsing() throws Exception {
+        when(config.isLazyParsing()).thenReturn(true);
+        when(config.isIncludeNestedFeatures()).thenReturn(true);
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createNestedPluginsJson().getBytes())));
+
+        SDUIPluginService lazyService = new SDUIPluginService(objectMapper, resourceResolver, config, translationService, new CacheConfig(), ContentSnapshot.empty());
+        lazyService.init();
+
+        assertEquals(1, lazyService.getAllPlugins().size());
+        assertEquals("banner", lazyService.getPluginsByFeature(Collections.singletonList("deep-banner")).get(0).getType());
+        assertEquals("points-summary-plugin",
+                lazyService.getAllPlugins().get(0).getChildren().get(0).getType());
+
+        // Structural errors are still rejected when the catalog is indexed
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream("{\"children\": [{\"feature\": \"x\"}]}".getBytes())));
+        assertFalse(lazyService.reload());
+    }
+
+    @Test
+    void testReloadPublishesChangedCatalog() throws Exception {
+        FeatureMask oldMask = pluginService.compileFeatures(Collections.singletonList("black-card"));
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createNestedPluginsJson().getBytes())));
+
+        assertTrue(pluginService.reload());
+
+        assertEquals(1, pluginService.getAllPlugins().size());
+        assertEquals(1, pluginService.getPluginsByFeature(Collections.singletonList("dashboard")).size());
+        assertTrue(pluginService.getPluginsByFeature(Collections.singletonList("black-card")).isEmpty());
+        // Masks compiled before the reload keep selecting from the catalog they were compiled against
+        assertEquals("black-card", pluginService.getPluginsByFeature(oldMask, null).get(0).getFeature());
+    }
+
+    @Test
+    void testReloadWithUnchangedContent() {
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createTestPluginsJson().getBytes())));
+
+        assertFalse(pluginService.reload());
+    }
+
+    @Test
+    void testReloadRejectsInvalidCatalog() {
+        List<Plugin> before = pluginService.getAllPlugins();
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream("{\"children\": [{\"feature\": \"x\"}]}".getBytes())));
+
+        assertFalse(pluginService.reload());
+        assertSame(before, pluginService.getAllPlugins());
+    }
+
+    @Test
+    void testReloadDropsTranslatedSelections() {
+        when(translationService.translate(any(TranslationTemplate.class), eq("black"), eq("en-US")))
+                .thenAnswer(invocation -> invocation.<TranslationTemplate>getArgument(0).getSource());
+        pluginService.getAllPlugins("en-US");
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createNestedPluginsJson().getBytes())));
+
+        assertTrue(pluginService.reload());
+
+        assertEquals("dashboard", pluginService.getAllPlugins("en-US").get(0).getFeature());
+        verify(translationService, times(2)).translate(any(TranslationTemplate.class), eq("black"), eq("en-US"));
+    }
+
+    @Test
+    void testSnapshotVersions() {
+        CatalogSnapshot first = pluginService.getSnapshot();
+        assertEquals(1, first.getVersion());
+        assertNotNull(first.getContentHash());
+        assertSame(first.getPlugins(), pluginService.getAllPlugins());
+        assertThrows(UnsupportedOperationException.class, () -> first.getPlugins().add(Plugin.builder().build()));
+
+        when(classPathResourceLoader.getResourceAsStream(anyString()))
+                .thenReturn(Optional.of(new ByteArrayInputStream(createNestedPluginsJson().getBytes())));
+        assertTrue(pluginService.reload());
+
+        CatalogSnapshot second = pluginService.getSnapshot();
+        assertEquals(2, second.getVersion());
+        assertNotEquals(first.getContentHash(), second.getContentHash());
+        // Readers holding the previous snapshot keep a consistent view of it
+        assertEquals("black-card", first.getPlugins().get(0).getFeature());
+        assertEquals(1, first.compile(Collections.singletonList("black-card")).cardinality());
+    }
+
+    @Test
+    void testAllPluginsOfSnapshotAreMemoized() {
+        when(translationService.translate(any(TranslationTemplate.class), eq("black"), eq("es-ES")))
+                .thenAnswer(invocation -> invocation.<TranslationTemplate>getArgument(0).getSource());
+        CatalogSnapshot snapshot = pluginService.getSnapshot();
+
+        assertSame(pluginService.getAllPlugins(snapshot, "es-ES"), pluginService.getAllPlugins(snapshot, "es-ES"));
+        verify(translationService, times(1)).translate(snapshot.getTemplate(), "black", "es-ES");
+    }
+
+    /**
+     * Creates test JSON content with plugins nested in children
+     */
+    private String createNestedPluginsJson() {
+        return "{\n" +
+               "  \"children\": [\n" +
+               "    {\n" +
+               "      \"type\": \"container\",\n" +
+               "      \"feature\": \"dashboard\",\n" +
+               "      \"children\": [\n" +
+               "        {\n" +
+               "          \"type\": \"points-summary-plugin\",\n" +
+               "          \"feature\": \"loyalty-points\",\n" +
+               "          \"children\": [\n" +
+               "            { \"type\": \"banner\", \"feature\": \"deep-banner\" }\n" +
+               "          ]\n" +
+               "        }\n" +
+               "      ]\n" +
+               "    }\n" +
+               "  ]\n" +
+               "}";
+    }
+
     /**
      * Creates test JSON content for plugins
      */
@@ -0,0 +1,172 @@
+package br.com.corps.service;
+
+import br.com.corps.model.ApiResponse;
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Modifier;
+import br.com.corps.model.Plugin;
+import br.com.corps.model.Points;
+import br.com.corps.model.Style;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranslatedPluginsTest {
+
+    private static final Map<String, String> TRANSLATIONS = Map.of(
+            "travel_insurance", "Travel insurance",
+            "concierge", "");
+
+    @Test
+    void testStreamsLikeTheTranslatedTree() throws Exception {
+        assertStreamsLikeTranslatedTree(new ObjectMapper());
+    }
+
+    @Test
+    void testFollowsPropertyInclusion() throws Exception {
+        assertStreamsLikeTranslatedTree(new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL));
+        assertStreamsLikeTranslatedTree(new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .enable(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    @Test
+    void testSortedPropertiesBuildTheTree() throws Exception {
+        assertStreamsLikeTranslatedTree(JsonMapper.builder()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .build());
+    }
+
+    @Test
+    void testWritesTheSameBytesForEveryMapperInUse() throws Exception {
+        ObjectMapper application = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        // The mappers of the response formats, see ResponseCache
+        assertSameBytes(application);
+        assertSameBytes(application.copy().disable(SerializationFeature.INDENT_OUTPUT));
+        assertSameBytes(application.copyWith(new SmileFactory()).disable(SerializationFeature.INDENT_OUTPUT));
+        assertSameBytes(application.copyWith(new CBORFactory()).disable(SerializationFeature.INDENT_OUTPUT));
+        assertSameBytes(application.copyWith(new MessagePackFactory()).disable(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    @Test
+    void testFollowsModelAnnotations() throws Exception {
+        assertSameBytes(new ObjectMapper()
+                .addMixIn(Plugin.class, ReorderedPlugin.class)
+                .addMixIn(BenefitGroup.class, RenamedGroup.class)
+                .addMixIn(Benefit.class, RenamedBenefit.class));
+        assertSameBytes(new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE));
+    }
+
+    @Test
+    void testSerializersItCannotFollowBuildTheTree() throws Exception {
+        assertSameBytes(new ObjectMapper().addMixIn(Plugin.class, TypedPlugin.class));
+        ObjectMapper mapper = new ObjectMapper();
+        TranslationTemplate template = TranslationTemplate.compile(createPlugins());
+        String[] values = template.resolve(TRANSLATIONS);
+        assertArrayEquals(mapper.writerWithView(Object.class).writeValueAsBytes(new ArrayList<>(template.fill(values))),
+                mapper.writerWithView(Object.class).writeValueAsBytes(new TranslatedPlugins(template, values)));
+    }
+
+    @Test
+    void testSerializingDoesNotBuildTheTree() throws Exception {
+        TranslationTemplate template = TranslationTemplate.compile(createPlugins());
+        TranslatedPlugins translated = new TranslatedPlugins(template, template.resolve(TRANSLATIONS));
+
+        new ObjectMapper().writeValueAsBytes(ApiResponse.success(translated, "en-US"));
+        assertFalse(translated.isMaterialized());
+
+        assertEquals("Travel insurance", translated.get(0).getBenefits().get(0).getBenefits().get(0).getText());
+        assertTrue(translated.isMaterialized());
+        assertEquals(2, translated.size());
+        assertThrows(UnsupportedOperationException.class, () -> translated.add(Plugin.builder().build()));
+    }
+
+    private void assertStreamsLikeTranslatedTree(ObjectMapper mapper) throws Exception {
+        TranslationTemplate template = TranslationTemplate.compile(createPlugins());
+        String[] values = template.resolve(TRANSLATIONS);
+        TranslatedPlugins translated = new TranslatedPlugins(template, values);
+        List<Plugin> built = new ArrayList<>(template.fill(values));
+
+        assertEquals(mapper.writeValueAsString(built), mapper.writeValueAsString(translated));
+        assertEquals(mapper.writeValueAsString(ApiResponse.success(built, "en-US")),
+                mapper.writeValueAsString(ApiResponse.success(translated, "en-US")));
+    }
+
+    private void assertSameBytes(ObjectMapper mapper) throws Exception {
+        TranslationTemplate template = TranslationTemplate.compile(createPlugins());
+        String[] values = template.resolve(TRANSLATIONS);
+        List<Plugin> built = new ArrayList<>(template.fill(values));
+
+        assertArrayEquals(mapper.writeValueAsBytes(ApiResponse.success(built, "en-US")),
+                mapper.writeValueAsBytes(ApiResponse.success(new TranslatedPlugins(template, values), "en-US")));
+    }
+
+    @JsonPropertyOrder({"children", "benefits", "type"})
+    @JsonIgnoreProperties("style")
+    abstract static class ReorderedPlugin {
+    }
+
+    abstract static class RenamedGroup {
+        @JsonProperty("items")
+        abstract List<Benefit> getBenefits();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    abstract static class RenamedBenefit {
+        @JsonProperty("label")
+        abstract String getText();
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+    abstract static class TypedPlugin {
+    }
+
+    private List<Plugin> createPlugins() {
+        Plugin child = Plugin.builder()
+                .type("benefit-item")
+                .benefits(List.of(BenefitGroup.builder()
+                        .profile("Gold")
+                        .benefits(List.of(new Benefit("key:concierge", "concierge.svg")))
+                        .build()))
+                .children(List.of())
+                .build();
+        Plugin untranslated = Plugin.builder()
+                .type("points-summary-plugin")
+                .feature("loyalty-points")
+                .points(new Points(12450, "2025-07-14T15:32:00Z", "pontos"))
+                .build();
+        Plugin root = Plugin.builder()
+                .type("card-benefits-plugin")
+                .feature("mastercard-benefits")
+                .modifier(new Modifier("16dp", "12dp", "center"))
+                .style(new Style("#FFFFFF", "8dp", "#333333", true, "Roboto", null))
+                .benefits(List.of(
+                        BenefitGroup.builder()
+                                .profile("Black")
+                                .benefits(List.of(
+                                        new Benefit("key:travel_insurance", "travel.svg"),
+                                        new Benefit("Literal text", null),
+                                        new Benefit("key:missing_key", null)))
+                                .build(),
+                        BenefitGroup.builder().profile("Gold").benefits(List.of()).build()))
+                .children(List.of(child, untranslated))
+                .build();
+        return List.of(root, untranslated);
+    }
+}
@@ -1,9 +1,11 @@
 package br.com.corps.service;
 
+import br.com.corps.config.CacheConfig;
 import br.com.corps.config.LanguageConfig;
 import br.com.corps.model.Benefit;
 import br.com.corps.model.BenefitGroup;
 import br.com.corps.model.Plugin;
+import br.com.corps.snapshot.ContentSnapshot;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
@@ -57,7 +59,7 @@ public class TranslationServiceTest {
         // Create test translation files
         createTestTranslationFiles();
         
-        translationService = new TranslationService(languageConfig, objectMapper);
+        translationService = new TranslationService(languageConfig, objectMapper, new CacheConfig(), ContentSnapshot.empty());
     }
 
     private void createTestTranslationFiles() throws IOException {
@@ -150,17 +152,15 @@ public class TranslationServiceTest {
     @Test
     void testTranslateBenefitGroup() {
         // Setup
-        BenefitGroup benefitGroup = new BenefitGroup();
-        Benefit benefit = new Benefit();
-        benefit.setText("key:unlimited_access_vip_lounges");
-        benefit.setIcon("https://cdn.mastercard.com/content/assets/icons/airport.svg");
-        benefitGroup.setBenefits(Arrays.asList(benefit));
+        Benefit benefit = new Benefit("key:unlimited_access_vip_lounges",
+                "https://cdn.mastercard.com/content/assets/icons/airport.svg");
+        BenefitGroup benefitGroup = BenefitGroup.builder().benefits(Arrays.asList(benefit)).build();
         
         // Get translations map
         Map<String, String> translations = getTranslations("black", "en-US");
         
-        // Use reflection to access private method
-        BenefitGroup translatedGroup = translateBenefitGroupWithReflection(benefitGroup, translations);
+        // Translate through a compiled template
+        BenefitGroup translatedGroup = translateBenefitGroup(benefitGroup, translations);
         
         // Verify translation
         assertNotNull(translatedGroup);
@@ -173,17 +173,15 @@ public class TranslationServiceTest {
     @Test
     void testTranslateBenefitGroupWithMissingKey() {
         // Setup
-        BenefitGroup benefitGroup = new BenefitGroup();
-        Benefit benefit = new Benefit();
-        benefit.setText("key:non_existent_key");
-        benefit.setIcon("https://cdn.mastercard.com/content/assets/icons/generic.svg");
-        benefitGroup.setBenefits(Arrays.asList(benefit));
+        Benefit benefit = new Benefit("key:non_existent_key",
+                "https://cdn.mastercard.com/content/assets/icons/generic.svg");
+        BenefitGroup benefitGroup = BenefitGroup.builder().benefits(Arrays.asList(benefit)).build();
         
         // Get translations map
         Map<String, String> translations = getTranslations("black", "en-US");
         
-        // Use reflection to access private method
-        BenefitGroup translatedGroup = translateBenefitGroupWithReflection(benefitGroup, translations);
+        // Translate through a compiled template
+        BenefitGroup translatedGroup = translateBenefitGroup(benefitGroup, translations);
         
         // Verify that missing key is preserved as is
         assertNotNull(translatedGroup);
@@ -196,17 +194,15 @@ public class TranslationServiceTest {
     @Test
     void testTranslateBenefitGroupWithFallback() {
         // Setup
-        BenefitGroup benefitGroup = new BenefitGroup();
-        Benefit benefit = new Benefit();
-        benefit.setText("key:unlimited_access_vip_lounges");
-        benefit.setIcon("https://cdn.mastercard.com/content/assets/icons/airport.svg");
-        benefitGroup.setBenefits(Arrays.asList(benefit));
+        Benefit benefit = new Benefit("key:unlimited_access_vip_lounges",
+                "https://cdn.mastercard.com/content/assets/icons/airport.svg");
+        BenefitGroup benefitGroup = BenefitGroup.builder().benefits(Arrays.asList(benefit)).build();
         
         // Get translations map for default language (pt-BR)
         Map<String, String> translations = getTranslations("black", "pt-BR");
         
-        // Use reflection to access private method
-        BenefitGroup translatedGroup = translateBenefitGroupWithReflection(benefitGroup, translations);
+        // Translate through a compiled template
+        BenefitGroup translatedGroup = translateBenefitGroup(benefitGroup, translations);
         
         // Verify translation (should be in Portuguese - default language)
         assertNotNull(translatedGroup);
@@ -221,16 +217,10 @@ public class TranslationServiceTest {
     void testTranslatePluginsWithMissingKey() {
         // Setup
         List<Plugin> plugins = new ArrayList<>();
-        Plugin plugin = new Plugin();
-        
-        BenefitGroup benefitGroup = new BenefitGroup();
-        Benefit benefit = new Benefit();
-        benefit.setText("key:non_existent_key");
-        benefit.setIcon("https://cdn.mastercard.com/content/assets/icons/generic.svg");
-        
-        benefitGroup.setBenefits(Arrays.asList(benefit));
-        plugin.setBenefits(Arrays.asList(benefitGroup));
-        plugins.add(plugin);
+        Benefit benefit = new Benefit("key:non_existent_key",
+                "https://cdn.mastercard.com/content/assets/icons/generic.svg");
+        BenefitGroup benefitGroup = BenefitGroup.builder().benefits(Arrays.asList(benefit)).build();
+        plugins.add(Plugin.builder().benefits(Arrays.asList(benefitGroup)).build());
         
         // Translate plugins
         List<Plugin> translatedPlugins = translationService.translatePlugins(plugins, "black", "en-US");
@@ -250,18 +240,14 @@ public class TranslationServiceTest {
     void testTranslatePluginsWithNonKeyText() {
         // Create test plugins with regular text (not keys)
         List<Plugin> plugins = new ArrayList<>();
-        Plugin plugin = new Plugin();
-        plugin.setType("benefits-section");
-        plugin.setFeature("black-benefits");
-        
-        BenefitGroup benefitGroup = new BenefitGroup();
-        Benefit benefit = new Benefit();
-        benefit.setText("Regular text without key prefix");
-        benefit.setIcon("https://cdn.mastercard.com/content/assets/icons/generic.svg");
-        
-        benefitGroup.setBenefits(Arrays.asList(benefit));
-        plugin.setBenefits(Arrays.asList(benefitGroup));
-        plugins.add(plugin);
+        Benefit benefit = new Benefit("Regular text without key prefix",
+                "https://cdn.mastercard.com/content/assets/icons/generic.svg");
+        BenefitGroup benefitGroup = BenefitGroup.builder().benefits(Arrays.asList(benefit)).build();
+        plugins.add(Plugin.builder()
+                .type("benefits-section")
+                .feature("black-benefits")
+                .benefits(Arrays.asList(benefitGroup))
+                .build());
         
         // Translate plugins
         List<Plugin> translatedPlugins = translationService.translatePlugins(plugins, "black", "en-US");
@@ -277,25 +263,129 @@ public class TranslationServiceTest {
         assertEquals("Regular text without key prefix", benefitGroups.get(0).getBenefits().get(0).getText());
     }
 
+    @Test
+    void testTranslatePluginsReusesCompiledTemplate() {
+        List<Plugin> plugins = createTestPlugins();
+
+        List<Plugin> english = translationService.translatePlugins(plugins, "black", "en-US");
+        List<Plugin> portuguese = translationService.translatePlugins(plugins, "black", "pt-BR");
+
+        assertEquals("Unlimited access to airport VIP lounges (LoungeKey)",
+                english.get(0).getBenefits().get(0).getBenefits().get(0).getText());
+        assertTrue(portuguese.get(0).getBenefits().get(0).getBenefits().get(0).getText()
+                .startsWith("Acesso ilimitado a salas VIP"));
+    }
+
+    @Test
+    void testCompiledTemplateSlots() {
+        Benefit repeated = new Benefit("key:travel_insurance", null);
+        Benefit literal = new Benefit("Literal text", null);
+        BenefitGroup childGroup = BenefitGroup.builder().benefits(Arrays.asList(repeated, literal)).build();
+        Plugin child = Plugin.builder().benefits(Arrays.asList(childGroup)).build();
+        Plugin plugin = createTestPlugins().get(0).toBuilder().children(Arrays.asList(child)).build();
+
+        TranslationTemplate template = TranslationTemplate.compile(Arrays.asList(plugin));
+
+        // Repeated keys share a slot and literal texts take none
+        assertEquals(2, template.getSlotCount());
+
+        List<Plugin> translated = template.fill(Map.of("travel_insurance", "Travel insurance"));
+        List<Benefit> childBenefits = translated.get(0).getChildren().get(0).getBenefits().get(0).getBenefits();
+        assertEquals("Travel insurance", childBenefits.get(0).getText());
+        assertEquals("Literal text", childBenefits.get(1).getText());
+        assertEquals("key:unlimited_access_vip_lounges",
+                translated.get(0).getBenefits().get(0).getBenefits().get(0).getText());
+    }
+
+    @Test
+    void testTranslationSharesNodesWithoutKeys() {
+        BenefitGroup literalGroup = new BenefitGroup("Black", Arrays.asList(new Benefit("Literal text", null)));
+        Plugin literalPlugin = Plugin.builder().benefits(Arrays.asList(literalGroup)).build();
+
+        Plugin testPlugin = createTestPlugins().get(0);
+        BenefitGroup testGroup = testPlugin.getBenefits().get(0);
+        Benefit literalBenefit = new Benefit("Another literal", null);
+        BenefitGroup mixedGroup = testGroup.toBuilder()
+                .benefits(Arrays.asList(testGroup.getBenefits().get(0), literalBenefit))
+                .build();
+        Plugin keyPlugin = testPlugin.toBuilder().benefits(Arrays.asList(mixedGroup, literalGroup)).build();
+
+        Plugin parent = Plugin.builder().children(Arrays.asList(literalPlugin, keyPlugin)).build();
+
+        TranslationTemplate template = TranslationTemplate.compile(Arrays.asList(parent));
+        List<Plugin> translated = template.fill(Map.of("unlimited_access_vip_lounges", "VIP lounges"));
+
+        // Only the path from the root to the translated benefit is copied
+        Plugin translatedParent = translated.get(0);
+        assertNotSame(parent, translatedParent);
+        assertSame(literalPlugin, translatedParent.getChildren().get(0));
+        Plugin translatedKeyPlugin = translatedParent.getChildren().get(1);
+        assertNotSame(keyPlugin, translatedKeyPlugin);
+        assertSame(literalGroup, translatedKeyPlugin.getBenefits().get(1));
+        assertEquals("VIP lounges", translatedKeyPlugin.getBenefits().get(0).getBenefits().get(0).getText());
+        assertSame(literalBenefit, translatedKeyPlugin.getBenefits().get(0).getBenefits().get(1));
+    }
+
+    @Test
+    void testTranslationWithoutKeysReturnsSource() {
+        List<Plugin> plugins = new ArrayList<>();
+        plugins.add(Plugin.builder()
+                .benefits(Arrays.asList(new BenefitGroup("Black", Arrays.asList(new Benefit("Literal text", null)))))
+                .build());
+
+        TranslationTemplate template = TranslationTemplate.compile(plugins);
+
+        assertFalse(template.isTranslatable());
+        assertSame(plugins, translationService.translatePlugins(plugins, "black", "en-US"));
+    }
+
+    @Test
+    void testTranslatePluginsUsesProfileBundle() {
+        List<Plugin> plugins = createTestPlugins();
+
+        List<Benefit> gold = translationService.translatePlugins(plugins, "gold", "en-US")
+                .get(0).getBenefits().get(0).getBenefits();
+        List<Benefit> platinum = translationService.translatePlugins(plugins, "PLATINUM", "en-US")
+                .get(0).getBenefits().get(0).getBenefits();
+
+        assertEquals("Travel insurance up to $500,000", gold.get(1).getText());
+        assertEquals("Travel insurance up to $750,000", platinum.get(1).getText());
+    }
+
+    @Test
+    void testTranslatePluginsWithUnknownProfile() {
+        List<Plugin> plugins = createTestPlugins();
+
+        List<Benefit> benefits = translationService.translatePlugins(plugins, "../black", "en-US")
+                .get(0).getBenefits().get(0).getBenefits();
+
+        assertEquals("key:unlimited_access_vip_lounges", benefits.get(0).getText());
+    }
+
+    @Test
+    void testReloadTranslationsWithoutChanges() {
+        List<Plugin> translated = translationService.translatePlugins(createTestPlugins(), "black", "en-US");
+
+        assertFalse(translationService.reloadTranslations());
+        assertEquals(translated.get(0).getBenefits().get(0).getBenefits().get(0).getText(),
+                translationService.translatePlugins(createTestPlugins(), "black", "en-US")
+                        .get(0).getBenefits().get(0).getBenefits().get(0).getText());
+    }
+
     private List<Plugin> createTestPlugins() {
         List<Plugin> plugins = new ArrayList<>();
         
-        Plugin plugin = new Plugin();
-        plugin.setType("benefits-section");
-        plugin.setFeature("black-benefits");
+        Benefit benefit1 = new Benefit("key:unlimited_access_vip_lounges",
+                "https://cdn.mastercard.com/content/assets/icons/airport.svg");
+        Benefit benefit2 = new Benefit("key:travel_insurance",
+                "https://cdn.mastercard.com/content/assets/icons/insurance.svg");
+        BenefitGroup benefitGroup = BenefitGroup.builder().benefits(Arrays.asList(benefit1, benefit2)).build();
         
-        BenefitGroup benefitGroup = new BenefitGroup();
-        Benefit benefit1 = new Benefit();
-        benefit1.setText("key:unlimited_access_vip_lounges");
-        benefit1.setIcon("https://cdn.mastercard.com/content/assets/icons/airport.svg");
-        
-        Benefit benefit2 = new Benefit();
-        benefit2.setText("key:travel_insurance");
-        benefit2.setIcon("https://cdn.mastercard.com/content/assets/icons/insurance.svg");
-        
-        benefitGroup.setBenefits(Arrays.asList(benefit1, benefit2));
-        plugin.setBenefits(Arrays.asList(benefitGroup));
-        plugins.add(plugin);
+        plugins.add(Plugin.builder()
+                .type("benefits-section")
+                .feature("black-benefits")
+                .benefits(Arrays.asList(benefitGroup))
+                .build());
         
         return plugins;
     }
@@ -329,17 +419,10 @@ public class TranslationServiceTest {
     }
     
     /**
-     * Helper method to use reflection to call private translateBenefitGroup method
+     * Helper method to translate a single benefit group through a compiled template
      */
-    private BenefitGroup translateBenefitGroupWithReflection(BenefitGroup benefitGroup, Map<String, String> translations) {
-        try {
-            java.lang.reflect.Method method = TranslationService.class.getDeclaredMethod(
-                "translateBenefitGroup", BenefitGroup.class, Map.class);
-            method.setAccessible(true);
-            return (BenefitGroup) method.invoke(translationService, benefitGroup, translations);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+    private BenefitGroup translateBenefitGroup(BenefitGroup benefitGroup, Map<String, String> translations) {
+        Plugin holder = Plugin.builder().benefits(Arrays.asList(benefitGroup)).build();
+        return TranslationTemplate.compile(Arrays.asList(holder)).fill(translations).get(0).getBenefits().get(0);
     }
 }
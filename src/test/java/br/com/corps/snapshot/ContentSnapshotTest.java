@@ -0,0 +1,154 @@
+package br.com.corps.snapshot;
+
+import br.com.corps.model.Plugin;
+import br.com.corps.model.PluginContainer;
+import br.com.corps.service.CatalogSnapshot;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentSnapshotTest {
+
+    private static final String DOCUMENT = "s3/exclusive-area/gold/home/en-US.json";
+    private static final String BUNDLE = "i18n/black/pt-BR.json";
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    void testDecodesLikeTheJsonContent() throws Exception {
+        ContentSnapshot snapshot = ContentSnapshot.read(compile(contentRoot()), mapper);
+
+        byte[] catalog = resource(ContentSnapshotCompiler.CATALOG_FILE);
+        assertEquals(json(mapper.readValue(catalog, PluginContainer.class).getChildren()),
+                json(snapshot.getCatalog(CatalogSnapshot.contentHash(catalog))));
+        assertEquals(json(mapper.readValue(resource(DOCUMENT), PluginContainer.class).getChildren()),
+                json(snapshot.getDocument(DOCUMENT)));
+        assertEquals(mapper.readValue(resource(BUNDLE), new TypeReference<Map<String, String>>() {}),
+                snapshot.getBundle(BUNDLE));
+    }
+
+    @Test
+    void testEveryModelPropertyRoundTrips() throws Exception {
+        // Built from the model itself, so a property added later is covered without touching the test
+        ArrayNode children = mapper.createArrayNode().add(sample(mapper.constructType(Plugin.class), 2));
+        Path document = tempDir.resolve(DOCUMENT);
+        Files.createDirectories(document.getParent());
+        mapper.writeValue(document.toFile(), mapper.createObjectNode().set("children", children));
+
+        ContentSnapshot snapshot = ContentSnapshot.read(compile(tempDir), mapper);
+
+        assertEquals(children, mapper.valueToTree(snapshot.getDocument(DOCUMENT)));
+    }
+
+    @Test
+    void testEveryLookupDecodesNewObjects() throws Exception {
+        ContentSnapshot snapshot = ContentSnapshot.read(compile(contentRoot()), mapper);
+
+        List<Plugin> first = snapshot.getDocument(DOCUMENT);
+        first.clear();
+
+        assertFalse(snapshot.getDocument(DOCUMENT).isEmpty());
+    }
+
+    @Test
+    void testUnknownContent() throws Exception {
+        ContentSnapshot snapshot = ContentSnapshot.read(compile(contentRoot()), mapper);
+
+        assertNull(snapshot.getCatalog(CatalogSnapshot.contentHash("{}".getBytes())));
+        assertNull(snapshot.getDocument("s3/exclusive-area/none/home/en-US.json"));
+        assertNull(snapshot.getBundle("i18n/none/en-US.json"));
+        assertNull(ContentSnapshot.empty().getBundle(BUNDLE));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws Exception {
+        byte[] data = compile(contentRoot());
+
+        assertThrows(IOException.class, () -> ContentSnapshot.read("{\"children\": []}".getBytes(), mapper));
+        assertThrows(IOException.class, () -> ContentSnapshot.read(Arrays.copyOf(data, data.length / 2), mapper));
+    }
+
+    @Test
+    void testInvalidContentFailsTheBuild() throws Exception {
+        Files.writeString(tempDir.resolve(ContentSnapshotCompiler.CATALOG_FILE), "{\"children\": [{\"feature\": \"x\"}]}");
+
+        assertThrows(IOException.class, () -> ContentSnapshotCompiler.compile(tempDir, mapper));
+    }
+
+    @Test
+    void testCompilerWritesTheSnapshot() throws Exception {
+        Path target = tempDir.resolve("sdui-content.bin");
+
+        ContentSnapshotCompiler.main(new String[]{contentRoot().toString(), target.toString()});
+
+        assertNotNull(ContentSnapshot.read(Files.readAllBytes(target), mapper).getBundle(BUNDLE));
+    }
+
+    private byte[] compile(Path root) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContentSnapshotCompiler.compile(root, mapper).writeTo(out);
+        return out.toByteArray();
+    }
+
+    private Path contentRoot() throws URISyntaxException {
+        return Path.of(getClass().getClassLoader().getResource(ContentSnapshotCompiler.CATALOG_FILE).toURI()).getParent();
+    }
+
+    private byte[] resource(String path) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * @return a JSON value of the type with every property set, nested plugins down to the given depth
+     */
+    private JsonNode sample(JavaType type, int depth) {
+        Class<?> raw = type.getRawClass();
+        if (raw == String.class) {
+            return mapper.getNodeFactory().textNode("text");
+        } else if (raw == Boolean.class || raw == boolean.class) {
+            return mapper.getNodeFactory().booleanNode(true);
+        } else if (raw == Integer.class || raw == int.class) {
+            return mapper.getNodeFactory().numberNode(7);
+        } else if (type.isCollectionLikeType()) {
+            ArrayNode array = mapper.createArrayNode();
+            if (depth > 0 || type.getContentType().getRawClass() != Plugin.class) {
+                array.add(sample(type.getContentType(), depth - 1));
+            }
+            return array;
+        }
+        ObjectNode bean = mapper.createObjectNode();
+        for (BeanPropertyDefinition property : mapper.getSerializationConfig().introspect(type).findProperties()) {
+            bean.set(property.getName(), sample(property.getPrimaryType(), depth));
+        }
+        assertFalse(bean.isEmpty(), "No sample for " + type);
+        return bean;
+    }
+
+    private String json(Object value) throws IOException {
+        return mapper.writeValueAsString(value);
+    }
+}
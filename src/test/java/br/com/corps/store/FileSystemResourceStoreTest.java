@@ -0,0 +1,57 @@
+package br.com.corps.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSystemResourceStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadExistingResource() throws Exception {
+        Path file = tempDir.resolve("exclusive-area/black/home/pt-BR.json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "{\"children\":[]}");
+
+        FileSystemResourceStore store = new FileSystemResourceStore(tempDir);
+        Optional<byte[]> content = store.read("exclusive-area/black/home/pt-BR.json");
+
+        assertTrue(content.isPresent());
+        assertEquals("{\"children\":[]}", new String(content.get(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReadLargeResource() throws Exception {
+        byte[] data = new byte[1 << 20];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Files.write(tempDir.resolve("large.bin"), data);
+
+        Optional<byte[]> content = new FileSystemResourceStore(tempDir).read("large.bin");
+
+        assertArrayEquals(data, content.orElseThrow());
+    }
+
+    @Test
+    void testMissingResourceIsEmpty() throws Exception {
+        assertTrue(new FileSystemResourceStore(tempDir).read("missing.json").isEmpty());
+    }
+
+    @Test
+    void testKeysCannotLeaveTheRoot() throws Exception {
+        Path root = tempDir.resolve("root");
+        Files.createDirectories(root);
+        Files.writeString(tempDir.resolve("secret.json"), "{}");
+
+        assertTrue(new FileSystemResourceStore(root).read("../secret.json").isEmpty());
+    }
+}
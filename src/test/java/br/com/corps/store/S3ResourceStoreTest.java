@@ -0,0 +1,203 @@
+package br.com.corps.store;
+
+import br.com.corps.config.S3StoreConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the store against a minimal S3-compatible stand-in serving path-style GET requests
+ */
+public class S3ResourceStoreTest {
+
+    private static final String BUCKET = "content";
+
+    private final Map<String, String> objects = new ConcurrentHashMap<>();
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/" + BUCKET + "/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testFetchUsesConditionalRequests() throws Exception {
+        objects.put("exclusive-area/black/home/pt-BR.json", "{\"children\":[]}");
+        S3ResourceStore store = new S3ResourceStore(config(16));
+
+        Optional<byte[]> first = store.read("exclusive-area/black/home/pt-BR.json");
+        Optional<byte[]> second = store.read("exclusive-area/black/home/pt-BR.json");
+
+        assertEquals("{\"children\":[]}", new String(first.orElseThrow(), StandardCharsets.UTF_8));
+        assertArrayEquals(first.get(), second.orElseThrow());
+        assertNull(requests.get(0).get("if-none-match"));
+        assertEquals(etagOf("{\"children\":[]}"), requests.get(1).get("if-none-match"));
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void testChangedObjectIsFetchedAgain() throws Exception {
+        objects.put("a.json", "{\"v\":1}");
+        S3ResourceStore store = new S3ResourceStore(config(16));
+
+        store.read("a.json");
+        objects.put("a.json", "{\"v\":2}");
+
+        assertEquals("{\"v\":2}", new String(store.read("a.json").orElseThrow(), StandardCharsets.UTF_8));
+        assertEquals(0, notModified.get());
+    }
+
+    @Test
+    void testOnlyTheLatestObjectsAreKept() throws Exception {
+        objects.put("a.json", "{\"v\":1}");
+        objects.put("b.json", "{\"v\":2}");
+        S3StoreConfig config = config(16);
+        config.setMaxCachedObjects(1);
+        S3ResourceStore store = new S3ResourceStore(config);
+
+        store.read("a.json");
+        store.read("b.json");
+        store.read("a.json");
+
+        // a.json was dropped when b.json was fetched, so it is downloaded in full again
+        assertNull(requests.get(2).get("if-none-match"));
+        assertEquals(0, notModified.get());
+    }
+
+    @Test
+    void testMissingObjectIsEmpty() throws Exception {
+        assertTrue(new S3ResourceStore(config(16)).read("missing.json").isEmpty());
+    }
+
+    @Test
+    void testServerErrorFailsTheRead() {
+        objects.put("broken.json", "");
+        S3ResourceStore store = new S3ResourceStore(config(16));
+
+        assertThrows(IOException.class, () -> store.read("broken.json"));
+    }
+
+    @Test
+    void testConcurrentRequestsAreBounded() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            objects.put(i + ".json", "{}");
+        }
+        release = new CountDownLatch(1);
+        S3ResourceStore store = new S3ResourceStore(config(2));
+
+        List<CompletableFuture<Optional<byte[]>>> fetches = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fetches.add(store.fetch(i + ".json"));
+        }
+        while (running.get() < 2) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        for (CompletableFuture<Optional<byte[]>> fetch : fetches) {
+            assertTrue(fetch.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        assertEquals(2, maxRunning.get());
+        assertEquals(8, requests.size());
+    }
+
+    @Test
+    void testRequestsAreSignedWithCredentials() throws Exception {
+        objects.put("a.json", "{}");
+        S3StoreConfig config = config(16);
+        config.setAccessKey("minioadmin");
+        config.setSecretKey("minioadmin");
+
+        new S3ResourceStore(config).read("a.json");
+
+        Map<String, String> headers = requests.get(0);
+        assertTrue(headers.get("authorization").startsWith("AWS4-HMAC-SHA256 Credential=minioadmin/"));
+        assertTrue(headers.get("authorization").contains("SignedHeaders=host;x-amz-content-sha256;x-amz-date"));
+        assertNotNull(headers.get("x-amz-date"));
+    }
+
+    private S3StoreConfig config(int maxConcurrency) {
+        S3StoreConfig config = new S3StoreConfig();
+        config.setEndpoint("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setBucket(BUCKET);
+        config.setMaxConcurrency(maxConcurrency);
+        return config;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int now = running.incrementAndGet();
+        maxRunning.accumulateAndGet(now, Math::max);
+        try {
+            release.await(5, TimeUnit.SECONDS);
+            Map<String, String> headers = new ConcurrentHashMap<>();
+            exchange.getRequestHeaders().forEach((name, values) -> headers.put(name.toLowerCase(), values.get(0)));
+            requests.add(headers);
+
+            String key = exchange.getRequestURI().getPath().substring(BUCKET.length() + 2);
+            String content = objects.get(key);
+            if (content == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else if (content.isEmpty()) {
+                exchange.sendResponseHeaders(500, -1);
+            } else if (etagOf(content).equals(headers.get("if-none-match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = content.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", etagOf(content));
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static String etagOf(String content) {
+        return "\"" + Integer.toHexString(content.hashCode()) + "\"";
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.corps.synthetic;
+
+import br.com.corps.config.CacheConfig;
+import br.com.corps.config.LanguageConfig;
+import br.com.corps.config.SyntheticConfig;
+import br.com.corps.model.Benefit;
+import br.com.corps.model.BenefitGroup;
+import br.com.corps.model.Plugin;
+import br.com.corps.service.S3ResourceService;
+import br.com.corps.service.TranslationService;
+import br.com.corps.snapshot.ContentSnapshot;
+import br.com.corps.store.FileSystemResourceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticCatalogGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testGeneratesConfiguredSizes() {
+        SyntheticConfig config = config(10, 2, 3);
+        config.setBenefitGroups(2);
+        config.setBenefitsPerGroup(4);
+
+        SyntheticContent content = new SyntheticCatalogGenerator(config).generate();
+
+        assertEquals(10, content.catalog().getChildren().size());
+        assertEquals(10 * (1 + 3 + 9), content.features().size());
+        assertEquals(content.features().size(), flatten(content.catalog().getChildren()).size());
+        for (Plugin plugin : flatten(content.catalog().getChildren())) {
+            assertEquals(2, plugin.getBenefits().size());
+            assertEquals(4, plugin.getBenefits().get(0).getBenefits().size());
+        }
+        assertEquals(List.of("black", "gold", "platinum"), List.copyOf(content.cardBenefits().keySet()));
+        assertEquals(List.of("pt-BR", "en-US", "es-ES"), content.languages());
+        assertEquals(200, content.bundles().get("gold").get("es-ES").size());
+    }
+
+    @Test
+    void testSameConfigurationGeneratesSameContent() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        SyntheticContent first = new SyntheticCatalogGenerator(config(20, 1, 2)).generate();
+        SyntheticContent second = new SyntheticCatalogGenerator(config(20, 1, 2)).generate();
+
+        assertEquals(mapper.writeValueAsString(first.catalog()), mapper.writeValueAsString(second.catalog()));
+        assertEquals(mapper.writeValueAsString(first.cardBenefits()), mapper.writeValueAsString(second.cardBenefits()));
+        assertEquals(first.bundles(), second.bundles());
+
+        SyntheticConfig reseeded = config(20, 1, 2);
+        reseeded.setSeed(7);
+        SyntheticContent third = new SyntheticCatalogGenerator(reseeded).generate();
+        assertNotEquals(mapper.writeValueAsString(first.catalog()), mapper.writeValueAsString(third.catalog()));
+    }
+
+    @Test
+    void testKeyDensity() {
+        SyntheticConfig literals = config(20, 1, 2);
+        literals.setKeyDensity(0);
+        assertTrue(texts(new SyntheticCatalogGenerator(literals).generate()).stream().noneMatch(t -> t.startsWith("key:")));
+
+        SyntheticConfig keys = config(20, 1, 2);
+        keys.setKeyDensity(1);
+        keys.setKeys(5);
+        SyntheticContent content = new SyntheticCatalogGenerator(keys).generate();
+        for (String text : texts(content)) {
+            assertTrue(text.startsWith("key:"));
+            assertTrue(content.bundles().get("black").get("pt-BR").containsKey(text.substring("key:".length())));
+        }
+    }
+
+    @Test
+    void testCatalogBundlesAreGeneratedWithoutBlackProfile() {
+        SyntheticConfig config = config(5, 0, 0);
+        config.setProfiles(List.of("gold"));
+        config.setLanguages(5);
+
+        SyntheticContent content = new SyntheticCatalogGenerator(config).generate();
+
+        assertEquals(List.of("black", "gold"), List.copyOf(content.bundles().keySet()));
+        assertEquals(List.of("gold"), List.copyOf(content.cardBenefits().keySet()));
+        assertEquals(5, content.bundles().get("black").size());
+        assertTrue(content.bundles().get("black").containsKey("de-DE"));
+    }
+
+    @Test
+    void testWrittenContentIsServed() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        SyntheticContent content = new SyntheticCatalogGenerator(config(10, 1, 2)).generate();
+        content.writeTo(tempDir, mapper);
+
+        assertTrue(Files.exists(tempDir.resolve(SyntheticContent.CATALOG_FILE)));
+        assertTrue(Files.exists(tempDir.resolve("i18n/platinum/en-US.json")));
+
+        LanguageConfig languageConfig = new LanguageConfig();
+        languageConfig.setBundlePath("file:" + tempDir.resolve(SyntheticContent.BUNDLE_DIR));
+        TranslationService translationService = new TranslationService(languageConfig, mapper, new CacheConfig(), ContentSnapshot.empty());
+        S3ResourceService resourceService = new S3ResourceService(mapper, new FileSystemResourceStore(tempDir),
+                languageConfig, new CacheConfig(), ContentSnapshot.empty());
+
+        List<Plugin> benefits = resourceService.loadCardBenefits("gold", "en-US");
+        assertEquals(10, benefits.size());
+
+        List<Plugin> translated = translationService.translatePlugins(benefits, "gold", "en-US");
+        Map<String, String> bundle = content.bundles().get("gold").get("en-US");
+        for (Plugin plugin : flatten(translated)) {
+            for (BenefitGroup group : plugin.getBenefits()) {
+                for (Benefit benefit : group.getBenefits()) {
+                    assertFalse(benefit.getText().startsWith("key:"), benefit.getText());
+                }
+            }
+        }
+        assertTrue(flatten(translated).stream()
+                .flatMap(plugin -> plugin.getBenefits().stream())
+                .flatMap(group -> group.getBenefits().stream())
+                .anyMatch(benefit -> bundle.containsValue(benefit.getText())));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        SyntheticConfig density = config(1, 0, 0);
+        density.setKeyDensity(1.5);
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalogGenerator(density));
+
+        SyntheticConfig languages = config(1, 0, 0);
+        languages.setLanguages(SyntheticCatalogGenerator.LANGUAGES.size() + 1);
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalogGenerator(languages));
+
+        SyntheticConfig profiles = config(1, 0, 0);
+        profiles.setProfiles(List.of("../black"));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalogGenerator(profiles));
+    }
+
+    private static SyntheticConfig config(int plugins, int depth, int childrenPerPlugin) {
+        SyntheticConfig config = new SyntheticConfig();
+        config.setPlugins(plugins);
+        config.setDepth(depth);
+        config.setChildrenPerPlugin(childrenPerPlugin);
+        return config;
+    }
+
+    private static List<Plugin> flatten(List<Plugin> plugins) {
+        List<Plugin> all = new ArrayList<>();
+        for (Plugin plugin : plugins) {
+            all.add(plugin);
+            if (plugin.getChildren() != null) {
+                all.addAll(flatten(plugin.getChildren()));
+            }
+        }
+        return all;
+    }
+
+    private static List<String> texts(SyntheticContent content) {
+        List<String> texts = new ArrayList<>();
+        for (Plugin plugin : flatten(content.catalog().getChildren())) {
+            for (BenefitGroup group : plugin.getBenefits()) {
+                for (Benefit benefit : group.getBenefits()) {
+                    texts.add(benefit.getText());
+                }
+            }
+        }
+        return texts;
+    }
+}